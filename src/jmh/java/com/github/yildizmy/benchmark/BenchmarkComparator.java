@@ -0,0 +1,79 @@
+package com.github.yildizmy.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JMH results with a stored baseline and fails if any benchmark is slower than the
+ * baseline by more than the given percentage.
+ * <p>
+ * Usage: BenchmarkComparator baseline.json result.json [threshold percentage]
+ */
+public final class BenchmarkComparator {
+
+    private static final String THROUGHPUT = "thrpt";
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparator baseline.json result.json [threshold]");
+            System.exit(2);
+        }
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        final Map<String, JsonNode> baseline = read(new File(args[0]));
+        final Map<String, JsonNode> result = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "Baseline", "Result", "Change");
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            final JsonNode current = entry.getValue();
+            final JsonNode previous = baseline.get(entry.getKey());
+            final String unit = current.at("/primaryMetric/scoreUnit").asText();
+            final double score = current.at("/primaryMetric/score").asDouble();
+            if (previous == null) {
+                System.out.printf("%-75s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            final double previousScore = previous.at("/primaryMetric/score").asDouble();
+            final double change = (score - previousScore) / previousScore * 100;
+            // lower is better for the time based modes, higher is better for throughput
+            final double slowdown = THROUGHPUT.equals(current.get("mode").asText()) ? -change : change;
+            final boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), previousScore, score, change,
+                    unit, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a JMH JSON result file and maps each result by its benchmark name and parameters
+     *
+     * @param file
+     * @return Results in the order of their keys
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        final Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            final Map<String, String> params = new LinkedHashMap<>();
+            node.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            final String name = node.get("benchmark").asText().replace(BenchmarkComparator.class.getPackageName() + ".", "");
+            results.put(params.isEmpty() ? name : name + params, node);
+        }
+        return results;
+    }
+}
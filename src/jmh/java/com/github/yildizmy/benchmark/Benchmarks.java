@@ -0,0 +1,98 @@
+package com.github.yildizmy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.dto.request.RecipeRequest;
+import com.github.yildizmy.model.*;
+import org.h2.jdbcx.JdbcDataSource;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixtures shared by the benchmarks
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Raises the log level so that the console output does not dominate the measured time
+     */
+    static void disableLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * Creates an entity manager factory backed by an in-memory database, used for building criteria queries
+     *
+     * @return Entity manager factory of the app entities
+     */
+    static EntityManagerFactory createEntityManagerFactory() {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+
+        final LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(Recipe.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.cache.use_second_level_cache", "false"));
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    /**
+     * Creates a recipe having the given number of ingredients with their category and unit
+     *
+     * @param ingredientCount
+     * @return Recipe entity
+     */
+    static Recipe createRecipe(int ingredientCount) {
+        final Recipe recipe = new Recipe(1L, "Title", "Description", 10, 20, 4,
+                "Instructions", Difficulty.EASY, HealthLabel.DEFAULT);
+        recipe.setCategory(new Category(1L, "Category", 1));
+        final Unit unit = new Unit(1L, "Gram");
+        for (long id = 1; id <= ingredientCount; id++) {
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, new Ingredient(id, "Ingredient " + id), unit, BigDecimal.TEN));
+        }
+        return recipe;
+    }
+
+    /**
+     * Creates a recipe request having the given number of distinct ingredients
+     *
+     * @param ingredientCount
+     * @return Recipe request
+     */
+    static RecipeRequest createRecipeRequest(int ingredientCount) {
+        final RecipeRequest request = new RecipeRequest();
+        request.setCategoryId(1L);
+        request.setTitle("recipe title");
+        request.setDescription("Description");
+        request.setPrepTime(10);
+        request.setCookTime(20);
+        request.setServings(4);
+        request.setInstructions("Instructions");
+        request.setDifficulty(Difficulty.EASY);
+        request.setHealthLabel(HealthLabel.DEFAULT);
+        final List<RecipeIngredientRequest> recipeIngredients = new ArrayList<>();
+        for (long id = 1; id <= ingredientCount; id++) {
+            final RecipeIngredientRequest recipeIngredient = new RecipeIngredientRequest();
+            recipeIngredient.setIngredientId(id);
+            recipeIngredient.setUnitId(1L);
+            recipeIngredient.setAmount(BigDecimal.TEN);
+            recipeIngredients.add(recipeIngredient);
+        }
+        request.setRecipeIngredients(recipeIngredients);
+        return request;
+    }
+}
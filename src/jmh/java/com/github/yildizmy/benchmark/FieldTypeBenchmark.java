@@ -0,0 +1,37 @@
+package com.github.yildizmy.benchmark;
+
+import com.github.yildizmy.common.filter.FieldType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for parsing the filter values by their field types
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldTypeBenchmark {
+
+    @Param({"INTEGER", "LONG", "DOUBLE", "BOOLEAN"})
+    private FieldType fieldType;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (fieldType) {
+            case DOUBLE -> "12.5";
+            case BOOLEAN -> "true";
+            default -> "12";
+        };
+    }
+
+    @Benchmark
+    public Object parse() {
+        return fieldType.parse(value);
+    }
+}
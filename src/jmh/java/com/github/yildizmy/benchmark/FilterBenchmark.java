@@ -0,0 +1,66 @@
+package com.github.yildizmy.benchmark;
+
+import com.github.yildizmy.common.filter.*;
+import com.github.yildizmy.model.Recipe;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for building the predicates of a SearchSpecification by the filter operators
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int filterCount;
+
+    private EntityManagerFactory entityManagerFactory;
+    private CriteriaBuilder cb;
+    private SearchSpecification<Recipe> specification;
+
+    @Setup
+    public void setUp() {
+        Benchmarks.disableLogging();
+        entityManagerFactory = Benchmarks.createEntityManagerFactory();
+        cb = entityManagerFactory.getCriteriaBuilder();
+
+        // cycles through the operators and the field types parsed by them
+        final List<FilterRequest> filters = new ArrayList<>();
+        for (int i = 0; i < filterCount; i++) {
+            filters.add(switch (i % 5) {
+                case 0 -> new FilterRequest("servings", Operator.EQUAL, FieldType.INTEGER, "4", null, null);
+                case 1 -> new FilterRequest("title", Operator.LIKE, FieldType.STRING, "pasta", null, null);
+                case 2 -> new FilterRequest("id", Operator.IN, FieldType.LONG, null, null, List.of("1", "2", "3"));
+                case 3 -> new FilterRequest("prepTime", Operator.BETWEEN, FieldType.INTEGER, "10", "60", null);
+                default -> new FilterRequest("cookTime", Operator.NOT_EQUAL, FieldType.INTEGER, "0", null, null);
+            });
+        }
+        final SearchRequest request = new SearchRequest();
+        request.setFilters(filters);
+        request.setSorts(List.of(new SortRequest("title", SortDirection.ASC)));
+        specification = new SearchSpecification<>(request);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        final CriteriaQuery<Recipe> query = cb.createQuery(Recipe.class);
+        return specification.toPredicate(query.from(Recipe.class), query, cb);
+    }
+}
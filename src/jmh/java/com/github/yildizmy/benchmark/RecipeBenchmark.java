@@ -0,0 +1,72 @@
+package com.github.yildizmy.benchmark;
+
+import com.github.yildizmy.dto.mapper.RecipeRequestMapper;
+import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.dto.request.RecipeRequest;
+import com.github.yildizmy.dto.response.CategoryResponse;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.Recipe;
+import com.github.yildizmy.util.StringUtils;
+import com.github.yildizmy.validator.IngredientValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for mapping and validating recipes having different numbers of ingredients
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int ingredientCount;
+
+    private Recipe recipe;
+    private RecipeRequest request;
+    private List<Long> ingredientIds;
+    private RecipeRequestMapper recipeRequestMapper;
+    private StringUtils stringUtils;
+    private IngredientValidator ingredientValidator;
+
+    @Setup
+    public void setUp() {
+        recipe = Benchmarks.createRecipe(ingredientCount);
+        request = Benchmarks.createRecipeRequest(ingredientCount);
+        ingredientIds = request.getRecipeIngredients().stream().map(RecipeIngredientRequest::getIngredientId).toList();
+        recipeRequestMapper = new RecipeRequestMapperImpl();
+        stringUtils = BeanUtils.instantiateClass(StringUtils.class);
+        ingredientValidator = new IngredientValidator(stringUtils);
+    }
+
+    @Benchmark
+    public RecipeResponse toResponse() {
+        return new RecipeResponse(
+                recipe,
+                new CategoryResponse(recipe.getCategory()),
+                recipe.getRecipeIngredients().stream().map(RecipeIngredientResponse::new).toList());
+    }
+
+    @Benchmark
+    public Recipe toEntity() {
+        return recipeRequestMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public boolean areAllUnique() {
+        return stringUtils.areAllUnique(ingredientIds);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return ingredientValidator.isValid(request, null);
+    }
+}
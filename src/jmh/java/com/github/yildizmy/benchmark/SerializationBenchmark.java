@@ -0,0 +1,114 @@
+package com.github.yildizmy.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.yildizmy.config.AppConfig;
+import com.github.yildizmy.dto.response.ApiResponse;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.yildizmy.common.Constants.SUCCESS;
+
+/**
+ * Benchmark for writing a page of 100 recipes in the formats of the API (see SerializationConfig), with and
+ * without the gzip compression of the server. The size of the written body (bytes on the wire) is printed at the
+ * end of each trial, as it is the same for each operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int INGREDIENT_COUNT = 10;
+    private static final String[] WORDS = {"add", "the", "onions", "and", "stir", "for", "minutes", "until", "golden",
+            "then", "pour", "stock", "into", "pan", "simmer", "gently", "season", "with", "salt", "pepper", "serve"};
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<PageImpl<RecipeResponse>> response;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void setUp() {
+        final Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        final AppConfig appConfig = new AppConfig();
+        appConfig.jsonCustomizer().customize(builder);
+        builder.modulesToInstall(appConfig.recipeFieldsModule());
+        switch (format) {
+            case "CBOR" -> builder.factory(new CBORFactory());
+            case "SMILE" -> builder.factory(new SmileFactory());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+        response = new ApiResponse<>(1_700_000_000_000L, SUCCESS, createPage());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s%s: %d bytes%n", format, gzip ? " + gzip" : "", output.size());
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        output.reset();
+        try (OutputStream stream = gzip ? new GZIPOutputStream(output) : output) {
+            objectMapper.writeValue(stream, response);
+        }
+        return output.size();
+    }
+
+    /**
+     * Creates a page of recipes with instructions of several sentences, whose words are picked from a small
+     * vocabulary so that they compress like a real text
+     *
+     * @return
+     */
+    private static PageImpl<RecipeResponse> createPage() {
+        final Random random = new Random(42);
+        final List<RecipeResponse> recipes = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            final StringBuilder instructions = new StringBuilder();
+            for (int i = 0; i < 120; i++) {
+                instructions.append(WORDS[random.nextInt(WORDS.length)]).append(i % 12 == 11 ? ". " : " ");
+            }
+            final RecipeResponse recipe = new RecipeResponse(id, "Recipe " + id, "Description of recipe " + id,
+                    10, 20, 4, instructions.toString(), Difficulty.EASY, HealthLabel.DEFAULT, 1L, "Main Course", 1);
+            for (int i = 0; i < INGREDIENT_COUNT; i++) {
+                final long ingredientId = 1 + random.nextInt(500);
+                recipe.getIngredients().add(new RecipeIngredientResponse(id, ingredientId, "Ingredient " + ingredientId,
+                        BigDecimal.valueOf(random.nextInt(1000), 1), "Gram"));
+            }
+            recipes.add(recipe);
+        }
+        return new PageImpl<>(recipes, PageRequest.of(0, PAGE_SIZE), 10_000);
+    }
+}
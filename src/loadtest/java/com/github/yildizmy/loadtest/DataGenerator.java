@@ -0,0 +1,131 @@
+package com.github.yildizmy.loadtest;
+
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Seeds the database with recipes generated from a fixed seed, so that every run of the load test
+ * works on the same data. The ingredients of the recipes follow a Zipf distribution: the ingredients
+ * added by the migrations are the most frequent ones and the generated ingredients form the long tail.
+ */
+final class DataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MIN_INGREDIENTS = 3;
+    private static final int MAX_INGREDIENTS = 15;
+    private static final String[] ADJECTIVES = {"Spicy", "Creamy", "Roasted", "Grilled", "Baked",
+            "Fresh", "Classic", "Quick", "Smoky", "Crispy"};
+    static final String[] DISHES = {"Soup", "Salad", "Curry", "Stew", "Pasta",
+            "Pie", "Bowl", "Casserole", "Risotto", "Tacos"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final double skew;
+
+    DataGenerator(JdbcTemplate jdbcTemplate, long seed, double skew) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+        this.skew = skew;
+    }
+
+    /**
+     * Adds ingredients up to the given count and the given number of recipes, unless the database
+     * already contains recipes
+     *
+     * @param recipeCount
+     * @param ingredientCount
+     * @return Ingredient names ordered by their frequency in the recipes, the most frequent first
+     */
+    List<String> generate(int recipeCount, int ingredientCount) {
+        final Integer existingRecipes = jdbcTemplate.queryForObject("select count(*) from recipe", Integer.class);
+        if (existingRecipes == null || existingRecipes == 0) {
+            insertIngredients(ingredientCount);
+            insertRecipes(recipeCount, ingredientCount);
+            jdbcTemplate.execute("analyze");
+        }
+        return jdbcTemplate.queryForList("select name from ingredient order by id limit ?", String.class, ingredientCount);
+    }
+
+    private void insertIngredients(int ingredientCount) {
+        final long maxId = maxId("ingredient");
+        final Integer existing = jdbcTemplate.queryForObject("select count(*) from ingredient", Integer.class);
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = Objects.requireNonNullElse(existing, 0); i < ingredientCount; i++) {
+            final long id = maxId + rows.size() + 1;
+            rows.add(new Object[]{id, "Ingredient " + id});
+        }
+        jdbcTemplate.batchUpdate("insert into ingredient (id, name) values (?, ?)", rows);
+        resetSequence("ingredient");
+    }
+
+    private void insertRecipes(int recipeCount, int ingredientCount) {
+        final List<Long> categoryIds = jdbcTemplate.queryForList("select id from category order by id", Long.class);
+        final List<Long> unitIds = jdbcTemplate.queryForList("select id from unit order by id", Long.class);
+        final List<Long> ingredientIds = jdbcTemplate.queryForList("select id from ingredient order by id limit ?", Long.class, ingredientCount);
+        final List<String> ingredientNames = jdbcTemplate.queryForList("select name from ingredient order by id limit ?", String.class, ingredientCount);
+        final ZipfDistribution distribution = new ZipfDistribution(ingredientIds.size(), skew);
+        final long firstId = maxId("recipe") + 1;
+
+        final List<Object[]> recipes = new ArrayList<>();
+        final List<Object[]> recipeIngredients = new ArrayList<>();
+        for (long id = firstId; id < firstId + recipeCount; id++) {
+            final Set<Integer> ranks = new LinkedHashSet<>();
+            final int count = MIN_INGREDIENTS + random.nextInt(MAX_INGREDIENTS - MIN_INGREDIENTS + 1);
+            while (ranks.size() < Math.min(count, ingredientIds.size())) {
+                ranks.add(distribution.sample(random));
+            }
+            final List<String> names = ranks.stream().map(ingredientNames::get).toList();
+            final String dish = DISHES[random.nextInt(DISHES.length)];
+            final Difficulty difficulty = Difficulty.values()[random.nextInt(Difficulty.values().length)];
+            final int servings = 1 + random.nextInt(12);
+            final int cookTime = 5 + random.nextInt(120);
+            recipes.add(new Object[]{
+                    id,
+                    ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + names.get(0) + " " + dish,
+                    "A " + difficulty.getLabel().toLowerCase() + " " + dish.toLowerCase() + " for " + servings,
+                    5 + random.nextInt(60),
+                    cookTime,
+                    servings,
+                    "Combine the " + String.join(", ", names).toLowerCase() + ". Cook for " + cookTime + " minutes and serve.",
+                    difficulty.name(),
+                    HealthLabel.values()[random.nextInt(HealthLabel.values().length)].name(),
+                    categoryIds.get(random.nextInt(categoryIds.size()))});
+            for (int rank : ranks) {
+                recipeIngredients.add(new Object[]{id, ingredientIds.get(rank),
+                        BigDecimal.valueOf(1 + random.nextInt(500)), unitIds.get(random.nextInt(unitIds.size()))});
+            }
+            if (recipes.size() == BATCH_SIZE) {
+                flush(recipes, recipeIngredients);
+            }
+        }
+        flush(recipes, recipeIngredients);
+        resetSequence("recipe");
+    }
+
+    private void flush(List<Object[]> recipes, List<Object[]> recipeIngredients) {
+        jdbcTemplate.batchUpdate("insert into recipe (id, title, description, prep_time, cook_time, servings, " +
+                "instructions, difficulty, health_label, category_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", recipes);
+        jdbcTemplate.batchUpdate("insert into recipe_ingredient (recipe_id, ingredient_id, amount, unit_id) " +
+                "values (?, ?, ?, ?)", recipeIngredients);
+        recipes.clear();
+        recipeIngredients.clear();
+    }
+
+    private long maxId(String table) {
+        final Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return Objects.requireNonNullElse(maxId, 0L);
+    }
+
+    /**
+     * Moves the sequence above the inserted ids in the same way as the V6 migration
+     *
+     * @param table
+     */
+    private void resetSequence(String table) {
+        jdbcTemplate.execute("select setval('" + table + "_seq', coalesce((select max(id) from " + table + "), 0) + 50, false)");
+    }
+}
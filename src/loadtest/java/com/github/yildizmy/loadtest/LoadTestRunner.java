@@ -0,0 +1,251 @@
+package com.github.yildizmy.loadtest;
+
+import com.github.yildizmy.RecipeApiApplication;
+import com.github.yildizmy.service.RecipeIngredientIndex;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Starts the app against a local or embedded PostgreSQL database seeded by {@link DataGenerator},
+ * sends the requests of each scenario with the given concurrency and prints the latency percentiles
+ * and the throughput per endpoint. The scenarios are repeated for each execution mode of the requests
+ * ('loadtest.execution-modes'), e.g. to compare platform and virtual threads.
+ * <p>
+ * Settings are read from the system properties prefixed with 'loadtest.' (see docs/how_to_test.md).
+ */
+public final class LoadTestRunner {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final String mode;
+    private final int concurrency;
+    private final int requests;
+    private final int warmup;
+
+    private LoadTestRunner(String baseUrl, String mode, int concurrency, int requests, int warmup) {
+        this.baseUrl = baseUrl;
+        this.mode = mode;
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.warmup = warmup;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int recipeCount = Integer.getInteger("loadtest.recipes", 10_000);
+        final int ingredientCount = Integer.getInteger("loadtest.ingredients", 1_000);
+        final double skew = Double.parseDouble(System.getProperty("loadtest.skew", "1.1"));
+        final long seed = Long.getLong("loadtest.seed", 42L);
+        final String scenarios = System.getProperty("loadtest.scenarios", ".*");
+
+        String url = System.getProperty("loadtest.url", "");
+        String username = System.getProperty("loadtest.username", "postgres");
+        String password = System.getProperty("loadtest.password", "postgres");
+        EmbeddedPostgres postgres = null;
+        if (url.isBlank()) {
+            postgres = EmbeddedPostgres.builder().start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+            username = "postgres";
+            password = "";
+        }
+
+        try {
+            // the app is restarted per execution mode against the same data, which is only seeded once
+            for (String mode : System.getProperty("loadtest.execution-modes", "platform").split(",")) {
+                runMode(mode.trim(), url, username, password, recipeCount, ingredientCount, skew, seed, scenarios);
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static void runMode(String mode, String url, String username, String password, int recipeCount,
+                                int ingredientCount, double skew, long seed, String scenarios) throws InterruptedException {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(RecipeApiApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.r2dbc.url=" + url.replaceFirst("^jdbc:", "r2dbc:").replaceFirst("\\?.*$", ""),
+                "--spring.r2dbc.username=" + username,
+                "--spring.r2dbc.password=" + password,
+                "--spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("loadtest.pool-size", 20),
+                "--recipe.search.ingredient-index.enabled=" + System.getProperty("loadtest.ingredient-index", "true"),
+                "--recipe.execution.mode=" + mode,
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--server.port=0");
+        try {
+            final DataGenerator generator = new DataGenerator(new JdbcTemplate(context.getBean(DataSource.class)), seed, skew);
+            final List<String> ingredients = generator.generate(recipeCount, ingredientCount);
+            // the data is seeded by JDBC, so the index built on startup does not contain it yet
+            context.getBean(RecipeIngredientIndex.class).rebuild();
+            final LoadTestRunner runner = new LoadTestRunner(
+                    "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api",
+                    mode,
+                    Integer.getInteger("loadtest.concurrency", 16),
+                    Integer.getInteger("loadtest.requests", 2_000),
+                    Integer.getInteger("loadtest.warmup", 200));
+            runner.run(createScenarios(recipeCount, ingredients, skew).entrySet().stream()
+                    .filter(scenario -> scenario.getKey().matches(scenarios))
+                    .toList());
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Creates the requests of each scenario. The ingredients used by the search filters are drawn from
+     * the same distribution as the recipes, so frequent ingredients are also queried more often.
+     *
+     * @param recipeCount
+     * @param ingredients Ingredient names, the most frequent first
+     * @param skew
+     * @return Request factories mapped by the scenario names
+     */
+    private static Map<String, Function<Random, Call>> createScenarios(int recipeCount, List<String> ingredients,
+                                                                       double skew) {
+        final ZipfDistribution distribution = new ZipfDistribution(ingredients.size(), skew);
+        final Map<String, Function<Random, Call>> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET /recipes", random -> get("/recipes",
+                "{\"page\":" + random.nextInt(Math.max(1, recipeCount / PAGE_SIZE)) + ",\"size\":" + PAGE_SIZE + "}"));
+        scenarios.put("GET /recipes (cursor)", random -> get("/recipes",
+                "{\"size\":" + PAGE_SIZE + ",\"after\":\"\"}"));
+        scenarios.put("GET /recipes/search (ingredientIn)", random -> get("/recipes/search",
+                "{\"ingredientIn\":\"" + ingredients.get(distribution.sample(random)) + "\"}"));
+        scenarios.put("GET /recipes/search (ingredientEx)", random -> get("/recipes/search",
+                "{\"ingredientEx\":\"" + ingredients.get(distribution.sample(random)) + "\",\"servings\":" + (1 + random.nextInt(12)) + "}"));
+        scenarios.put("GET /recipes/search (ingredients)", random -> get("/recipes/search",
+                "{\"ingredientIn\":[\"" + ingredients.get(distribution.sample(random)) + "\",\"" + ingredients.get(distribution.sample(random))
+                        + "\"],\"ingredientEx\":[\"" + ingredients.get(distribution.sample(random)) + "\"]}"));
+        scenarios.put("GET /recipes/search (text)", random -> get("/recipes/search",
+                "{\"text\":\"" + DataGenerator.DISHES[random.nextInt(DataGenerator.DISHES.length)].toLowerCase() + "\"}"));
+        // the reactive read API streams all matching recipes unless a page size is given
+        scenarios.put("GET /v2/recipes/search (ingredientIn)", random -> new Call("GET", "/v2/recipes/search",
+                "{\"ingredientIn\":\"" + ingredients.get(distribution.sample(random)) + "\",\"size\":" + PAGE_SIZE + "}"));
+        scenarios.put("GET /v2/recipes/search (text)", random -> new Call("GET", "/v2/recipes/search",
+                "{\"text\":\"" + DataGenerator.DISHES[random.nextInt(DataGenerator.DISHES.length)].toLowerCase()
+                        + "\",\"size\":" + PAGE_SIZE + "}"));
+        return scenarios;
+    }
+
+    private static Call get(String path, String body) {
+        return new Call("GET", "/v1" + path, body);
+    }
+
+    private void run(List<Map.Entry<String, Function<Random, Call>>> scenarios) throws InterruptedException {
+        System.out.printf("%nmode=%s, concurrency=%d, requests=%d, warmup=%d%n", mode, concurrency, requests, warmup);
+        System.out.printf("%-36s %9s %7s %7s %10s %9s %9s %9s %9s%n",
+                "Scenario", "Requests", "Errors", "404", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Function<Random, Call>> scenario : scenarios) {
+            execute(scenario.getValue(), warmup);
+            final Result result = execute(scenario.getValue(), requests);
+            System.out.printf("%-36s %9d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenario.getKey(), requests, result.errors(), result.notFound(), result.throughput(),
+                    result.percentile(50), result.percentile(95), result.percentile(99), result.percentile(100));
+        }
+    }
+
+    /**
+     * Sends the given number of requests using a fixed number of concurrent clients
+     *
+     * @param scenario
+     * @param count
+     * @return Latencies and response counts of the requests
+     */
+    private Result execute(Function<Random, Call> scenario, int count) throws InterruptedException {
+        final long[] latencies = new long[count];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong notFound = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        final long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                final Random random = ThreadLocalRandom.current();
+                for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+                    final Call call = scenario.apply(random);
+                    final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + call.path()))
+                            .header("Content-Type", "application/json")
+                            .method(call.method(), HttpRequest.BodyPublishers.ofString(call.body()))
+                            .build();
+                    final long sent = System.nanoTime();
+                    try {
+                        final int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 404) {
+                            notFound.incrementAndGet();
+                        } else if (status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies[index] = System.nanoTime() - sent;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        return new Result(latencies, System.nanoTime() - start, errors.get(), notFound.get());
+    }
+
+    /**
+     * Request sent by a scenario
+     */
+    private record Call(String method, String path, String body) {
+    }
+
+    /**
+     * Latencies and response counts of a scenario. Searches returning no recipe respond with 404,
+     * so they are counted separately from the errors.
+     */
+    private record Result(long[] latencies, long elapsed, long errors, long notFound) {
+
+        private Result {
+            latencies = latencies.clone();
+            Arrays.sort(latencies);
+        }
+
+        double throughput() {
+            return latencies.length / (elapsed / 1e9);
+        }
+
+        /**
+         * Returns the latency below which the given percentage of the requests completed (nearest rank)
+         *
+         * @param percentage
+         * @return Latency in milliseconds
+         */
+        double percentile(double percentage) {
+            final int rank = (int) Math.ceil(percentage / 100 * latencies.length);
+            return latencies[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
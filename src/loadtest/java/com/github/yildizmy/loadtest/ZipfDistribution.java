@@ -0,0 +1,37 @@
+package com.github.yildizmy.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks 0..size-1, where the probability of the rank k is proportional to
+ * 1 / (k + 1)^exponent. A few ranks are drawn very often and the rest form a long tail, as the
+ * ingredients of real recipes do (e.g. salt and oil vs. saffron).
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    ZipfDistribution(int size, double exponent) {
+        cumulativeProbabilities = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+    }
+
+    /**
+     * Draws a rank by using the given random number generator
+     *
+     * @param random
+     * @return Rank between 0 (the most frequent) and size - 1
+     */
+    int sample(Random random) {
+        final int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeProbabilities.length - 1);
+    }
+}
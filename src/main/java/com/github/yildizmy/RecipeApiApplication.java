@@ -1,9 +1,12 @@
 package com.github.yildizmy;
 
+import com.github.yildizmy.repository.SimpleSearchRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = SimpleSearchRepository.class)
 public class RecipeApiApplication {
 
     public static void main(String[] args) {
@@ -20,16 +20,28 @@ public final class Constants {
     public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(dateFormat);
     public static final String PAGE_NO = "0";
     public static final String PAGE_SIZE = "10";
+    public static final int MAX_PAGE_SIZE = 100;
     public static final String SORT_BY_ID = "id";
     public static final String SORT_BY_NAME = "name";
     public static final String SORT_BY_ORDINAL = "ordinal";
 
+    public static final String CACHE_CATEGORIES = "categories";
+    public static final String CACHE_CATEGORY_NAMES = "categoryNames";
+    public static final String CACHE_INGREDIENTS = "ingredients";
+    public static final String CACHE_INGREDIENT_NAMES = "ingredientNames";
+    public static final String CACHE_UNITS = "units";
+    public static final String CACHE_UNIT_NAMES = "unitNames";
+
     public static final String SUCCESS = "Success";
     public static final String UNKNOWN_ERROR = "Unknown error occurred";
     public static final String CLASS_CANNOT_BE_INSTANTIATED = "This is a utility class and cannot be instantiated";
     public static final String VALIDATION_ERROR = "Validation error. Check 'errors' field for details";
-    public static final String FIELD_PARSE_ERROR = "Failed parse field type DATE {}";
-    public static final String FIELD_TYPE_ERROR = "Can not use between for {} field type";
+    public static final String INVALID_FILTER_KEY = "Invalid filter key '%s'";
+    public static final String INVALID_FILTER_TYPE = "Invalid operator or field type for the filter key '%s'";
+    public static final String INVALID_FILTER_VALUE = "Invalid filter value for the filter key '%s'";
+    public static final String INVALID_CURSOR = "Invalid cursor token";
+    public static final String INVALID_SORT = "Invalid sort key";
+    public static final String INVALID_FIELD = "Invalid field '%s'";
     public static final String METHOD_ARGUMENT_NOT_VALID = "MethodArgumentNotValid exception";
     public static final String NOT_FOUND = "Requested element is not found";
     public static final String NOT_FOUND_RECORD = "Not found any record";
@@ -38,12 +50,24 @@ public final class Constants {
     public static final String NOT_FOUND_RECIPE = "Requested recipe is not found";
     public static final String NOT_FOUND_UNIT = "Requested unit is not found";
     public static final String ALREADY_EXISTS = "Requested element already exists";
+    public static final String INVALID_REQUEST = "Requested parameters are not valid";
     public static final String ALREADY_EXISTS_CATEGORY = "Requested category already exists";
     public static final String ALREADY_EXISTS_INGREDIENT = "Requested ingredient already exists (IngredientId: %d)";
+    public static final String ALREADY_EXISTS_INGREDIENT_NAME = "Requested ingredient already exists (IngredientName: %s)";
     public static final String ALREADY_EXISTS_UNIT = "Requested unit already exists";
     public static final String CREATED_CATEGORY = "Category is created";
     public static final String UPDATED_CATEGORY = "Category is updated";
     public static final String DELETED_CATEGORY = "Category is deleted";
     public static final String NOT_VALIDATED_ELEMENT = "Failed to validate the input";
     public static final String NOT_VALIDATED_INGREDIENT = "There are duplicate ingredients for the given recipe";
+    public static final String NOT_PARSED_RECIPE = "Failed to parse the recipe";
+    public static final String NOT_SAVED_RECIPES = "Failed to save the recipes of the batch";
+    public static final String IMPORTED_RECIPES = "Imported {} of {} recipes";
+    public static final String EXPORTED_RECIPES = "Exported {} recipes";
+    public static final String BUILT_INGREDIENT_INDEX = "Built ingredient index of {} ingredients and {} recipes";
+    public static final String VIRTUAL_THREADS_NOT_SUPPORTED = "Virtual threads require Java 21 or later (recipe.execution.mode)";
+    public static final String USING_VIRTUAL_THREADS = "Requests are handled by virtual threads using at most {} database connections at once";
+    public static final String TIMED_OUT_CONNECTION = "Timed out after %d ms waiting for a database connection";
+    public static final String SERVICE_UNAVAILABLE = "Service is busy, please retry later";
+    public static final String CONCURRENT_UPDATE = "Requested record was changed by another request, please retry";
 }
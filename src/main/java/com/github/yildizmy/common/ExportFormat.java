@@ -0,0 +1,18 @@
+package com.github.yildizmy.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Formats supported by the recipe export
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private String contentType;
+    private String extension;
+}
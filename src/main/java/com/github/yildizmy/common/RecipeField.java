@@ -0,0 +1,74 @@
+package com.github.yildizmy.common;
+
+import com.github.yildizmy.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.yildizmy.common.Constants.INVALID_FIELD;
+
+/**
+ * Fields of the recipe responses, which can be selected by the fields parameter of the recipe read endpoints.
+ * Only the columns and associations of the selected fields are read from the database and serialized.
+ */
+@Getter
+@AllArgsConstructor
+public enum RecipeField {
+
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    PREP_TIME("prepTime"),
+    COOK_TIME("cookTime"),
+    SERVINGS("servings"),
+    INSTRUCTIONS("instructions"),
+    DIFFICULTY("difficulty"),
+    HEALTH_LABEL("healthLabel"),
+    CATEGORY("category"),
+    INGREDIENTS("ingredients");
+
+    /**
+     * All the fields, used when no field is selected
+     */
+    public static final Set<RecipeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(RecipeField.class));
+
+    private static final Map<String, RecipeField> PROPERTIES = Arrays.stream(values())
+            .collect(Collectors.toMap(RecipeField::getProperty, Function.identity()));
+
+    /**
+     * Name of the property of the response, which is also the name of the attribute of the recipe entity
+     */
+    private final String property;
+
+    /**
+     * Returns the fields with the given property names. The id is always selected, as the responses are
+     * identified by it.
+     *
+     * @param properties property names of the response, or null to select all the fields
+     * @return Selected fields
+     */
+    public static Set<RecipeField> of(Collection<String> properties) {
+        if (Objects.isNull(properties) || properties.isEmpty()) {
+            return ALL;
+        }
+        final Set<RecipeField> fields = EnumSet.of(ID);
+        for (String property : properties) {
+            fields.add(find(property.trim())
+                    .orElseThrow(() -> new InvalidRequestException(String.format(INVALID_FIELD, property))));
+        }
+        return fields.size() == ALL.size() ? ALL : Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Returns the field with the given property name
+     *
+     * @param property
+     * @return Field or empty if the response has no such property
+     */
+    public static Optional<RecipeField> find(String property) {
+        return Optional.ofNullable(PROPERTIES.get(property));
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.yildizmy.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Formats of the response bodies (see SerializationConfig), in the order Spring MVC prefers them when the
+ * client accepts several of them equally
+ */
+@Getter
+@AllArgsConstructor
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    /**
+     * Returns the format negotiated by the Accept header of the given request like Spring MVC does: the formats
+     * get the quality of the media types accepting them, and the most specific and preferred one is returned
+     *
+     * @param request
+     * @return Format of the response body, JSON if none is accepted as the request is then rejected anyway
+     */
+    public static ResponseFormat of(WebRequest request) {
+        final String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (Objects.isNull(accept)) {
+            return JSON;
+        }
+        final List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(Arrays.asList(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        // the formats are ranked by the quality of the media types accepting them
+        final List<MediaType> compatible = new ArrayList<>();
+        for (MediaType mediaType : mediaTypes) {
+            for (ResponseFormat format : values()) {
+                if (mediaType.isCompatibleWith(format.mediaType)) {
+                    compatible.add(format.mediaType.copyQualityValue(mediaType));
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(compatible);
+        for (MediaType mediaType : compatible) {
+            for (ResponseFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Returns the ETag of the given version of a response in this format. It is weak, as the body is the same
+     * document whether it is compressed or not, which also lets Tomcat compress it.
+     *
+     * @param version version of the response
+     * @return Weak ETag
+     */
+    public String eTag(String version) {
+        return "W/\"" + version + "." + extension + "\"";
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.yildizmy.common.filter;
+
+import javax.persistence.criteria.*;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Basic attribute of an entity reached by a dotted path of attribute names, e.g. 'category.name', resolved once
+ * per entity and path. A path through a collection is read by an EXISTS subquery instead of a join
+ *
+ * @param steps     associations, collections and embedded attributes leading to the attribute
+ * @param attribute basic attribute at the end of the path
+ */
+record AttributePath(List<Attribute<?, ?>> steps, SingularAttribute<?, ?> attribute) {
+
+    private static final Map<Key, AttributePath> PATHS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the path of the basic attribute of the given entity with the given dotted name
+     *
+     * @param entity
+     * @param key
+     * @return Path or empty if the name does not lead to a basic attribute of the entity
+     */
+    static Optional<AttributePath> of(ManagedType<?> entity, String key) {
+        if (Objects.isNull(key)) {
+            return Optional.empty();
+        }
+        final Key cacheKey = new Key(entity, key);
+        final AttributePath cached = PATHS.get(cacheKey);
+        if (Objects.nonNull(cached)) {
+            return Optional.of(cached);
+        }
+        final Optional<AttributePath> path = resolve(entity, key);
+        path.ifPresent(resolved -> PATHS.putIfAbsent(cacheKey, resolved));
+        return path;
+    }
+
+    /**
+     * Returns if the path goes through a collection, which is read by a subquery
+     *
+     * @return true if one of the steps is a collection
+     */
+    boolean isCollection() {
+        return steps.stream().anyMatch(Attribute::isCollection);
+    }
+
+    /**
+     * Returns the attribute of the path reached from the given root, reusing the joins of the root
+     *
+     * @param root root of a query, the path must not go through a collection
+     * @return Path of the attribute
+     */
+    Path<?> get(From<?, ?> root) {
+        return get(root, true);
+    }
+
+    /**
+     * Builds a predicate on the attribute of the path. If the path goes through a collection, the predicate is
+     * wrapped in an EXISTS subquery correlated with the given root.
+     *
+     * @param root
+     * @param query     query of the root, used for creating the subquery
+     * @param cb
+     * @param predicate builds the predicate of the attribute
+     * @return Predicate used for filtering
+     */
+    Predicate build(Root<?> root, AbstractQuery<?> query, CriteriaBuilder cb, Function<Path<?>, Predicate> predicate) {
+        if (!isCollection()) {
+            return predicate.apply(get(root, true));
+        }
+        final Subquery<Integer> subquery = query.subquery(Integer.class);
+        final Path<?> path = get(subquery.correlate(root), false);
+        return cb.exists(subquery.select(cb.literal(1)).where(predicate.apply(path)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Path<?> get(From<?, ?> root, boolean reuse) {
+        Path<?> path = root;
+        for (Attribute<?, ?> step : steps) {
+            path = step.getPersistentAttributeType() == Attribute.PersistentAttributeType.EMBEDDED
+                    ? path.get((SingularAttribute) step)
+                    : join((From<?, ?>) path, step, reuse);
+        }
+        return path.get((SingularAttribute) attribute);
+    }
+
+    private static From<?, ?> join(From<?, ?> from, Attribute<?, ?> attribute, boolean reuse) {
+        if (reuse) {
+            for (Join<?, ?> join : from.getJoins()) {
+                if (join.getAttribute().getName().equals(attribute.getName())) {
+                    return join;
+                }
+            }
+            // a left join keeps the rows without the association for sorting, and is the same as an inner join
+            // for the filters, as their predicates do not match null
+            return from.join(attribute.getName(), JoinType.LEFT);
+        }
+        return from.join(attribute.getName(), JoinType.INNER);
+    }
+
+    private static Optional<AttributePath> resolve(ManagedType<?> entity, String key) {
+        final String[] names = key.split("\\.", -1);
+        final List<Attribute<?, ?>> steps = new ArrayList<>(names.length - 1);
+        ManagedType<?> type = entity;
+        boolean embedded = false;
+        for (int i = 0; i < names.length; i++) {
+            final Attribute<?, ?> attribute = findAttribute(type, names[i]);
+            if (Objects.isNull(attribute)) {
+                return Optional.empty();
+            }
+            if (i == names.length - 1) {
+                return attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+                        ? Optional.of(new AttributePath(List.copyOf(steps), (SingularAttribute<?, ?>) attribute))
+                        : Optional.empty();
+            }
+            final boolean association = attribute.isAssociation() || attribute.isCollection();
+            final Type<?> next;
+            if (attribute instanceof PluralAttribute<?, ?, ?> plural) {
+                next = plural.getCollectionType() == PluralAttribute.CollectionType.MAP ? null : plural.getElementType();
+            } else {
+                next = ((SingularAttribute<?, ?>) attribute).getType();
+            }
+            // joins are created from entities only, not from embedded attributes
+            if (!(next instanceof ManagedType<?> managedType) || (embedded && association)) {
+                return Optional.empty();
+            }
+            embedded = embedded || !association;
+            steps.add(attribute);
+            type = managedType;
+        }
+        return Optional.empty();
+    }
+
+    private static Attribute<?, ?> findAttribute(ManagedType<?> type, String name) {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Key of a resolved path, the entity being compared by identity as each metamodel has its own instances
+     *
+     * @param entity
+     * @param key
+     */
+    private record Key(ManagedType<?> entity, String key) {
+    }
+}
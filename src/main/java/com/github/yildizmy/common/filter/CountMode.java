@@ -0,0 +1,86 @@
+package com.github.yildizmy.common.filter;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Count modes of the paged list endpoints, which decide how the total number of elements is found out
+ */
+public enum CountMode {
+
+    /**
+     * Runs a count query with the filters of the page, unless the page shows that it is the last one
+     */
+    EXACT {
+        public int getLimit(Pageable pageable) {
+            return pageable.getPageSize();
+        }
+
+        public <R> Slice<R> toSlice(List<R> rows, Pageable pageable, LongSupplier count, LongSupplier estimate) {
+            return PageableExecutionUtils.getPage(rows, pageable, count);
+        }
+    },
+
+    /**
+     * Does not count the elements and only returns if there is a next page, by fetching one more row than the
+     * page size
+     */
+    SKIP {
+        public <R> Slice<R> toSlice(List<R> rows, Pageable pageable, LongSupplier count, LongSupplier estimate) {
+            final int size = pageable.getPageSize();
+            return new SliceImpl<>(rows.subList(0, Math.min(rows.size(), size)), pageable, rows.size() > size);
+        }
+    },
+
+    /**
+     * Returns the number of rows estimated by the database from its statistics, which are only used without
+     * filters (see SearchSpecification#getCountMode). If there is a next page is still found out by fetching one
+     * more row, and the total of the last page is exact.
+     */
+    APPROXIMATE {
+        public <R> Slice<R> toSlice(List<R> rows, Pageable pageable, LongSupplier count, LongSupplier estimate) {
+            final int size = pageable.getPageSize();
+            final List<R> content = rows.subList(0, Math.min(rows.size(), size));
+            if (rows.size() <= size && (!rows.isEmpty() || pageable.getOffset() == 0)) {
+                // the last page, so the total is known
+                return new PageImpl<>(content, pageable, pageable.getOffset() + rows.size());
+            }
+            if (rows.isEmpty()) {
+                return PageableExecutionUtils.getPage(content, pageable, count);
+            }
+            long total = estimate.getAsLong();
+            if (total < 0) {
+                total = count.getAsLong();
+            }
+            // the estimate must not contradict the rows that have been read
+            return new PageImpl<>(content, pageable, Math.max(total, pageable.getOffset() + rows.size()));
+        }
+    };
+
+    /**
+     * Returns the number of rows to fetch for the given page
+     *
+     * @param pageable
+     * @return Maximum number of rows
+     */
+    public int getLimit(Pageable pageable) {
+        return pageable.getPageSize() + 1;
+    }
+
+    /**
+     * Builds the page or slice of the given rows, fetched with {@link #getLimit(Pageable)}
+     *
+     * @param rows     rows of the page starting from its offset
+     * @param pageable
+     * @param count    runs an exact count query
+     * @param estimate returns the estimated number of rows, or a negative number if there is no estimate
+     * @return Page with the total number of elements, or slice without it
+     */
+    public abstract <R> Slice<R> toSlice(List<R> rows, Pageable pageable, LongSupplier count, LongSupplier estimate);
+}
@@ -0,0 +1,72 @@
+package com.github.yildizmy.common.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static com.github.yildizmy.common.Constants.CLASS_CANNOT_BE_INSTANTIATED;
+import static com.github.yildizmy.common.Constants.INVALID_CURSOR;
+
+/**
+ * Encodes and decodes the opaque tokens used for keyset pagination. A token keeps the sort key values
+ * (followed by the id) of the last element of a slice.
+ */
+public final class Cursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Cursor() {
+        throw new UnsupportedOperationException(CLASS_CANNOT_BE_INSTANTIATED);
+    }
+
+    /**
+     * Encodes the given sort key values as an url-safe token
+     *
+     * @param values
+     * @return Opaque cursor token
+     */
+    public static String encode(List<Object> values) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(values));
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException(INVALID_CURSOR, e);
+        }
+    }
+
+    /**
+     * Decodes the sort key values kept in the given token
+     *
+     * @param token
+     * @return Sort key values
+     */
+    public static List<Object> decode(String token) {
+        try {
+            final String json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return MAPPER.readValue(json, new TypeReference<>() {
+            });
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidRequestException(INVALID_CURSOR, e);
+        }
+    }
+
+    /**
+     * Converts a decoded value to the java type of the attribute it belongs to
+     *
+     * @param value
+     * @param type
+     * @param <Y>
+     * @return Converted value
+     */
+    public static <Y> Y convert(Object value, Class<Y> type) {
+        try {
+            return MAPPER.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(INVALID_CURSOR, e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.yildizmy.common.filter;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Slice returned by keyset pagination. It does not require a count query and carries the token
+ * of the next slice instead of a page number.
+ *
+ * @param <T>
+ */
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 4760113092346718237L;
+
+    private final String next;
+
+    public CursorSlice(List<T> content, int size, String next) {
+        super(content, PageRequest.ofSize(size), next != null);
+        this.next = next;
+    }
+
+    /**
+     * Returns the token used as the 'after' parameter for fetching the next slice
+     *
+     * @return Cursor token, or null if this is the last slice
+     */
+    public String getNext() {
+        return next;
+    }
+
+    @Override
+    public <U> CursorSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new CursorSlice<>(getContent().stream().<U>map(converter).toList(), getSize(), next);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CursorSlice<?> that)) return false;
+        return super.equals(o) && Objects.equals(next, that.next);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(next);
+    }
+}
@@ -1,59 +1,93 @@
 package com.github.yildizmy.common.filter;
 
-import lombok.extern.slf4j.Slf4j;
-
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-import static com.github.yildizmy.common.Constants.FIELD_PARSE_ERROR;
 import static com.github.yildizmy.common.Constants.FORMATTER;
 
 /**
  * Field types used for filtering
  */
-@Slf4j
 public enum FieldType {
 
     BOOLEAN {
         public Object parse(String value) {
             return Boolean.valueOf(value);
         }
+
+        public boolean accepts(Class<?> type) {
+            return type == Boolean.class;
+        }
     },
     CHAR {
         public Object parse(String value) {
             return value.charAt(0);
         }
+
+        public boolean accepts(Class<?> type) {
+            return type == Character.class || type == String.class;
+        }
     },
     DATE {
         public Object parse(String value) {
-            Object date = null;
-            try {
-                date = LocalDateTime.parse(value, FORMATTER);
-            } catch (Exception e) {
-                log.warn(FIELD_PARSE_ERROR, e.getMessage());
-            }
-            return date;
+            return LocalDateTime.parse(value, FORMATTER);
+        }
+
+        public boolean accepts(Class<?> type) {
+            return type == LocalDateTime.class || type == LocalDate.class;
         }
     },
     DOUBLE {
         public Object parse(String value) {
             return Double.valueOf(value);
         }
+
+        public boolean accepts(Class<?> type) {
+            return Number.class.isAssignableFrom(type);
+        }
     },
     INTEGER {
         public Object parse(String value) {
             return Integer.valueOf(value);
         }
+
+        public boolean accepts(Class<?> type) {
+            return Number.class.isAssignableFrom(type);
+        }
     },
     LONG {
         public Object parse(String value) {
             return Long.valueOf(value);
         }
+
+        public boolean accepts(Class<?> type) {
+            return Number.class.isAssignableFrom(type);
+        }
     },
     STRING {
         public Object parse(String value) {
             return value;
         }
+
+        public boolean accepts(Class<?> type) {
+            return type == String.class || type.isEnum();
+        }
     };
 
+    /**
+     * Parses the given value
+     *
+     * @param value
+     * @return Parsed value
+     * @throws RuntimeException if the value cannot be parsed as this field type
+     */
     public abstract Object parse(String value);
+
+    /**
+     * Returns if the values of this field type can be compared to the attributes of the given java type
+     *
+     * @param type boxed java type of the attribute
+     * @return true if the values can be converted to the given type
+     */
+    public abstract boolean accepts(Class<?> type);
 }
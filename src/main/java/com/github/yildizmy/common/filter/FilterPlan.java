@@ -0,0 +1,146 @@
+package com.github.yildizmy.common.filter;
+
+import com.github.yildizmy.exception.InvalidRequestException;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.ManagedType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.yildizmy.common.Constants.*;
+
+/**
+ * Compiled form of a filter, checked against the attribute once per entity and filter shape instead of per request
+ */
+final class FilterPlan {
+
+    private static final Map<Shape, FilterPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final AttributePath path;
+    private final Class<?> type;
+    private final Operator operator;
+    private final FieldType fieldType;
+
+    private FilterPlan(ManagedType<?> entity, Shape shape) {
+        this.key = shape.key();
+        this.path = AttributePath.of(entity, key)
+                .orElseThrow(() -> new InvalidRequestException(String.format(INVALID_FILTER_KEY, key)));
+        this.type = ClassUtils.resolvePrimitiveIfNecessary(path.attribute().getJavaType());
+        this.operator = shape.operator();
+        this.fieldType = shape.fieldType();
+        if (Objects.isNull(operator) || Objects.isNull(fieldType) || !operator.supports(type) || !fieldType.accepts(type)) {
+            throw new InvalidRequestException(String.format(INVALID_FILTER_TYPE, key));
+        }
+    }
+
+    /**
+     * Returns the plan of the given filter on the given entity, compiling it on the first use of its shape
+     *
+     * @param entity
+     * @param filter
+     * @return Plan of the filter
+     * @throws InvalidRequestException if the key is not a path to a basic attribute of the entity, or the
+     *                                 operator or the field type cannot be applied to it
+     */
+    static FilterPlan of(ManagedType<?> entity, FilterRequest filter) {
+        return PLANS.computeIfAbsent(new Shape(entity, filter.getKey(), filter.getOperator(), filter.getFieldType()),
+                shape -> new FilterPlan(entity, shape));
+    }
+
+    /**
+     * Builds the predicate of the given filter, which must have the shape of this plan
+     *
+     * @param root
+     * @param query  query of the root, used for the subqueries of the paths through a collection
+     * @param cb
+     * @param filter
+     * @return Predicate used for filtering
+     * @throws InvalidRequestException if a value is missing or cannot be converted to the type of the attribute
+     */
+    Predicate build(Root<?> root, AbstractQuery<?> query, CriteriaBuilder cb, FilterRequest filter) {
+        final List<Object> values = operator.getValues(filter);
+        if (Objects.isNull(values) || values.isEmpty()) {
+            throw new InvalidRequestException(String.format(INVALID_FILTER_VALUE, key));
+        }
+        final List<Object> converted = new ArrayList<>(values.size());
+        for (Object value : values) {
+            converted.add(convert(value));
+        }
+        return path.build(root, query, cb, attribute -> operator.build(cb, attribute, converted));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object convert(Object value) {
+        if (Objects.isNull(value)) {
+            throw new InvalidRequestException(String.format(INVALID_FILTER_VALUE, key));
+        }
+        try {
+            final Object parsed = fieldType.parse(value.toString());
+            if (type.isInstance(parsed)) {
+                return parsed;
+            }
+            if (parsed instanceof Number number) {
+                return toNumber(number);
+            }
+            if (parsed instanceof LocalDateTime dateTime) {
+                return dateTime.toLocalDate();
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, parsed.toString());
+            }
+            return parsed.toString();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | ArithmeticException | DateTimeException e) {
+            throw new InvalidRequestException(String.format(INVALID_FILTER_VALUE, key), e);
+        }
+    }
+
+    /**
+     * Converts the given number to the numeric type of the attribute without losing precision
+     *
+     * @param number
+     * @return Converted number
+     * @throws ArithmeticException if the number does not fit the type of the attribute
+     */
+    private Object toNumber(Number number) {
+        final BigDecimal decimal = new BigDecimal(number.toString());
+        if (type == Integer.class) {
+            return decimal.intValueExact();
+        } else if (type == Long.class) {
+            return decimal.longValueExact();
+        } else if (type == Short.class) {
+            return decimal.shortValueExact();
+        } else if (type == Byte.class) {
+            return decimal.byteValueExact();
+        } else if (type == Double.class) {
+            return decimal.doubleValue();
+        } else if (type == Float.class) {
+            return decimal.floatValue();
+        } else if (type == BigInteger.class) {
+            return decimal.toBigIntegerExact();
+        }
+        return decimal;
+    }
+
+    /**
+     * Shape of a filter, the entity being compared as in {@link AttributePath}
+     *
+     * @param entity
+     * @param key
+     * @param operator
+     * @param fieldType
+     */
+    private record Shape(ManagedType<?> entity, String key, Operator operator, FieldType fieldType) {
+    }
+}
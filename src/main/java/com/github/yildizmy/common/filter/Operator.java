@@ -1,78 +1,102 @@
 package com.github.yildizmy.common.filter;
 
-import lombok.extern.slf4j.Slf4j;
-
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
-import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import static com.github.yildizmy.common.Constants.FIELD_TYPE_ERROR;
-
 /**
- * Operator definitions used for filtering
+ * Operator definitions used for filtering. The values are converted to the java type of the filtered
+ * attribute by {@link FilterPlan} before the predicate is built.
  */
-@Slf4j
 public enum Operator {
 
     EQUAL {
-        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
-            Object value = request.getFieldType().parse(request.getValue().toString());
-            Expression<?> key = root.get(request.getKey());
-            return cb.and(cb.equal(key, value), predicate);
+        public Predicate build(CriteriaBuilder cb, Path<?> key, List<Object> values) {
+            return cb.equal(key, values.get(0));
         }
     },
 
     NOT_EQUAL {
-        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
-            Object value = request.getFieldType().parse(request.getValue().toString());
-            Expression<?> key = root.get(request.getKey());
-            return cb.and(cb.notEqual(key, value), predicate);
+        public Predicate build(CriteriaBuilder cb, Path<?> key, List<Object> values) {
+            return cb.notEqual(key, values.get(0));
         }
     },
 
     LIKE {
-        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
-            Expression<String> key = root.get(request.getKey());
-            return cb.and(cb.like(cb.upper(key), "%" + request.getValue().toString().toUpperCase() + "%"), predicate);
+        @SuppressWarnings("unchecked")
+        public Predicate build(CriteriaBuilder cb, Path<?> key, List<Object> values) {
+            return cb.like(cb.upper((Expression<String>) key), "%" + values.get(0).toString().toUpperCase() + "%");
+        }
+
+        @Override
+        public boolean supports(Class<?> type) {
+            return type == String.class;
         }
     },
 
     IN {
-        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
-            List<Object> values = request.getValues();
-            CriteriaBuilder.In<Object> inClause = cb.in(root.get(request.getKey()));
+        public Predicate build(CriteriaBuilder cb, Path<?> key, List<Object> values) {
+            CriteriaBuilder.In<Object> inClause = cb.in(key);
             for (Object value : values) {
-                inClause.value(request.getFieldType().parse(value.toString()));
+                inClause.value(value);
             }
-            return cb.and(inClause, predicate);
+            return inClause;
+        }
+
+        @Override
+        public List<Object> getValues(FilterRequest request) {
+            return request.getValues();
         }
     },
 
     BETWEEN {
-        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
-            Object value = request.getFieldType().parse(request.getValue().toString());
-            Object valueTo = request.getFieldType().parse(request.getValueTo().toString());
-            if (request.getFieldType() == FieldType.DATE) {
-                LocalDateTime startDate = (LocalDateTime) value;
-                LocalDateTime endDate = (LocalDateTime) valueTo;
-                Expression<LocalDateTime> key = root.get(request.getKey());
-                return cb.and(cb.and(cb.greaterThanOrEqualTo(key, startDate), cb.lessThanOrEqualTo(key, endDate)), predicate);
-            }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Predicate build(CriteriaBuilder cb, Path<?> key, List<Object> values) {
+            return cb.between((Expression<Comparable>) key, (Comparable) values.get(0), (Comparable) values.get(1));
+        }
 
-            if (request.getFieldType() != FieldType.CHAR && request.getFieldType() != FieldType.BOOLEAN) {
-                Number start = (Number) value;
-                Number end = (Number) valueTo;
-                Expression<Number> key = root.get(request.getKey());
-                return cb.and(cb.and(cb.ge(key, start), cb.le(key, end)), predicate);
-            }
+        @Override
+        public boolean supports(Class<?> type) {
+            return Comparable.class.isAssignableFrom(type) && type != Boolean.class && !type.isEnum();
+        }
 
-            log.warn(FIELD_TYPE_ERROR, request.getFieldType());
-            return predicate;
+        @Override
+        public List<Object> getValues(FilterRequest request) {
+            return Arrays.asList(request.getValue(), request.getValueTo());
         }
     };
 
-    public abstract <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate);
+    /**
+     * Builds the predicate of this operator
+     *
+     * @param cb
+     * @param key    path of the filtered attribute
+     * @param values values returned by {@link #getValues(FilterRequest)}, converted to the type of the attribute
+     * @return Predicate used for filtering
+     */
+    public abstract Predicate build(CriteriaBuilder cb, Path<?> key, List<Object> values);
+
+    /**
+     * Returns if this operator can be applied to the attributes of the given java type
+     *
+     * @param type boxed java type of the attribute
+     * @return true if the operator can be applied
+     */
+    public boolean supports(Class<?> type) {
+        return true;
+    }
+
+    /**
+     * Returns the values of the given filter used by this operator
+     *
+     * @param request
+     * @return Values in the order expected by {@link #build(CriteriaBuilder, Path, List)}
+     */
+    public List<Object> getValues(FilterRequest request) {
+        return Collections.singletonList(request.getValue());
+    }
 }
@@ -0,0 +1,33 @@
+package com.github.yildizmy.common.filter;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+
+/**
+ * Selection of entity attributes passed to the constructor of a DTO. Queries using a projection read
+ * only the selected columns and do not create managed entities or their snapshots.
+ *
+ * @param type       DTO type having a public constructor with the attribute types in the same order
+ * @param attributes Attribute names of the root entity
+ * @param <R>
+ */
+public record Projection<R>(Class<R> type, List<String> attributes) {
+
+    public static <R> Projection<R> of(Class<R> type, String... attributes) {
+        return new Projection<>(type, List.of(attributes));
+    }
+
+    /**
+     * Builds the constructor expression selecting the attributes of the given root
+     *
+     * @param root
+     * @param cb
+     * @return Constructor expression used as the selection of a criteria query
+     */
+    public CompoundSelection<R> toSelection(Root<?> root, CriteriaBuilder cb) {
+        return cb.construct(type, attributes.stream().map(root::get).toArray(Selection[]::new));
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.yildizmy.common.filter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -34,6 +35,24 @@ public class SearchRequest implements Serializable {
 
     private Integer size;
 
+    /**
+     * Token of the last element of the previous slice, used for keyset (cursor) pagination.
+     * Cursor mode is enabled when it is not null, and an empty token fetches the first slice.
+     */
+    private String after;
+
+    /**
+     * How the total number of elements of a page is found out, exact by default. It is not used by cursor mode.
+     */
+    private CountMode countMode;
+
+    public SearchRequest(List<FilterRequest> filters, List<SortRequest> sorts, Integer page, Integer size) {
+        this.filters = filters;
+        this.sorts = sorts;
+        this.page = page;
+        this.size = size;
+    }
+
     public List<FilterRequest> getFilters() {
         if (Objects.isNull(this.filters)) return new ArrayList<>();
         return this.filters;
@@ -43,4 +62,13 @@ public class SearchRequest implements Serializable {
         if (Objects.isNull(this.sorts)) return new ArrayList<>();
         return this.sorts;
     }
+
+    public CountMode getCountMode() {
+        return Objects.requireNonNullElse(this.countMode, CountMode.EXACT);
+    }
+
+    @JsonIgnore
+    public boolean isCursor() {
+        return Objects.nonNull(this.after);
+    }
 }
@@ -1,7 +1,9 @@
 package com.github.yildizmy.common.filter;
 
+import com.github.yildizmy.exception.InvalidRequestException;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.NullValueInNestedPathException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -10,37 +12,179 @@ import javax.persistence.criteria.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
+
+import static com.github.yildizmy.common.Constants.INVALID_CURSOR;
+import static com.github.yildizmy.common.Constants.INVALID_SORT;
+import static com.github.yildizmy.common.Constants.SORT_BY_ID;
 
 /**
- * Search specifications used for filtering
+ * Search specifications used for filtering. The filter and sort keys are paths to the basic attributes of the
+ * entity, e.g. 'title' or 'category.name' (see AttributePath), and the filters are built by the plans compiled
+ * for their shapes (see FilterPlan).
  */
-@Slf4j
 @AllArgsConstructor
 public class SearchSpecification<T> implements Specification<T> {
 
     private static final long serialVersionUID = -9153865343320750644L;
+    private static final int DEFAULT_PAGE_SIZE = 100;
 
     private final transient SearchRequest request;
 
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-        Predicate predicate = cb.equal(cb.literal(Boolean.TRUE), Boolean.TRUE);
-
+        // combined by a single conjunction, as nesting them copies the previous predicates on each filter
+        final List<Predicate> predicates = new ArrayList<>();
         for (FilterRequest filter : this.request.getFilters()) {
-            log.info("Filter: {} {} {}", filter.getKey(), filter.getOperator().toString(), filter.getValue());
-            predicate = filter.getOperator().build(root, cb, filter, predicate);
+            predicates.add(FilterPlan.of(root.getModel(), filter).build(root, query, cb, filter));
+        }
+
+        final List<SortRequest> sorts = getSorts();
+        final List<Path<?>> keys = new ArrayList<>(sorts.size());
+        for (SortRequest sort : sorts) {
+            // a collection has no single value to sort by
+            keys.add(AttributePath.of(root.getModel(), sort.getKey())
+                    .filter(path -> !path.isCollection())
+                    .orElseThrow(() -> new InvalidRequestException(INVALID_SORT))
+                    .get(root));
+        }
+        if (request.isCursor() && !request.getAfter().isBlank()) {
+            predicates.add(seek(cb, sorts, keys, Cursor.decode(request.getAfter())));
         }
 
         List<Order> orders = new ArrayList<>();
-        for (SortRequest sort : this.request.getSorts()) {
-            orders.add(sort.getDirection().build(root, cb, sort));
+        for (int i = 0; i < sorts.size(); i++) {
+            orders.add(sorts.get(i).getDirection().build(cb, keys.get(i)));
         }
 
         query.orderBy(orders);
-        return predicate;
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Returns the number of rows fetched for a cursor slice. One more row than the slice size is
+     * fetched in order to find out if there is a next slice without running a count query.
+     *
+     * @return Maximum number of rows to fetch
+     */
+    public int getLimit() {
+        return getSize() + 1;
+    }
+
+    /**
+     * Returns the paths of the sort keys in the order of the sorts, e.g. to select them along with the rows, so
+     * that the cursor is built by {@link #toSlice(List, Function)} without loading the associations of the rows
+     *
+     * @param root root of a query whose predicate is built by this specification, whose joins are reused
+     * @return Paths of the sort keys
+     */
+    public List<Path<?>> getSortKeys(Root<T> root) {
+        // the paths are valid, as they are checked when the predicate is built
+        return getSorts().stream()
+                .<Path<?>>map(sort -> AttributePath.of(root.getModel(), sort.getKey()).orElseThrow().get(root))
+                .toList();
+    }
+
+    /**
+     * Builds a cursor slice from the rows fetched by using {@link #getLimit()}
+     *
+     * Rows may also be projections of the entity as long as they expose the sort keys as properties.
+     * The dotted sort keys are read as nested properties, and a null association as a null value.
+     *
+     * @param rows
+     * @return Slice with the token of the next slice
+     */
+    public <R> CursorSlice<R> toSlice(List<R> rows) {
+        return toSlice(rows, row -> {
+            final BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+            return getSorts().stream()
+                    .map(sort -> getPropertyValue(wrapper, sort.getKey()))
+                    .toList();
+        });
+    }
+
+    /**
+     * Builds a cursor slice from the rows fetched by using {@link #getLimit()}, whose sort keys are read by the
+     * given function, e.g. from the values selected by {@link #getSortKeys(Root)}
+     *
+     * @param rows
+     * @param sortKeys returns the values of the sort keys of a row in the order of the sorts
+     * @return Slice with the token of the next slice
+     */
+    public <R> CursorSlice<R> toSlice(List<R> rows, Function<R, List<Object>> sortKeys) {
+        final int size = getSize();
+        if (rows.size() <= size) {
+            return new CursorSlice<>(rows, size, null);
+        }
+        final List<R> content = rows.subList(0, size);
+        return new CursorSlice<>(content, size, Cursor.encode(sortKeys.apply(content.get(size - 1))));
+    }
+
+    /**
+     * Returns the count mode of the requested page. The estimates of the database are those of whole tables,
+     * so an approximate count of a filtered page is exact instead.
+     *
+     * @return Count mode applied to the page
+     */
+    public CountMode getCountMode() {
+        final CountMode countMode = request.getCountMode();
+        return countMode == CountMode.APPROXIMATE && !request.getFilters().isEmpty() ? CountMode.EXACT : countMode;
     }
 
     public static Pageable getPageable(Integer page, Integer size) {
-        return PageRequest.of(Objects.requireNonNullElse(page, 0), Objects.requireNonNullElse(size, 100));
+        return PageRequest.of(Objects.requireNonNullElse(page, 0), Objects.requireNonNullElse(size, DEFAULT_PAGE_SIZE));
+    }
+
+    private static Object getPropertyValue(BeanWrapperImpl row, String key) {
+        try {
+            return row.getPropertyValue(key);
+        } catch (NullValueInNestedPathException e) {
+            return null;
+        }
+    }
+
+    private int getSize() {
+        return Objects.requireNonNullElse(request.getSize(), DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Returns the requested sorts. In cursor mode, the id is appended as the last sort key so that
+     * the order is unique and stays stable while new rows are inserted.
+     *
+     * @return Sorts applied to the query
+     */
+    private List<SortRequest> getSorts() {
+        final List<SortRequest> sorts = new ArrayList<>(this.request.getSorts());
+        if (request.isCursor() && sorts.stream().noneMatch(sort -> SORT_BY_ID.equals(sort.getKey()))) {
+            sorts.add(new SortRequest(SORT_BY_ID, SortDirection.ASC));
+        }
+        return sorts;
+    }
+
+    /**
+     * Builds the keyset predicate matching the rows after the cursor values, e.g. for the sorts (a, b, id):
+     * a > :a OR (a = :a AND b > :b) OR (a = :a AND b = :b AND id > :id)
+     *
+     * @param cb
+     * @param sorts
+     * @param keys   paths of the sort keys
+     * @param values
+     * @return Predicate used for keyset pagination
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, List<SortRequest> sorts, List<Path<?>> keys, List<Object> values) {
+        if (values.size() != sorts.size()) {
+            throw new InvalidRequestException(INVALID_CURSOR);
+        }
+        Predicate predicate = cb.disjunction();
+        Predicate previousKeysEqual = cb.conjunction();
+        for (int i = 0; i < sorts.size(); i++) {
+            final SortRequest sort = sorts.get(i);
+            final Path key = keys.get(i);
+            final Comparable value = (Comparable) Cursor.convert(values.get(i), key.getJavaType());
+            predicate = cb.or(predicate, cb.and(previousKeysEqual, sort.getDirection().after(cb, key, value)));
+            previousKeysEqual = cb.and(previousKeysEqual, value == null ? cb.isNull(key) : cb.equal(key, value));
+        }
+        return predicate;
     }
 }
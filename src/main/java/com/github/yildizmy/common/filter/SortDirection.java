@@ -1,8 +1,9 @@
 package com.github.yildizmy.common.filter;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Order;
-import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Predicate;
 
 /**
  * Sort directions used for filtering
@@ -10,15 +11,49 @@ import javax.persistence.criteria.Root;
 public enum SortDirection {
 
     ASC {
-        public <T> Order build(Root<T> root, CriteriaBuilder cb, SortRequest request) {
-            return cb.asc(root.get(request.getKey()));
+        public Order build(CriteriaBuilder cb, Expression<?> key) {
+            return cb.asc(key);
+        }
+
+        public <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Expression<Y> key, Y value) {
+            // PostgreSQL puts nulls last in ascending order
+            if (value == null) {
+                return cb.disjunction();
+            }
+            return cb.or(cb.greaterThan(key, value), cb.isNull(key));
         }
     },
     DESC {
-        public <T> Order build(Root<T> root, CriteriaBuilder cb, SortRequest request) {
-            return cb.desc(root.get(request.getKey()));
+        public Order build(CriteriaBuilder cb, Expression<?> key) {
+            return cb.desc(key);
+        }
+
+        public <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Expression<Y> key, Y value) {
+            // PostgreSQL puts nulls first in descending order
+            if (value == null) {
+                return cb.isNotNull(key);
+            }
+            return cb.lessThan(key, value);
         }
     };
 
-    public abstract <T> Order build(Root<T> root, CriteriaBuilder cb, SortRequest request);
+    /**
+     * Builds the order of the given sort key in this direction
+     *
+     * @param cb
+     * @param key path of the sorted attribute
+     * @return Order of the query
+     */
+    public abstract Order build(CriteriaBuilder cb, Expression<?> key);
+
+    /**
+     * Builds the predicate matching the rows placed after the given value in this direction
+     *
+     * @param cb
+     * @param key
+     * @param value
+     * @param <Y>
+     * @return Predicate used for keyset pagination
+     */
+    public abstract <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Expression<Y> key, Y value);
 }
@@ -0,0 +1,83 @@
+package com.github.yildizmy.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records the duration and the outcome of every public service method. The outcome is 'success' or
+ * the simple name of the thrown exception (e.g. NoSuchElementFoundException, ElementAlreadyExistsException),
+ * so the number of calls per outcome is also available as the count of the timer.
+ * <p>
+ * A method returning a Mono or Flux only assembles it, so it is timed from the subscription until the publisher
+ * terminates instead, and its outcome is taken from the error signal ('cancelled' if it is cancelled).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "service.method";
+    public static final String SUCCESS = "success";
+    public static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * com.github.yildizmy.service..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        final Timer.Sample sample = Timer.start(registry);
+        String outcome = SUCCESS;
+        try {
+            final Object result = joinPoint.proceed();
+            if (result instanceof Mono<?> mono) {
+                outcome = null;
+                return Mono.defer(() -> {
+                    final AtomicReference<String> signalOutcome = new AtomicReference<>(SUCCESS);
+                    final Timer.Sample subscription = Timer.start(registry);
+                    return mono.doOnError(e -> signalOutcome.set(e.getClass().getSimpleName()))
+                            .doFinally(signal -> stop(subscription, joinPoint, getOutcome(signal, signalOutcome)));
+                });
+            }
+            if (result instanceof Flux<?> flux) {
+                outcome = null;
+                return Flux.defer(() -> {
+                    final AtomicReference<String> signalOutcome = new AtomicReference<>(SUCCESS);
+                    final Timer.Sample subscription = Timer.start(registry);
+                    return flux.doOnError(e -> signalOutcome.set(e.getClass().getSimpleName()))
+                            .doFinally(signal -> stop(subscription, joinPoint, getOutcome(signal, signalOutcome)));
+                });
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            // the publishers are recorded when they terminate
+            if (outcome != null) {
+                stop(sample, joinPoint, outcome);
+            }
+        }
+    }
+
+    private static String getOutcome(SignalType signal, AtomicReference<String> outcome) {
+        return signal == SignalType.CANCEL ? CANCELLED : outcome.get();
+    }
+
+    private void stop(Timer.Sample sample, ProceedingJoinPoint joinPoint, String outcome) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Duration of the service methods")
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+}
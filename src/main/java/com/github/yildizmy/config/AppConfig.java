@@ -1,5 +1,6 @@
 package com.github.yildizmy.config;
 
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
@@ -25,4 +26,15 @@ public class AppConfig {
             builder.serializers(new LocalDateTimeSerializer(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT)));
         };
     }
+
+    /**
+     * Creates the module leaving the fields which are not selected out of the recipe responses. It is registered
+     * to the ObjectMapper of the application as a module bean.
+     *
+     * @return
+     */
+    @Bean
+    public Module recipeFieldsModule() {
+        return new RecipeFieldsModule();
+    }
 }
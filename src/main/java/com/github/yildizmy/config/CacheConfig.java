@@ -0,0 +1,35 @@
+package com.github.yildizmy.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration file used to configure the in-process cache of the reference data (categories, units and ingredients)
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * Creates the bounded Caffeine caches defined by the "spring.cache" properties. Puts and evictions are
+     * deferred until the surrounding transaction commits, so that uncommitted data is never cached.
+     *
+     * @param properties
+     * @return
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(properties.getCaffeine().getSpec()));
+        cacheManager.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.yildizmy.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static com.github.yildizmy.common.Constants.USING_VIRTUAL_THREADS;
+import static com.github.yildizmy.common.Constants.VIRTUAL_THREADS_NOT_SUPPORTED;
+
+/**
+ * Configuration file used to handle the requests on virtual threads ('recipe.execution.mode: virtual').
+ * By default, requests are handled by the pool of platform threads of Tomcat ('server.tomcat.threads.max'),
+ * which are held while waiting on JDBC. With virtual threads, each request (and each asynchronous export)
+ * runs on a new virtual thread that releases its carrier thread while waiting, so the number of concurrent
+ * requests is bounded by the data source (see BoundedDataSource) instead of the number of threads.
+ * <p>
+ * The application is compiled for Java 17, so the virtual threads of Java 21 are created by reflection.
+ */
+@Slf4j(topic = "ExecutionConfig")
+@Configuration
+@ConditionalOnProperty(name = "recipe.execution.mode", havingValue = "virtual")
+public class ExecutionConfig {
+
+    private static final String THREAD_NAME_PREFIX = "http-virtual-";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadExecutor(THREAD_NAME_PREFIX);
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean
+    public WebMvcConfigurer virtualThreadAsyncConfigurer(ExecutorService virtualThreadExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor));
+            }
+        };
+    }
+
+    /**
+     * Bounds the connections handed out by the data source at once to 'recipe.execution.datasource.max-concurrency',
+     * which is the size of the Hikari pool by default
+     *
+     * @param environment
+     * @return
+     */
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                final int maxConnections = environment.getProperty("recipe.execution.datasource.max-concurrency",
+                        Integer.class, environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                final Duration timeout = environment.getProperty("recipe.execution.datasource.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(30));
+                log.info(USING_VIRTUAL_THREADS, maxConnections);
+                return new BoundedDataSource(dataSource, maxConnections, timeout);
+            }
+        };
+    }
+
+    /**
+     * Creates an executor starting a new named virtual thread for each task
+     *
+     * @param prefix prefix of the thread names, followed by a counter
+     * @return Executor of virtual threads
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor(String prefix) {
+        try {
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(Thread.class.getMethod("ofVirtual").invoke(null), prefix, 0L);
+            final ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(VIRTUAL_THREADS_NOT_SUPPORTED, e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.yildizmy.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration file used to configure the second-level cache of Hibernate, which keeps the categories, units,
+ * ingredients and recipe ingredients, and the ingredients of each recipe, between transactions. The regions are
+ * bounded JCache caches of Caffeine defined by the 'recipe.second-level-cache' properties, and a region that is
+ * not defined there fails the start of the application instead of being created unbounded.
+ * <p>
+ * The entities are cached read-write, so the updates and deletes of this instance replace or evict the cached
+ * entries when they commit, and saving or deleting a recipe ingredient evicts the cached ingredients of its
+ * recipe. Writes of other instances sharing the database are only seen once the entries expire.
+ * The hit, miss and put counters of each region are exported as 'hibernate.second.level.cache.*' metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(HibernateCacheConfig.SecondLevelCacheProperties.class)
+@ConditionalOnProperty(name = "recipe.second-level-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    /**
+     * Region of the last update time of each table, which must neither expire nor be evicted
+     */
+    private static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * Creates a cache manager of its own for the regions, so that it is closed with the application context
+     *
+     * @param properties
+     * @return
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getRegions().forEach((region, maximumSize) -> {
+            final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(properties.getExpireAfterWrite().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        });
+        final CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Properties of the second-level cache regions
+     */
+    @Getter
+    @Setter
+    @ConfigurationProperties(prefix = "recipe.second-level-cache")
+    public static class SecondLevelCacheProperties {
+
+        /**
+         * Time after which a cached entry is reloaded, bounding the staleness of the writes of other instances
+         */
+        private Duration expireAfterWrite = Duration.ofHours(1);
+
+        /**
+         * Maximum number of entries of each region by name
+         */
+        private Map<String, Long> regions = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.yildizmy.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Configuration file used to configure the HTTP caching of the reads. The responses of single entities carry
+ * a weak ETag derived from the versions of the entities they are built from and the negotiated format (see
+ * ResponseFormat), so conditional requests (If-None-Match) are answered with 304 Not Modified without loading
+ * nor serializing the entity again. As the body of the same URL depends on the Accept and Accept-Encoding
+ * headers, all responses vary by them.
+ * <p>
+ * The ETag of a recipe is made of the versions of the recipe, its category, ingredients and units, and of the
+ * selected fields. The versions are read before the recipe, so a concurrent change can only make the ETag older
+ * than the response, which is then revalidated again by the next request.
+ * <p>
+ * The reference data lists take their filter parameters in the request body, which caches do not key on.
+ * Their ETag is therefore the hash of the response body (ShallowEtagHeaderFilter) and they have to be
+ * revalidated on each request, which saves the transfer of unchanged lists but not the query.
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    /**
+     * Paths of the reference data lists
+     */
+    static final String[] REFERENCE_DATA_LISTS = {"/api/v1/categories", "/api/v1/units", "/api/v1/ingredients"};
+
+    /**
+     * Creates the Cache-Control of the single categories, units and ingredients, which rarely change
+     *
+     * @param maxAge time the responses are fresh, after which they are revalidated by their ETag
+     * @return
+     */
+    @Bean
+    public CacheControl referenceDataCacheControl(@Value("${recipe.http.reference-data.max-age:60s}") Duration maxAge) {
+        return CacheControl.maxAge(maxAge).cachePrivate().mustRevalidate();
+    }
+
+    /**
+     * Creates the filter adding the request headers the responses vary by, also to the 304 Not Modified responses
+     *
+     * @return
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> varyFilter() {
+        final FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                chain.doFilter(request, response);
+            }
+        });
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> referenceDataEtagFilter() {
+        final ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        // the hash of the uncompressed body is weak, so that the lists are still compressed (see SerializationConfig)
+        filter.setWriteWeakETag(true);
+        final FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(REFERENCE_DATA_LISTS);
+        return registration;
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.yildizmy.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.dto.response.RecipeResponse;
+
+import java.util.List;
+
+/**
+ * Jackson module serializing only the selected fields of the recipe responses, so that the fields which are not
+ * read from the database are left out instead of being written as null. The fields are kept by each response,
+ * so the responses are serialized the same way by the controllers and the export.
+ */
+public class RecipeFieldsModule extends SimpleModule {
+
+    public RecipeFieldsModule() {
+        super(RecipeFieldsModule.class.getSimpleName());
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> properties) {
+                if (!RecipeResponse.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                    return properties;
+                }
+                return properties.stream()
+                        .map(property -> RecipeField.find(property.getName())
+                                .<BeanPropertyWriter>map(field -> new SelectedPropertyWriter(property, field))
+                                .orElse(property))
+                        .toList();
+            }
+        });
+    }
+
+    /**
+     * Writes the property of a recipe response only if its field is selected
+     */
+    private static class SelectedPropertyWriter extends BeanPropertyWriter {
+
+        private final transient RecipeField field;
+
+        SelectedPropertyWriter(BeanPropertyWriter property, RecipeField field) {
+            super(property);
+            this.field = field;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (((RecipeResponse) bean).getFields().contains(field)) {
+                super.serializeAsField(bean, gen, prov);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.yildizmy.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration file used to configure the formats of the request and response bodies. Besides JSON, which is
+ * the default, all controllers read and write CBOR (application/cbor) and Smile (application/x-jackson-smile)
+ * when the client asks for them by the Accept and Content-Type headers. They are binary encodings of the same
+ * documents, so they are smaller and faster to write without changing the responses.
+ * <p>
+ * The larger responses are also compressed by gzip (server.compression). Tomcat does not compress a response with
+ * a strong ETag, as its ETag would then match two different bodies, so all ETags are weak (see HttpCacheConfig).
+ */
+@Configuration
+public class SerializationConfig {
+
+    /**
+     * Creates the CBOR converter. Spring MVC adds one by default when the format is on the classpath, but its
+     * ObjectMapper is not built by the builder of Spring Boot, and therefore misses the modules and formats of
+     * the application (see AppConfig).
+     *
+     * @param builder builder of the application, a new one is injected to each bean
+     * @return
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile converter with the modules and formats of the application
+     *
+     * @param builder builder of the application, a new one is injected to each bean
+     * @return
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
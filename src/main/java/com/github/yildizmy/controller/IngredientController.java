@@ -1,5 +1,6 @@
 package com.github.yildizmy.controller;
 
+import com.github.yildizmy.common.ResponseFormat;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.dto.request.IngredientRequest;
 import com.github.yildizmy.dto.response.ApiResponse;
@@ -7,10 +8,12 @@ import com.github.yildizmy.dto.response.CommandResponse;
 import com.github.yildizmy.dto.response.IngredientResponse;
 import com.github.yildizmy.service.IngredientService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.time.Clock;
@@ -25,29 +28,38 @@ public class IngredientController {
 
     private final Clock clock;
     private final IngredientService ingredientService;
+    private final CacheControl referenceDataCacheControl;
 
     /**
      * Fetches ingredient by id
      *
      * @param id
+     * @param webRequest
      * @return A single ingredient
      */
     @GetMapping("/ingredients/{id}")
-    public ResponseEntity<ApiResponse<IngredientResponse>> findById(@PathVariable long id) {
+    public ResponseEntity<ApiResponse<IngredientResponse>> findById(@PathVariable long id, WebRequest webRequest) {
         final IngredientResponse response = ingredientService.findById(id);
-        return ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
+        return ResponseEntity.ok()
+                .eTag(ResponseFormat.of(webRequest).eTag(String.valueOf(response.getVersion())))
+                .cacheControl(referenceDataCacheControl)
+                .body(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
     }
 
     /**
-     * Fetches all ingredients based on the given filter parameters
+     * Fetches all ingredients based on the given filter parameters. The response is cached privately and revalidated
+     * on each request.
      *
      * @param request
      * @return Paginated ingredient data
      */
     @GetMapping("/ingredients")
-    public ResponseEntity<ApiResponse<Page<IngredientResponse>>> findAll(@RequestBody SearchRequest request) {
-        final Page<IngredientResponse> response = ingredientService.findAll(request);
-        return ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
+    public ResponseEntity<ApiResponse<Slice<IngredientResponse>>> findAll(@RequestBody SearchRequest request) {
+        final Slice<IngredientResponse> response = ingredientService.findAll(request);
+        // the filter is in the body, so the list is revalidated by the ETag of the body (see HttpCacheConfig)
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
     }
 
     /**
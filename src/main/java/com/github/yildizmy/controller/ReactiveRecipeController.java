@@ -0,0 +1,66 @@
+package com.github.yildizmy.controller;
+
+import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.dto.response.ApiResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.service.ReactiveRecipeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.Clock;
+import java.time.Instant;
+
+import static com.github.yildizmy.common.Constants.SUCCESS;
+
+/**
+ * Reactive read API of the recipes. The recipes of the list endpoints are streamed as newline delimited JSON
+ * while they are read from the database, and the next ones are only read once the previous ones are written.
+ */
+@Validated
+@RestController
+@RequestMapping("/api/v2")
+@RequiredArgsConstructor
+public class ReactiveRecipeController {
+
+    private final Clock clock;
+    private final ReactiveRecipeService reactiveRecipeService;
+
+    /**
+     * Fetches recipe by id
+     *
+     * @param id
+     * @return A single recipe
+     */
+    @GetMapping("/recipes/{id}")
+    public Mono<ResponseEntity<ApiResponse<RecipeResponse>>> findById(@PathVariable long id) {
+        return reactiveRecipeService.findById(id)
+                .map(response -> ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response)));
+    }
+
+    /**
+     * Streams all recipes
+     *
+     * @return Recipe data as newline delimited JSON
+     */
+    @GetMapping(value = "/recipes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RecipeResponse> findAll() {
+        return reactiveRecipeService.findAll();
+    }
+
+    /**
+     * Streams the recipes matching the given recipe and ingredient parameters
+     *
+     * @param request
+     * @return Recipe data as newline delimited JSON
+     */
+    @GetMapping(value = "/recipes/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RecipeResponse> search(@Valid @RequestBody RecipeSearchRequest request) {
+        return reactiveRecipeService.search(request);
+    }
+}
@@ -1,24 +1,37 @@
 package com.github.yildizmy.controller;
 
+import com.github.yildizmy.common.ExportFormat;
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.ResponseFormat;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.dto.request.RecipeRequest;
 import com.github.yildizmy.dto.request.RecipeSearchRequest;
 import com.github.yildizmy.dto.response.ApiResponse;
 import com.github.yildizmy.dto.response.CommandResponse;
+import com.github.yildizmy.dto.response.RecipeImportResponse;
 import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.service.RecipeExportService;
+import com.github.yildizmy.service.RecipeImportService;
 import com.github.yildizmy.service.RecipeService;
 import com.github.yildizmy.validator.ValidIngredient;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import java.io.InputStream;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import static com.github.yildizmy.common.Constants.NOT_VALIDATED_INGREDIENT;
 import static com.github.yildizmy.common.Constants.SUCCESS;
@@ -31,28 +44,47 @@ public class RecipeController {
 
     private final Clock clock;
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+    private final RecipeExportService recipeExportService;
 
     /**
      * Fetches recipe by id
      *
      * @param id
+     * @param fields     comma separated fields of the response, all the fields if not given
+     * @param webRequest
      * @return A single recipe
      */
     @GetMapping("/recipes/{id}")
-    public ResponseEntity<ApiResponse<RecipeResponse>> findById(@PathVariable long id) {
-        final RecipeResponse response = recipeService.findById(id);
-        return ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
+    public ResponseEntity<ApiResponse<RecipeResponse>> findById(@PathVariable long id,
+                                                                @RequestParam(required = false) Set<String> fields,
+                                                                WebRequest webRequest) {
+        final Set<RecipeField> selected = RecipeField.of(fields);
+        String version = recipeService.findVersionById(id).toString();
+        if (!selected.equals(RecipeField.ALL)) {
+            version += "." + selected.stream().mapToInt(field -> 1 << field.ordinal()).sum();
+        }
+        final String eTag = ResponseFormat.of(webRequest).eTag(version);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        final RecipeResponse response = recipeService.findById(id, selected);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
     }
 
     /**
      * Fetches all recipes based on the given recipe filter parameters
      *
      * @param request
+     * @param fields  comma separated fields of the responses, all the fields if not given
      * @return Paginated recipe data
      */
     @GetMapping("/recipes")
-    public ResponseEntity<ApiResponse<Page<RecipeResponse>>> findAll(@RequestBody SearchRequest request) {
-        final Page<RecipeResponse> response = recipeService.findAll(request);
+    public ResponseEntity<ApiResponse<Slice<RecipeResponse>>> findAll(@RequestBody SearchRequest request,
+                                                                      @RequestParam(required = false) Set<String> fields) {
+        final Slice<RecipeResponse> response = recipeService.findAll(request, RecipeField.of(fields));
         return ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
     }
 
@@ -60,14 +92,35 @@ public class RecipeController {
      * Search recipes based on the given recipe and ingredient parameters
      *
      * @param request
-     * @return Recipe list
+     * @param fields  comma separated fields of the responses, all the fields if not given
+     * @return Paginated recipe data
      */
     @GetMapping("/recipes/search")
-    public ResponseEntity<ApiResponse<List<RecipeResponse>>> search(@RequestBody RecipeSearchRequest request) {
-        final List<RecipeResponse> response = recipeService.search(request);
+    public ResponseEntity<ApiResponse<Slice<RecipeResponse>>> search(@Valid @RequestBody RecipeSearchRequest request,
+                                                                     @RequestParam(required = false) Set<String> fields) {
+        final Slice<RecipeResponse> response = recipeService.search(request, RecipeField.of(fields));
         return ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
     }
 
+    /**
+     * Exports the recipes matching the given filter parameters as NDJSON or CSV. The response is streamed
+     * while the recipes are read from the database, so the whole catalog can be exported in a single request.
+     *
+     * @param request
+     * @param format
+     * @return Streamed recipe data
+     */
+    @GetMapping("/recipes/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestBody(required = false) SearchRequest request,
+                                                        @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        final SearchRequest searchRequest = Objects.requireNonNullElseGet(request, SearchRequest::new);
+        final StreamingResponseBody body = output -> recipeExportService.export(searchRequest, format, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=recipes." + format.getExtension())
+                .body(body);
+    }
+
     /**
      * Creates a new recipe
      *
@@ -82,6 +135,21 @@ public class RecipeController {
                 .body(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
     }
 
+    /**
+     * Imports recipes in bulk from a JSON array or newline delimited JSON (one recipe per line).
+     * The payload is read as a stream and the recipes are committed in batches.
+     *
+     * @param input
+     * @param batchSize number of recipes committed per transaction
+     * @return Number of imported recipes and the failed recipes
+     */
+    @PostMapping(value = "/recipes/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<RecipeImportResponse>> importRecipes(
+            InputStream input, @RequestParam(required = false) @Positive Integer batchSize) {
+        final RecipeImportResponse response = recipeImportService.importRecipes(input, batchSize);
+        return ResponseEntity.ok(new ApiResponse<>(Instant.now(clock).toEpochMilli(), SUCCESS, response));
+    }
+
     /**
      * Updates given recipe
      *
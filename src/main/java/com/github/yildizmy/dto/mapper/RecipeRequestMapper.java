@@ -5,6 +5,7 @@ import com.github.yildizmy.model.Recipe;
 import org.apache.commons.text.WordUtils;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 
@@ -16,6 +17,8 @@ public interface RecipeRequestMapper {
 
     RecipeRequestMapper MAPPER = Mappers.getMapper(RecipeRequestMapper.class);
 
+    // recipe ingredients are resolved and added by the service
+    @Mapping(target = "recipeIngredients", ignore = true)
     Recipe toEntity(RecipeRequest dto);
 
     RecipeRequest toDto(Recipe entity);
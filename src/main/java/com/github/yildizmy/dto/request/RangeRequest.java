@@ -0,0 +1,48 @@
+package com.github.yildizmy.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for an inclusive range of numbers. Either bound can be omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeRequest {
+
+    @PositiveOrZero
+    private Integer min;
+
+    @PositiveOrZero
+    private Integer max;
+
+    /**
+     * Creates a range matching a single number, so that a number can be given instead of a range
+     *
+     * @param value
+     * @return Range whose bounds are the given number
+     */
+    @JsonCreator
+    public static RangeRequest of(int value) {
+        return new RangeRequest(value, value);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return Objects.isNull(min) && Objects.isNull(max);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "min must not be greater than max")
+    public boolean isOrdered() {
+        return Objects.isNull(min) || Objects.isNull(max) || min <= max;
+    }
+}
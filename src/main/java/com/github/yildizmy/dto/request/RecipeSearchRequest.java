@@ -1,9 +1,26 @@
 package com.github.yildizmy.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.yildizmy.common.filter.SortDirection;
+import com.github.yildizmy.common.filter.SortRequest;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.github.yildizmy.common.Constants.MAX_PAGE_SIZE;
+import static com.github.yildizmy.common.Constants.SORT_BY_ID;
+
 /**
  * Data Transfer Object for Recipe search
  */
@@ -12,28 +29,133 @@ import org.apache.commons.lang3.StringUtils;
 public class RecipeSearchRequest {
 
     private Boolean isVegetarian;
-    private Integer servings;
-    private String ingredientIn;
-    private String ingredientEx;
+
+    /**
+     * Range of the servings. A single number is also accepted.
+     */
+    @Valid
+    private RangeRequest servings;
+
+    /**
+     * Range of the preparation time. A single number is also accepted.
+     */
+    @Valid
+    private RangeRequest prepTime;
+
+    /**
+     * Range of the cooking time. A single number is also accepted.
+     */
+    @Valid
+    private RangeRequest cookTime;
+
+    /**
+     * Difficulties of which the recipe must have one. A single value is also accepted.
+     */
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private Set<Difficulty> difficulties;
+
+    /**
+     * Health labels of which the recipe must have one. A single value is also accepted.
+     */
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private Set<HealthLabel> healthLabels;
+
+    /**
+     * Ingredients that all must be used by the recipe. A single name is also accepted.
+     */
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private List<String> ingredientIn;
+
+    /**
+     * Ingredients that none may be used by the recipe. A single name is also accepted.
+     */
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private List<String> ingredientEx;
+
     private String text;
 
+    /**
+     * Sorts applied in the given order. The results are sorted by the text rank (if text is given) and
+     * then by id by default, and the id is always the last sort key so that the pages are stable.
+     */
+    private List<SortRequest> sorts;
+
+    @PositiveOrZero
+    private Integer page;
+
+    @Positive
+    @Max(MAX_PAGE_SIZE)
+    private Integer size;
+
     public Boolean getIsVegetarian() {
         return isVegetarian;
     }
 
-    public Integer getServings() {
-        return servings;
+    public RangeRequest getServings() {
+        return Objects.isNull(servings) || servings.isEmpty() ? null : servings;
+    }
+
+    public RangeRequest getPrepTime() {
+        return Objects.isNull(prepTime) || prepTime.isEmpty() ? null : prepTime;
     }
 
-    public String getIngredientIn() {
-        return StringUtils.isBlank(ingredientIn) ? null : ingredientIn;
+    public RangeRequest getCookTime() {
+        return Objects.isNull(cookTime) || cookTime.isEmpty() ? null : cookTime;
     }
 
-    public String getIngredientEx() {
-        return StringUtils.isBlank(ingredientEx) ? null : ingredientEx;
+    public Set<Difficulty> getDifficulties() {
+        if (Objects.isNull(difficulties)) return Set.of();
+        return difficulties;
+    }
+
+    public Set<HealthLabel> getHealthLabels() {
+        if (Objects.isNull(healthLabels)) return Set.of();
+        return healthLabels;
+    }
+
+    public List<String> getIngredientIn() {
+        return nonBlank(ingredientIn);
+    }
+
+    public List<String> getIngredientEx() {
+        return nonBlank(ingredientEx);
     }
 
     public String getText() {
         return StringUtils.isBlank(text) ? null : text;
     }
+
+    public List<SortRequest> getSorts() {
+        if (Objects.isNull(sorts)) return List.of();
+        return sorts;
+    }
+
+    /**
+     * Checks if any recipe parameter is given besides the ingredients
+     *
+     * @return true if the recipe table has to be queried
+     */
+    @JsonIgnore
+    public boolean hasRecipeFilters() {
+        return Objects.nonNull(getIsVegetarian()) || Objects.nonNull(getServings()) || Objects.nonNull(getPrepTime())
+                || Objects.nonNull(getCookTime()) || !getDifficulties().isEmpty() || !getHealthLabels().isEmpty()
+                || Objects.nonNull(getText());
+    }
+
+    /**
+     * Checks if the results are requested in the ascending order of their ids, which is the default order
+     * when no text is given
+     *
+     * @return true if no other sort is requested
+     */
+    @JsonIgnore
+    public boolean isSortedById() {
+        return Objects.isNull(getText()) && getSorts().stream().allMatch(sort -> SORT_BY_ID.equals(sort.getKey())
+                && sort.getDirection() != SortDirection.DESC);
+    }
+
+    private static List<String> nonBlank(List<String> values) {
+        if (Objects.isNull(values)) return List.of();
+        return values.stream().filter(StringUtils::isNotBlank).toList();
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.yildizmy.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.yildizmy.model.Category;
 import lombok.Data;
 
@@ -13,9 +14,20 @@ public class CategoryResponse {
     private String name;
     private int ordinal;
 
+    // only used as the ETag of the response
+    @JsonIgnore
+    private long version;
+
+    public CategoryResponse(Long id, String name, int ordinal) {
+        this.id = id;
+        this.name = name;
+        this.ordinal = ordinal;
+    }
+
     public CategoryResponse(Category category) {
         this.id = category.getId();
         this.name = category.getName();
+        this.version = category.getVersion();
         this.ordinal = category.getOrdinal();
     }
 }
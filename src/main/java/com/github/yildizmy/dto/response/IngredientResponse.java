@@ -1,5 +1,6 @@
 package com.github.yildizmy.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.yildizmy.model.Ingredient;
 import lombok.Data;
 
@@ -12,8 +13,18 @@ public class IngredientResponse {
     private Long id;
     private String name;
 
+    // only used as the ETag of the response
+    @JsonIgnore
+    private long version;
+
+    public IngredientResponse(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
     public IngredientResponse(Ingredient ingredient) {
         this.id = ingredient.getId();
         this.name = ingredient.getName();
+        this.version = ingredient.getVersion();
     }
 }
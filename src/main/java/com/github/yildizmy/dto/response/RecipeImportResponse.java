@@ -0,0 +1,29 @@
+package com.github.yildizmy.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the result of a bulk recipe import. Successfully imported recipes are only counted,
+ * while the first failed recipes are listed with their position in the imported payload.
+ */
+@Value
+@Builder
+public class RecipeImportResponse {
+
+    long total;
+    long imported;
+    long failed;
+    List<Failure> failures;
+
+    /**
+     * Failure of a single recipe of the imported payload
+     */
+    @Value
+    public static class Failure {
+        long index;
+        String message;
+    }
+}
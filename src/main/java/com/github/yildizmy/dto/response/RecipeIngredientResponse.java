@@ -1,9 +1,11 @@
 package com.github.yildizmy.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.yildizmy.model.RecipeIngredient;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 /**
  * Data Transfer Object for RecipeIngredient response
@@ -16,10 +18,23 @@ public class RecipeIngredientResponse {
     private BigDecimal amount;
     private String unitName;
 
+    // only used for grouping the ingredients of several recipes fetched by a single query
+    @JsonIgnore
+    private Long recipeId;
+
+    public RecipeIngredientResponse(Long recipeId, Long id, String ingredientName, BigDecimal amount, String unitName) {
+        this.recipeId = recipeId;
+        this.id = id;
+        this.ingredientName = ingredientName;
+        this.amount = amount;
+        this.unitName = unitName;
+    }
+
     public RecipeIngredientResponse(RecipeIngredient recipeIngredient) {
         this.id = recipeIngredient.getIngredient().getId();
         this.ingredientName = recipeIngredient.getIngredient().getName();
         this.amount = recipeIngredient.getAmount();
-        this.unitName = recipeIngredient.getUnit().getName();
+        // the unit is optional, e.g. for "2 Eggs"
+        this.unitName = Objects.isNull(recipeIngredient.getUnit()) ? null : recipeIngredient.getUnit().getName();
     }
 }
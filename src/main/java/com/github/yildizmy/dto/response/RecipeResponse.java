@@ -1,14 +1,22 @@
 package com.github.yildizmy.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
 import com.github.yildizmy.model.Recipe;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Transfer Object for Recipe response
  */
 @Data
+@NoArgsConstructor
 public class RecipeResponse {
 
     private Long id;
@@ -23,6 +31,26 @@ public class RecipeResponse {
     private CategoryResponse category;
     private List<RecipeIngredientResponse> ingredients;
 
+    // only the selected fields are read from the database and serialized (see RecipeFieldsModule)
+    @JsonIgnore
+    private Set<RecipeField> fields = RecipeField.ALL;
+
+    public RecipeResponse(Long id, String title, String description, Integer prepTime, Integer cookTime,
+                          Integer servings, String instructions, Difficulty difficulty, HealthLabel healthLabel,
+                          Long categoryId, String categoryName, Integer categoryOrdinal) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.prepTime = prepTime;
+        this.cookTime = cookTime;
+        this.servings = servings;
+        this.instructions = instructions;
+        this.difficulty = difficulty.getLabel();
+        this.healthLabel = healthLabel.getLabel();
+        this.category = categoryId == null ? null : new CategoryResponse(categoryId, categoryName, categoryOrdinal);
+        this.ingredients = new ArrayList<>();
+    }
+
     public RecipeResponse(Recipe recipe, CategoryResponse category, List<RecipeIngredientResponse> ingredients) {
         this.id = recipe.getId();
         this.title = recipe.getTitle();
@@ -1,5 +1,6 @@
 package com.github.yildizmy.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.yildizmy.model.Unit;
 import lombok.Data;
 
@@ -12,8 +13,18 @@ public class UnitResponse {
     private Long id;
     private String name;
 
+    // only used as the ETag of the response
+    @JsonIgnore
+    private long version;
+
+    public UnitResponse(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
     public UnitResponse(Unit unit) {
         this.id = unit.getId();
         this.name = unit.getName();
+        this.version = unit.getVersion();
     }
 }
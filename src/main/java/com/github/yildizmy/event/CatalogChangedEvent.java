@@ -0,0 +1,8 @@
+package com.github.yildizmy.event;
+
+/**
+ * Event published when a category, ingredient or unit is deleted. These deletions cascade to the recipes
+ * or recipe ingredients referencing them, so any number of recipes may have changed.
+ */
+public record CatalogChangedEvent() {
+}
@@ -0,0 +1,10 @@
+package com.github.yildizmy.event;
+
+/**
+ * Event published when an ingredient is renamed
+ *
+ * @param previousName name of the ingredient before the update
+ * @param name         name of the ingredient after the update
+ */
+public record IngredientRenamedEvent(String previousName, String name) {
+}
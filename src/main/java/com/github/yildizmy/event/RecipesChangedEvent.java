@@ -0,0 +1,11 @@
+package com.github.yildizmy.event;
+
+import java.util.Collection;
+
+/**
+ * Event published when recipes are created or deleted, or when ingredients are added to or removed from them
+ *
+ * @param recipeIds ids of the changed recipes
+ */
+public record RecipesChangedEvent(Collection<Long> recipeIds) {
+}
@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -83,6 +85,52 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
     }
 
+    /**
+     * Handles InvalidRequestException
+     *
+     * @param ex
+     * @param request
+     * @return ResponseEntity<Object> with detailed information related to the error
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Object> handleInvalidRequestException(InvalidRequestException ex, WebRequest request) {
+        log.error(INVALID_REQUEST, ex);
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+    }
+
+    /**
+     * Handles ObjectOptimisticLockingFailureException thrown when the version of an updated entity was
+     * incremented by a concurrent request
+     *
+     * @param ex
+     * @param request
+     * @return ResponseEntity<Object> with detailed information related to the error
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Object> handleObjectOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex,
+                                                                                WebRequest request) {
+        log.warn(CONCURRENT_UPDATE, ex);
+        return buildErrorResponse(ex, CONCURRENT_UPDATE, HttpStatus.CONFLICT, request);
+    }
+
+    /**
+     * Handles CannotCreateTransactionException thrown when no database connection could be obtained in time,
+     * which means that the service is overloaded rather than failing
+     *
+     * @param ex
+     * @param request
+     * @return ResponseEntity<Object> with detailed information related to the error
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<Object> handleCannotCreateTransactionException(CannotCreateTransactionException ex,
+                                                                         WebRequest request) {
+        log.warn(SERVICE_UNAVAILABLE, ex);
+        return buildErrorResponse(ex, SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     /**
      * Handles all the uncaught exceptions that cannot be caught by the previous methods
      *
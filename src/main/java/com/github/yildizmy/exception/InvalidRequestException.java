@@ -0,0 +1,19 @@
+package com.github.yildizmy.exception;
+
+/**
+ * Custom exception class used when the given filter or paging parameters are not valid
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException() {
+        super();
+    }
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -18,9 +20,14 @@ import java.util.Objects;
 public class Recipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "recipe_seq", allocationSize = 50)
     private Long id;
 
+    // also incremented when the ingredients of the recipe change (see RecipeRepository.findForVersionIncrementById)
+    @Version
+    private long version;
+
     @Column(nullable = false, length = 50)
     private String title;
 
@@ -49,6 +56,8 @@ public class Recipe {
     @JoinColumn(name = "category_id", referencedColumnName = "id")
     private Category category;
 
+    // evicted when a recipe ingredient is saved or deleted ('hibernate.cache.auto_evict_collection_cache')
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-ingredients")
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RecipeIngredient> recipeIngredients = new ArrayList<>();
 
@@ -1,12 +1,27 @@
 package com.github.yildizmy.repository;
 
 import com.github.yildizmy.model.Category;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
+import static com.github.yildizmy.common.Constants.CACHE_CATEGORIES;
+import static com.github.yildizmy.common.Constants.CACHE_CATEGORY_NAMES;
+
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
+public interface CategoryRepository extends SearchRepository<Category, Long> {
 
+    @Cacheable(cacheNames = CACHE_CATEGORY_NAMES, key = "#p0.toLowerCase()")
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Cached variant of findById used for the reference data lookups of recipes.
+     * The returned entity is shared between callers and must not be modified.
+     *
+     * @param id
+     * @return
+     */
+    @Cacheable(cacheNames = CACHE_CATEGORIES, unless = "#result == null")
+    Optional<Category> findCachedById(Long id);
 }
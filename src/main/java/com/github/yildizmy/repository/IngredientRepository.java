@@ -1,12 +1,48 @@
 package com.github.yildizmy.repository;
 
 import com.github.yildizmy.model.Ingredient;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.yildizmy.common.Constants.CACHE_INGREDIENTS;
+import static com.github.yildizmy.common.Constants.CACHE_INGREDIENT_NAMES;
+
 @Repository
-public interface IngredientRepository extends JpaRepository<Ingredient, Long>, JpaSpecificationExecutor<Ingredient> {
+public interface IngredientRepository extends SearchRepository<Ingredient, Long> {
+
+    /**
+     * Returns whether an ingredient has the given name ignoring case. Names are compared in lower case
+     * so that the lookup uses the lower(name) index instead of the upper() of the derived query.
+     *
+     * @param name
+     * @return
+     */
+    @Cacheable(cacheNames = CACHE_INGREDIENT_NAMES, key = "#p0.toLowerCase()")
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN true ELSE false END FROM Ingredient i WHERE LOWER(i.name) = LOWER(:name)")
+    boolean existsByNameIgnoreCase(@Param("name") String name);
+
+    /**
+     * Cached variant of findById used for the reference data lookups of recipes.
+     * The returned entity is shared between callers and must not be modified.
+     *
+     * @param id
+     * @return
+     */
+    @Cacheable(cacheNames = CACHE_INGREDIENTS, unless = "#result == null")
+    Optional<Ingredient> findCachedById(Long id);
 
-    boolean existsByNameIgnoreCase(String name);
+    /**
+     * Returns the names of the ingredients matching any of the given lower case names
+     *
+     * @param names
+     * @return
+     */
+    @Query("SELECT i.name FROM Ingredient i WHERE LOWER(i.name) IN :names")
+    List<String> findNamesByLowerNameIn(@Param("names") Collection<String> names);
 }
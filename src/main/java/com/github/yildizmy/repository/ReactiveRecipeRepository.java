@@ -0,0 +1,108 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non-blocking repository of the reactive read API, which reads the same tables as the JPA repositories by
+ * R2DBC. The rows are emitted as they are requested by the subscriber, so that a large result is not buffered.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRecipeRepository {
+
+    private static final String RESPONSE_QUERY = "SELECT r.id, r.title, r.description, r.prep_time, r.cook_time, "
+            + "r.servings, r.instructions, r.difficulty, r.health_label, c.id AS category_id, "
+            + "c.name AS category_name, c.ordinal AS category_ordinal "
+            + "FROM recipe r LEFT JOIN category c ON c.id = r.category_id WHERE r.id IN (:ids)";
+    private static final String INGREDIENT_RESPONSE_QUERY = "SELECT ri.recipe_id, i.id, i.name, ri.amount, "
+            + "u.name AS unit_name FROM recipe_ingredient ri JOIN ingredient i ON i.id = ri.ingredient_id "
+            + "LEFT JOIN unit u ON u.id = ri.unit_id WHERE ri.recipe_id IN (:ids)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Selects the sort keys of a chunk of the recipes selected by the given search query. Each chunk is read by
+     * its own query starting after the last recipe of the previous chunk, so that the connection is returned to
+     * the pool before the responses of the chunk are selected.
+     *
+     * @param searchQuery
+     * @param after       sort keys of the last recipe of the previous chunk, or null for the first chunk
+     * @param offset      number of recipes skipped
+     * @param limit       maximum number of recipes
+     * @return Sort keys of each recipe in the order of the query, the last one being the id of the recipe
+     */
+    public Flux<List<Object>> searchKeys(RecipeSearchQuery searchQuery, List<Object> after, int offset, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql(searchQuery.getKeysetSql(after) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset);
+        for (var parameter : searchQuery.getKeysetParameters(after).entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map((row, metadata) -> {
+                    final int count = metadata.getColumnMetadatas().size();
+                    // sort keys may be null
+                    final List<Object> keys = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        keys.add(row.get(i));
+                    }
+                    return keys;
+                })
+                .all();
+    }
+
+    /**
+     * Selects the responses of the given recipes with their category and without their ingredients
+     *
+     * @param ids
+     * @return Recipe responses in no particular order
+     */
+    public Flux<RecipeResponse> findResponsesByIdIn(Collection<Long> ids) {
+        return databaseClient.sql(RESPONSE_QUERY)
+                .bind("ids", ids)
+                .map(row -> new RecipeResponse(
+                        row.get("id", Long.class),
+                        row.get("title", String.class),
+                        row.get("description", String.class),
+                        row.get("prep_time", Integer.class),
+                        row.get("cook_time", Integer.class),
+                        row.get("servings", Integer.class),
+                        row.get("instructions", String.class),
+                        Difficulty.valueOf(row.get("difficulty", String.class)),
+                        HealthLabel.valueOf(row.get("health_label", String.class)),
+                        row.get("category_id", Long.class),
+                        row.get("category_name", String.class),
+                        row.get("category_ordinal", Integer.class)))
+                .all();
+    }
+
+    /**
+     * Selects the ingredient responses of the given recipes
+     *
+     * @param ids
+     * @return Ingredient responses referencing their recipe, in no particular order
+     */
+    public Flux<RecipeIngredientResponse> findIngredientResponsesByRecipeIdIn(Collection<Long> ids) {
+        return databaseClient.sql(INGREDIENT_RESPONSE_QUERY)
+                .bind("ids", ids)
+                .map(row -> new RecipeIngredientResponse(
+                        row.get("recipe_id", Long.class),
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("amount", BigDecimal.class),
+                        row.get("unit_name", String.class)))
+                .all();
+    }
+}
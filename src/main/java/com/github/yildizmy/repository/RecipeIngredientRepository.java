@@ -2,9 +2,18 @@ package com.github.yildizmy.repository;
 
 import com.github.yildizmy.model.RecipeIngredient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
@@ -12,4 +21,11 @@ public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredie
     Optional<RecipeIngredient> findByRecipeIdAndIngredientId(Long recipeId, Long ingredientId);
 
     boolean existsByRecipeIdAndIngredientId(Long recipeId, Long ingredientId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT ri.recipe.id, i.name FROM RecipeIngredient ri JOIN ri.ingredient i")
+    Stream<Object[]> streamRecipeIdAndIngredientName();
+
+    @Query("SELECT ri.recipe.id, i.name FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.recipe.id IN :recipeIds")
+    List<Object[]> findRecipeIdAndIngredientNameByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
 }
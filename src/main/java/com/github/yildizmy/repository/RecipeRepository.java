@@ -1,35 +1,59 @@
 package com.github.yildizmy.repository;
 
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
 import com.github.yildizmy.model.Recipe;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
-
-    @Query(value = "SELECT DISTINCT r.id, r.title, r.description, r.prep_time, " +
-            "r.cook_time, r.servings, r.instructions, r.difficulty, r.health_label, r.category_id " +
-            "FROM Recipe r " +
-            "LEFT JOIN category c ON r.category_id = c.id " +
-            "LEFT JOIN recipe_ingredient ri ON r.id = ri.recipe_id " +
-            "LEFT JOIN ingredient i ON ri.ingredient_id = i.id " +
-            "LEFT JOIN unit u ON ri.unit_id = u.id " +
-            "WHERE (:isVegetarian IS NULL OR :isVegetarian IS FALSE OR r.health_label = 'VEGETARIAN') " +
-            "AND (:isVegetarian IS NULL OR :isVegetarian IS true OR r.health_label <> 'VEGETARIAN') " +
-            "AND (:servings IS NULL OR r.servings = :servings) " +
-            "AND (:ingredientIn IS NULL OR lower(i.name) = lower(:ingredientIn)) " +
-            "AND (:ingredientEx IS NULL OR r.id NOT IN (SELECT DISTINCT ri2.recipe_id FROM recipe_ingredient ri2, ingredient i2 " +
-            "WHERE ri2.ingredient_id = i2.id and lower(i2.name) = lower(:ingredientEx))) " +
-            "AND (:text IS NULL OR to_tsvector(r.instructions) @@ to_tsquery(:text)) " +
-            "ORDER BY r.id", nativeQuery = true)
-    List<Recipe> search(@Param("isVegetarian") Boolean isVegetarian,
-                        @Param("servings") Integer servings,
-                        @Param("ingredientIn") String ingredientIn,
-                        @Param("ingredientEx") String ingredientEx,
-                        @Param("text") String text);
+public interface RecipeRepository extends SearchRepository<Recipe, Long>, RecipeRepositoryCustom {
+
+    @EntityGraph(attributePaths = {"category", "recipeIngredients.ingredient", "recipeIngredients.unit"})
+    List<Recipe> findAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.github.yildizmy.dto.response.RecipeIngredientResponse(ri.recipe.id, i.id, i.name, ri.amount, u.name) " +
+            "FROM RecipeIngredient ri JOIN ri.ingredient i LEFT JOIN ri.unit u WHERE ri.recipe.id IN :ids")
+    List<RecipeIngredientResponse> findIngredientResponsesByRecipeIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id FROM Recipe r")
+    Stream<Long> streamAllIds();
+
+    @Query("SELECT r.id FROM Recipe r WHERE r.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Fetches the versions of the recipe, its category, ingredients and units without loading them
+     *
+     * @param id
+     * @return
+     */
+    @Query("SELECT new com.github.yildizmy.repository.RecipeVersion(r.version, c.version, COUNT(i), " +
+            "COALESCE(SUM(i.version), 0L), COALESCE(SUM(u.version), 0L)) " +
+            "FROM Recipe r LEFT JOIN r.category c LEFT JOIN r.recipeIngredients ri " +
+            "LEFT JOIN ri.ingredient i LEFT JOIN ri.unit u WHERE r.id = :id GROUP BY r.version, c.version")
+    Optional<RecipeVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Fetches the recipe whose version is incremented when the transaction commits, as its ingredients are changed.
+     * Unlike a bulk update, this does not evict the second-level and query caches of the recipes.
+     *
+     * @param id
+     * @return
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<Recipe> findForVersionIncrementById(Long id);
 }
@@ -0,0 +1,73 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.CursorSlice;
+import com.github.yildizmy.common.filter.SearchSpecification;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.Recipe;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom query methods for RecipeRepository that cannot be derived by Spring Data
+ */
+public interface RecipeRepositoryCustom {
+
+    /**
+     * Fetches a page of recipe ids matching the given specification without loading the recipes
+     *
+     * @param specification
+     * @param pageable
+     * @param countMode     how the total number of recipes is found out
+     * @return Paginated recipe ids in the order defined by the specification
+     */
+    Slice<Long> findAllIds(Specification<Recipe> specification, Pageable pageable, CountMode countMode);
+
+    /**
+     * Fetches a cursor slice of recipe ids matching the given specification without loading the recipes. The
+     * sort keys are selected along with the ids, so that the cursor of the next slice is built without loading
+     * the recipes and their associations.
+     *
+     * @param specification specification of a request in cursor mode
+     * @return Recipe ids in the order defined by the specification
+     */
+    CursorSlice<Long> findAllIds(SearchSpecification<Recipe> specification);
+
+    /**
+     * Streams the ids of the recipes matching the given specification from a forward-only cursor.
+     * The stream must be consumed within a transaction and closed after use.
+     *
+     * @param specification
+     * @param fetchSize number of rows fetched from the database per round-trip
+     * @return Recipe ids in the order defined by the specification
+     */
+    Stream<Long> streamIds(Specification<Recipe> specification, int fetchSize);
+
+    /**
+     * Streams the ids of the recipes matching the given search query, which is composed of the given
+     * parameters of a search request only. The stream must be consumed within a transaction and closed after use.
+     *
+     * @param searchQuery
+     * @param offset number of ids skipped
+     * @param limit  maximum number of ids, or 0 to stream all the ids
+     * @return Recipe ids in the requested order
+     */
+    Stream<Long> searchIds(RecipeSearchQuery searchQuery, int offset, int limit);
+
+    /**
+     * Fetches the responses of the given recipes by selecting only the columns of the given fields. The category
+     * is joined only if it is selected, and the ingredients are not fetched, as they are read by a separate query.
+     *
+     * @param ids
+     * @param fields selected fields of the responses
+     * @return Recipe responses without ingredients, in no particular order
+     */
+    List<RecipeResponse> findResponsesByIdIn(Collection<Long> ids, Set<RecipeField> fields);
+}
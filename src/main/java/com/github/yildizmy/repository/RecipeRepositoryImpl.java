@@ -0,0 +1,168 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.CursorSlice;
+import com.github.yildizmy.common.filter.SearchSpecification;
+import com.github.yildizmy.dto.response.CategoryResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.Category;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import com.github.yildizmy.model.Recipe;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the custom query methods used by RecipeRepository
+ */
+public class RecipeRepositoryImpl implements RecipeRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Long> findAllIds(Specification<Recipe> specification, Pageable pageable, CountMode countMode) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<Recipe> root = query.from(Recipe.class);
+        query.select(root.get("id")).where(specification.toPredicate(root, query, cb));
+
+        final List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(countMode.getLimit(pageable))
+                .getResultList();
+        return countMode.toSlice(ids, pageable, () -> count(specification),
+                () -> TableStatistics.estimateRowCount(entityManager, Recipe.class));
+    }
+
+    @Override
+    public CursorSlice<Long> findAllIds(SearchSpecification<Recipe> specification) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Recipe> root = query.from(Recipe.class);
+        final Predicate predicate = specification.toPredicate(root, query, cb);
+        // the id is followed by the sort keys, which reuse the joins of the predicate and order
+        final List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        selections.addAll(specification.getSortKeys(root));
+        query.multiselect(selections).where(predicate);
+
+        final List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(specification.getLimit())
+                .getResultList();
+        return specification.toSlice(rows, row -> Arrays.asList(row.toArray()).subList(1, selections.size()))
+                .map(row -> row.get(0, Long.class));
+    }
+
+    @Override
+    public Stream<Long> streamIds(Specification<Recipe> specification, int fetchSize) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<Recipe> root = query.from(Recipe.class);
+        query.select(root.get("id")).where(specification.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<Long> searchIds(RecipeSearchQuery searchQuery, int offset, int limit) {
+        final Query query = entityManager.createNativeQuery(searchQuery.getSql())
+                .setHint(QueryHints.HINT_FETCH_SIZE, limit > 0 ? limit : STREAM_FETCH_SIZE)
+                .setFirstResult(offset);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        searchQuery.getParameters().forEach(query::setParameter);
+        final Stream<?> ids = query.getResultStream();
+        return ids.map(id -> ((Number) id).longValue());
+    }
+
+    @Override
+    public List<RecipeResponse> findResponsesByIdIn(Collection<Long> ids, Set<RecipeField> fields) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Recipe> root = query.from(Recipe.class);
+        final List<Selection<?>> selections = new ArrayList<>();
+        for (RecipeField field : fields) {
+            switch (field) {
+                case INGREDIENTS -> {
+                    // fetched by findIngredientResponsesByRecipeIdIn
+                }
+                case CATEGORY -> {
+                    final Join<Recipe, Category> category = root.join("category", JoinType.LEFT);
+                    selections.add(category.get("id"));
+                    selections.add(category.get("name"));
+                    selections.add(category.get("ordinal"));
+                }
+                default -> selections.add(root.get(field.getProperty()));
+            }
+        }
+        query.multiselect(selections).where(root.get("id").in(ids));
+        return entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .map(row -> toResponse(row, fields))
+                .toList();
+    }
+
+    /**
+     * Builds the response of a row selected by {@link #findResponsesByIdIn(Collection, Set)}, whose columns are
+     * in the order of the given fields
+     *
+     * @param row
+     * @param fields
+     * @return Recipe response with the given fields
+     */
+    private static RecipeResponse toResponse(Tuple row, Set<RecipeField> fields) {
+        final RecipeResponse response = new RecipeResponse();
+        response.setFields(fields);
+        int i = 0;
+        for (RecipeField field : fields) {
+            switch (field) {
+                case ID -> response.setId(row.get(i++, Long.class));
+                case TITLE -> response.setTitle(row.get(i++, String.class));
+                case DESCRIPTION -> response.setDescription(row.get(i++, String.class));
+                case PREP_TIME -> response.setPrepTime(row.get(i++, Integer.class));
+                case COOK_TIME -> response.setCookTime(row.get(i++, Integer.class));
+                case SERVINGS -> response.setServings(row.get(i++, Integer.class));
+                case INSTRUCTIONS -> response.setInstructions(row.get(i++, String.class));
+                case DIFFICULTY -> response.setDifficulty(row.get(i++, Difficulty.class).getLabel());
+                case HEALTH_LABEL -> response.setHealthLabel(row.get(i++, HealthLabel.class).getLabel());
+                case CATEGORY -> {
+                    final Long id = row.get(i, Long.class);
+                    response.setCategory(id == null ? null
+                            : new CategoryResponse(id, row.get(i + 1, String.class), row.get(i + 2, Integer.class)));
+                    i += 3;
+                }
+                case INGREDIENTS -> response.setIngredients(new ArrayList<>());
+            }
+        }
+        return response;
+    }
+
+    private long count(Specification<Recipe> specification) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<Recipe> root = query.from(Recipe.class);
+        query.select(cb.count(root)).where(specification.toPredicate(root, query, cb));
+        // the specification also applies sorting which is not needed for counting
+        query.orderBy(Collections.emptyList());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
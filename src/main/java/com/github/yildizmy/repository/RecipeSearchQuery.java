@@ -0,0 +1,317 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.filter.SortDirection;
+import com.github.yildizmy.common.filter.SortRequest;
+import com.github.yildizmy.dto.request.RangeRequest;
+import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.exception.InvalidRequestException;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.github.yildizmy.common.Constants.INVALID_SORT;
+import static com.github.yildizmy.common.Constants.SORT_BY_ID;
+
+/**
+ * Native query selecting the ids of the recipes matching the parameters of a search request. Only the
+ * predicates of the given parameters are added to the query, instead of passing null for the missing ones,
+ * so that each combination of parameters gets its own plan that can use the indexes of the filtered columns.
+ * <p>
+ * Ingredient parameters are resolved by RecipeIngredientIndex unless it is disabled. Otherwise they are
+ * added as correlated EXISTS / NOT EXISTS subqueries, which are planned as semi / anti joins, so the recipes
+ * are neither multiplied by their ingredients nor deduplicated by a DISTINCT.
+ * <p>
+ * The same query can also be read in chunks by keyset pagination (see getKeysetSql), each chunk starting after
+ * the sort keys of the last recipe of the previous one, so that no cursor is kept open between the chunks.
+ */
+@Getter
+public class RecipeSearchQuery {
+
+    private static final String RANK = "rank";
+    private static final String TEXT_QUERY = "to_tsquery('english', :text)";
+    private static final String INGREDIENT_QUERY = "SELECT 1 FROM recipe_ingredient ri "
+            + "JOIN ingredient i ON i.id = ri.ingredient_id WHERE ri.recipe_id = r.id AND lower(i.name)";
+
+    /**
+     * Columns of the sort keys. Difficulties are sorted by their order instead of their names.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            SORT_BY_ID, "r.id",
+            "title", "r.title",
+            "prepTime", "r.prep_time",
+            "cookTime", "r.cook_time",
+            "servings", "r.servings",
+            "difficulty", Arrays.stream(Difficulty.values())
+                    .map(difficulty -> "WHEN '" + difficulty.name() + "' THEN " + difficulty.ordinal())
+                    .collect(Collectors.joining(" ", "CASE r.difficulty ", " END")));
+
+    /**
+     * Columns of the sort keys which may be null
+     */
+    private static final Set<String> NULLABLE_COLUMNS = Set.of("r.prep_time", "r.cook_time", "r.servings");
+
+    private final String sql;
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final List<String> predicates = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final List<Order> orders;
+
+    /**
+     * Composes the query of the given search request
+     *
+     * @param request
+     * @param ingredients true to add the predicates of the ingredient parameters
+     */
+    public RecipeSearchQuery(RecipeSearchRequest request, boolean ingredients) {
+        this(request, ingredients, null);
+    }
+
+    /**
+     * Composes the query of the given search request, whose ingredient parameters are already resolved to the
+     * given recipe ids (see RecipeIngredientIndex). Each id is a parameter, so there should be only a few of them.
+     *
+     * @param request
+     * @param ids     ids of the recipes matching the ingredient parameters
+     */
+    public RecipeSearchQuery(RecipeSearchRequest request, Collection<Long> ids) {
+        this(request, false, ids);
+    }
+
+    private RecipeSearchQuery(RecipeSearchRequest request, boolean ingredients, Collection<Long> ids) {
+        if (Objects.nonNull(request.getIsVegetarian())) {
+            predicates.add(request.getIsVegetarian()
+                    ? "r.health_label = '" + HealthLabel.VEGETARIAN.name() + "'"
+                    : "r.health_label <> '" + HealthLabel.VEGETARIAN.name() + "'");
+        }
+        addRange("r.servings", "servings", request.getServings());
+        addRange("r.prep_time", "prepTime", request.getPrepTime());
+        addRange("r.cook_time", "cookTime", request.getCookTime());
+        addIn("r.difficulty", "difficulties", request.getDifficulties());
+        addIn("r.health_label", "healthLabels", request.getHealthLabels());
+        if (Objects.nonNull(request.getText())) {
+            predicates.add("r.search_vector @@ " + TEXT_QUERY);
+            parameters.put("text", request.getText());
+        }
+        if (ingredients) {
+            addIngredients(request.getIngredientIn(), request.getIngredientEx());
+        }
+        if (Objects.nonNull(ids)) {
+            predicates.add("r.id IN (:ids)");
+            parameters.put("ids", ids);
+        }
+
+        this.orders = getOrders(request);
+        this.sql = "SELECT r.id FROM recipe r" + getWhere(predicates) + " ORDER BY "
+                + orders.stream().map(Order::toString).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the query selecting the sort keys of the recipes that follow the given sort keys in the order of
+     * the search. Nulls are explicitly sorted as PostgreSQL does by default (last in ascending order), so that
+     * the chunks follow each other in the order of getSql.
+     *
+     * @param after sort keys of the last recipe of the previous chunk, or null for the first chunk
+     * @return Query selecting the sort keys as key0, key1... in the order of the search, the last one being the
+     * id, and taking the parameters returned by getKeysetParameters
+     */
+    public String getKeysetSql(List<Object> after) {
+        final List<String> keysetPredicates = new ArrayList<>(predicates);
+        if (Objects.nonNull(after)) {
+            keysetPredicates.add(getKeysetPredicate(after));
+        }
+        final StringBuilder builder = new StringBuilder("SELECT ");
+        for (int i = 0; i < orders.size(); i++) {
+            builder.append(i > 0 ? ", " : "").append(orders.get(i).column()).append(" AS key").append(i);
+        }
+        return builder.append(" FROM recipe r").append(getWhere(keysetPredicates)).append(" ORDER BY ")
+                .append(orders.stream().map(Order::toKeysetString).collect(Collectors.joining(", ")))
+                .toString();
+    }
+
+    /**
+     * Returns the parameters of the query returned by getKeysetSql. Null sort keys are compared by IS NULL and
+     * have no parameter.
+     *
+     * @param after sort keys of the last recipe of the previous chunk, or null for the first chunk
+     * @return Parameters of the search and of the given sort keys
+     */
+    public Map<String, Object> getKeysetParameters(List<Object> after) {
+        final Map<String, Object> keysetParameters = new LinkedHashMap<>(parameters);
+        if (Objects.nonNull(after)) {
+            for (int i = 0; i < after.size(); i++) {
+                if (Objects.nonNull(after.get(i))) {
+                    keysetParameters.put("key" + i, after.get(i));
+                }
+            }
+        }
+        return keysetParameters;
+    }
+
+    /**
+     * Returns the predicate of the recipes following the given sort keys, expanded as
+     * (key0 after) OR (key0 equal AND key1 after) OR ... as the sort directions may differ.
+     *
+     * @param after sort keys of the last recipe of the previous chunk
+     * @return Predicate
+     */
+    private String getKeysetPredicate(List<Object> after) {
+        final List<String> disjuncts = new ArrayList<>();
+        final List<String> equalities = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            final Order order = orders.get(i);
+            final Object key = after.get(i);
+            final String following = order.following(key, ":key" + i);
+            if (Objects.nonNull(following)) {
+                disjuncts.add(equalities.isEmpty()
+                        ? following
+                        : "(" + String.join(" AND ", equalities) + " AND " + following + ")");
+            }
+            equalities.add(order.column() + (Objects.isNull(key) ? " IS NULL" : " = :key" + i));
+        }
+        return "(" + String.join(" OR ", disjuncts) + ")";
+    }
+
+    private static String getWhere(List<String> predicates) {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    /**
+     * Adds the predicates of the bounds given by the range
+     *
+     * @param column
+     * @param name       name of the parameters
+     * @param range
+     */
+    private void addRange(String column, String name, RangeRequest range) {
+        if (Objects.isNull(range)) {
+            return;
+        }
+        if (Objects.equals(range.getMin(), range.getMax())) {
+            predicates.add(column + " = :" + name);
+            parameters.put(name, range.getMin());
+            return;
+        }
+        if (Objects.nonNull(range.getMin())) {
+            predicates.add(column + " >= :" + name + "Min");
+            parameters.put(name + "Min", range.getMin());
+        }
+        if (Objects.nonNull(range.getMax())) {
+            predicates.add(column + " <= :" + name + "Max");
+            parameters.put(name + "Max", range.getMax());
+        }
+    }
+
+    /**
+     * Adds the predicate matching any of the given values, which are stored by their names
+     *
+     * @param column
+     * @param name       name of the parameter
+     * @param values
+     */
+    private void addIn(String column, String name, Set<? extends Enum<?>> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (values.size() == 1) {
+            predicates.add(column + " = :" + name);
+            parameters.put(name, values.iterator().next().name());
+            return;
+        }
+        predicates.add(column + " IN (:" + name + ")");
+        parameters.put(name, values.stream().map(Enum::name).toList());
+    }
+
+    /**
+     * Adds a semi join per included ingredient, as a recipe has to use all of them, and a single anti join
+     * for the excluded ones. Names are compared case-insensitively like in RecipeIngredientIndex.
+     *
+     * @param included   ingredient names, all of them must be used by the recipe
+     * @param excluded   ingredient names, none of them may be used by the recipe
+     */
+    private void addIngredients(List<String> included, List<String> excluded) {
+        final List<String> includedNames = included.stream().map(RecipeSearchQuery::normalize).distinct().toList();
+        for (int i = 0; i < includedNames.size(); i++) {
+            predicates.add("EXISTS (" + INGREDIENT_QUERY + " = :ingredientIn" + i + ")");
+            parameters.put("ingredientIn" + i, includedNames.get(i));
+        }
+        if (!excluded.isEmpty()) {
+            predicates.add("NOT EXISTS (" + INGREDIENT_QUERY + " IN (:ingredientEx))");
+            parameters.put("ingredientEx", excluded.stream().map(RecipeSearchQuery::normalize).distinct().toList());
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the order by expressions of the requested sorts. The results are ranked by the text by default,
+     * and the id is appended as the last sort key so that the order is unique.
+     *
+     * @param request
+     * @return Orders of the sort keys
+     */
+    private static List<Order> getOrders(RecipeSearchRequest request) {
+        final List<SortRequest> sorts = new ArrayList<>(request.getSorts());
+        if (sorts.isEmpty() && Objects.nonNull(request.getText())) {
+            sorts.add(new SortRequest(RANK, SortDirection.DESC));
+        }
+        final List<Order> orders = new ArrayList<>();
+        for (SortRequest sort : sorts) {
+            final String column = RANK.equals(sort.getKey()) && Objects.nonNull(request.getText())
+                    ? "ts_rank(r.search_vector, " + TEXT_QUERY + ")"
+                    : SORT_COLUMNS.get(sort.getKey());
+            if (Objects.isNull(column)) {
+                throw new InvalidRequestException(INVALID_SORT);
+            }
+            orders.add(new Order(column, sort.getDirection() == SortDirection.DESC));
+            if (SORT_BY_ID.equals(sort.getKey())) {
+                return orders;
+            }
+        }
+        orders.add(new Order(SORT_COLUMNS.get(SORT_BY_ID), false));
+        return orders;
+    }
+
+    /**
+     * Order of a sort key
+     *
+     * @param column     expression of the sort key
+     * @param descending
+     */
+    private record Order(String column, boolean descending) {
+
+        /**
+         * Returns the predicate of the values following the given value of the sort key
+         *
+         * @param key       value of the sort key
+         * @param parameter parameter of the value
+         * @return Predicate, or null if no value follows it
+         */
+        String following(Object key, String parameter) {
+            if (descending) {
+                return Objects.isNull(key) ? column + " IS NOT NULL" : column + " < " + parameter;
+            }
+            if (Objects.isNull(key)) {
+                return null;
+            }
+            return NULLABLE_COLUMNS.contains(column) ? "(" + column + " > " + parameter + " OR " + column + " IS NULL)" : column + " > " + parameter;
+        }
+
+        String toKeysetString() {
+            return NULLABLE_COLUMNS.contains(column) ? this + (descending ? " NULLS FIRST" : " NULLS LAST") : toString();
+        }
+
+        @Override
+        public String toString() {
+            return column + (descending ? " DESC" : "");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.yildizmy.repository;
+
+/**
+ * Versions of everything a recipe response is built from. The versions only grow, ingredients are only added
+ * or removed by incrementing the recipe version, and deleting an ingredient or unit lowers the ingredient count,
+ * so the same values are never read for two different responses of a recipe.
+ *
+ * @param recipe             version of the recipe
+ * @param category           version of its category, or null if it has none
+ * @param ingredients        number of ingredients of the recipe
+ * @param ingredientVersions sum of the versions of the ingredients
+ * @param unitVersions       sum of the versions of the units of the ingredients
+ */
+public record RecipeVersion(Long recipe, Long category, Long ingredients, Long ingredientVersions, Long unitVersions) {
+
+    /**
+     * Returns the versions joined by dots, e.g. to be used as an entity tag
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        return recipe + "." + category + "." + ingredients + "." + ingredientVersions + "." + unitVersions;
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+
+/**
+ * Base repository for the entities filtered by SearchSpecification
+ *
+ * @param <T>
+ * @param <ID>
+ */
+@NoRepositoryBean
+public interface SearchRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Fetches at most the given number of entities matching the specification without running a count query
+     *
+     * @param specification
+     * @param limit
+     * @return Entities in the order defined by the specification
+     */
+    List<T> findAll(Specification<T> specification, int limit);
+
+    /**
+     * Fetches a page of projections matching the specification by selecting only the projected columns
+     *
+     * @param specification
+     * @param projection
+     * @param pageable
+     * @return Projections in the order defined by the specification
+     */
+    <R> Page<R> findAll(Specification<T> specification, Projection<R> projection, Pageable pageable);
+
+    /**
+     * Fetches a page of projections matching the specification, finding out the total number of elements by
+     * the given count mode
+     *
+     * @param specification
+     * @param projection
+     * @param pageable
+     * @param countMode
+     * @return Page of projections, or slice without the total if it is not counted
+     */
+    <R> Slice<R> findAll(Specification<T> specification, Projection<R> projection, Pageable pageable, CountMode countMode);
+
+    /**
+     * Fetches at most the given number of projections matching the specification without running a count query
+     *
+     * @param specification
+     * @param projection
+     * @param limit
+     * @return Projections in the order defined by the specification
+     */
+    <R> List<R> findAll(Specification<T> specification, Projection<R> projection, int limit);
+}
@@ -0,0 +1,91 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.Cacheable;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+/**
+ * Default implementation of SearchRepository used as the base class of all repositories
+ *
+ * @param <T>
+ * @param <ID>
+ */
+public class SimpleSearchRepository<T, ID> extends SimpleJpaRepository<T, ID> implements SearchRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public SimpleSearchRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> specification, int limit) {
+        return getQuery(specification, Sort.unsorted())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public <R> Page<R> findAll(Specification<T> specification, Projection<R> projection, Pageable pageable) {
+        final TypedQuery<R> query = getProjectionQuery(specification, projection);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public <R> Slice<R> findAll(Specification<T> specification, Projection<R> projection, Pageable pageable,
+                                CountMode countMode) {
+        final List<R> rows = getProjectionQuery(specification, projection)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(countMode.getLimit(pageable))
+                .getResultList();
+        return countMode.toSlice(rows, pageable, () -> count(specification),
+                () -> TableStatistics.estimateRowCount(entityManager, getDomainClass()));
+    }
+
+    @Override
+    public <R> List<R> findAll(Specification<T> specification, Projection<R> projection, int limit) {
+        return getProjectionQuery(specification, projection)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <R> TypedQuery<R> getProjectionQuery(Specification<T> specification, Projection<R> projection) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<R> query = cb.createQuery(projection.type());
+        final Root<T> root = query.from(getDomainClass());
+        final Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(projection.toSelection(root, cb));
+        final TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        // results of cached entities are kept in the query cache until their table is changed
+        if (getDomainClass().isAnnotationPresent(Cacheable.class)) {
+            typedQuery.setHint(HINT_CACHEABLE, true);
+        }
+        return typedQuery;
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.yildizmy.repository;
+
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * Estimated number of rows of the entity tables, read from the statistics kept by PostgreSQL for its planner
+ * (pg_class.reltuples). They are refreshed by VACUUM and ANALYZE, including those of the autovacuum daemon, so
+ * they lag behind the recent inserts and deletes but are read without scanning the table.
+ */
+final class TableStatistics {
+
+    private static final String ESTIMATE_SQL = "SELECT reltuples FROM pg_class WHERE oid = to_regclass(CAST(:table AS text))";
+
+    private TableStatistics() {
+    }
+
+    /**
+     * Returns the estimated number of rows of the table of the given entity
+     *
+     * @param entityManager
+     * @param entityClass
+     * @return Estimated number of rows, or -1 if the database is not PostgreSQL or the table has not been analyzed
+     */
+    static long estimateRowCount(EntityManager entityManager, Class<?> entityClass) {
+        final SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect)
+                || !(sessionFactory.getMetamodel().entityPersister(entityClass) instanceof AbstractEntityPersister persister)) {
+            return -1;
+        }
+        final List<?> estimates = entityManager.createNativeQuery(ESTIMATE_SQL)
+                .setParameter("table", persister.getTableName())
+                .getResultList();
+        // reltuples is -1 until the table is analyzed for the first time
+        return estimates.isEmpty() ? -1 : Math.round(((Number) estimates.get(0)).doubleValue());
+    }
+}
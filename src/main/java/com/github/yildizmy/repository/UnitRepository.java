@@ -1,12 +1,27 @@
 package com.github.yildizmy.repository;
 
 import com.github.yildizmy.model.Unit;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
+import static com.github.yildizmy.common.Constants.CACHE_UNITS;
+import static com.github.yildizmy.common.Constants.CACHE_UNIT_NAMES;
+
 @Repository
-public interface UnitRepository extends JpaRepository<Unit, Long>, JpaSpecificationExecutor<Unit> {
+public interface UnitRepository extends SearchRepository<Unit, Long> {
 
+    @Cacheable(cacheNames = CACHE_UNIT_NAMES, key = "#p0.toLowerCase()")
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Cached variant of findById used for the reference data lookups of recipes.
+     * The returned entity is shared between callers and must not be modified.
+     *
+     * @param id
+     * @return
+     */
+    @Cacheable(cacheNames = CACHE_UNITS, unless = "#result == null")
+    Optional<Unit> findCachedById(Long id);
 }
@@ -1,19 +1,23 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.common.filter.SearchSpecification;
 import com.github.yildizmy.dto.mapper.CategoryRequestMapper;
 import com.github.yildizmy.dto.request.CategoryRequest;
 import com.github.yildizmy.dto.response.CategoryResponse;
 import com.github.yildizmy.dto.response.CommandResponse;
+import com.github.yildizmy.event.CatalogChangedEvent;
 import com.github.yildizmy.exception.ElementAlreadyExistsException;
 import com.github.yildizmy.exception.NoSuchElementFoundException;
 import com.github.yildizmy.model.Category;
 import com.github.yildizmy.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +32,11 @@ import static org.apache.commons.text.WordUtils.capitalizeFully;
 @RequiredArgsConstructor
 public class CategoryService {
 
+    private static final Projection<CategoryResponse> PROJECTION = Projection.of(CategoryResponse.class, "id", "name", "ordinal");
+
     private final CategoryRepository categoryRepository;
     private final CategoryRequestMapper categoryRequestMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Fetches a category by the given id
@@ -38,7 +45,7 @@ public class CategoryService {
      * @return
      */
     public CategoryResponse findById(Long id) {
-        return categoryRepository.findById(id)
+        return categoryRepository.findCachedById(id)
                 .map(CategoryResponse::new)
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_CATEGORY);
@@ -53,11 +60,15 @@ public class CategoryService {
      * @return Paginated category data
      */
     @Transactional(readOnly = true)
-    public Page<CategoryResponse> findAll(SearchRequest request) {
+    public Slice<CategoryResponse> findAll(SearchRequest request) {
         final SearchSpecification<Category> specification = new SearchSpecification<>(request);
-        final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
-        final Page<CategoryResponse> categories = categoryRepository.findAll(specification, pageable)
-                .map(CategoryResponse::new);
+        final Slice<CategoryResponse> categories;
+        if (request.isCursor()) {
+            categories = specification.toSlice(categoryRepository.findAll(specification, PROJECTION, specification.getLimit()));
+        } else {
+            final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+            categories = categoryRepository.findAll(specification, PROJECTION, pageable, specification.getCountMode());
+        }
         if (categories.isEmpty()) {
             log.error(NOT_FOUND_RECORD);
             throw new NoSuchElementFoundException(NOT_FOUND_RECORD);
@@ -71,6 +82,7 @@ public class CategoryService {
      * @param request
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_CATEGORIES, CACHE_CATEGORY_NAMES}, allEntries = true)
     public CommandResponse create(CategoryRequest request) {
         if (categoryRepository.existsByNameIgnoreCase(request.getName())) {
             log.error(ALREADY_EXISTS_CATEGORY);
@@ -87,6 +99,7 @@ public class CategoryService {
      * @param request
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_CATEGORIES, CACHE_CATEGORY_NAMES}, allEntries = true)
     public CommandResponse update(CategoryRequest request) {
         final Category category = categoryRepository.findById(request.getId())
                 .orElseThrow(() -> {
@@ -109,6 +122,7 @@ public class CategoryService {
      * @param id
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_CATEGORIES, CACHE_CATEGORY_NAMES}, allEntries = true)
     public void deleteById(Long id) {
         final Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> {
@@ -116,5 +130,6 @@ public class CategoryService {
                     return new NoSuchElementFoundException(NOT_FOUND_CATEGORY);
                 });
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 }
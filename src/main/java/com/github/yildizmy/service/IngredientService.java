@@ -1,19 +1,24 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.common.filter.SearchSpecification;
 import com.github.yildizmy.dto.mapper.IngredientRequestMapper;
 import com.github.yildizmy.dto.request.IngredientRequest;
 import com.github.yildizmy.dto.response.CommandResponse;
 import com.github.yildizmy.dto.response.IngredientResponse;
+import com.github.yildizmy.event.CatalogChangedEvent;
+import com.github.yildizmy.event.IngredientRenamedEvent;
 import com.github.yildizmy.exception.ElementAlreadyExistsException;
 import com.github.yildizmy.exception.NoSuchElementFoundException;
 import com.github.yildizmy.model.Ingredient;
 import com.github.yildizmy.repository.IngredientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +33,11 @@ import static org.apache.commons.text.WordUtils.capitalizeFully;
 @RequiredArgsConstructor
 public class IngredientService {
 
+    private static final Projection<IngredientResponse> PROJECTION = Projection.of(IngredientResponse.class, "id", "name");
+
     private final IngredientRepository ingredientRepository;
     private final IngredientRequestMapper ingredientRequestMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Fetches an ingredient by the given id
@@ -38,7 +46,7 @@ public class IngredientService {
      * @return
      */
     public IngredientResponse findById(Long id) {
-        return ingredientRepository.findById(id)
+        return ingredientRepository.findCachedById(id)
                 .map(IngredientResponse::new)
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_INGREDIENT);
@@ -53,11 +61,15 @@ public class IngredientService {
      * @return Paginated ingredient data
      */
     @Transactional(readOnly = true)
-    public Page<IngredientResponse> findAll(SearchRequest request) {
+    public Slice<IngredientResponse> findAll(SearchRequest request) {
         final SearchSpecification<Ingredient> specification = new SearchSpecification<>(request);
-        final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
-        final Page<IngredientResponse> ingredients = ingredientRepository.findAll(specification, pageable)
-                .map(IngredientResponse::new);
+        final Slice<IngredientResponse> ingredients;
+        if (request.isCursor()) {
+            ingredients = specification.toSlice(ingredientRepository.findAll(specification, PROJECTION, specification.getLimit()));
+        } else {
+            final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+            ingredients = ingredientRepository.findAll(specification, PROJECTION, pageable, specification.getCountMode());
+        }
         if (ingredients.isEmpty()) {
             log.error(NOT_FOUND_RECORD);
             throw new NoSuchElementFoundException(NOT_FOUND_RECORD);
@@ -71,6 +83,7 @@ public class IngredientService {
      * @param request
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_INGREDIENTS, CACHE_INGREDIENT_NAMES}, allEntries = true)
     public CommandResponse create(IngredientRequest request) {
         if (ingredientRepository.existsByNameIgnoreCase(request.getName())) {
             log.error(ALREADY_EXISTS_INGREDIENT);
@@ -87,6 +100,7 @@ public class IngredientService {
      * @param request
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_INGREDIENTS, CACHE_INGREDIENT_NAMES}, allEntries = true)
     public CommandResponse update(IngredientRequest request) {
         final Ingredient ingredient = ingredientRepository.findById(request.getId())
                 .orElseThrow(() -> {
@@ -98,8 +112,10 @@ public class IngredientService {
             log.error(ALREADY_EXISTS_INGREDIENT);
             throw new ElementAlreadyExistsException(ALREADY_EXISTS_INGREDIENT);
         }
+        final String previousName = ingredient.getName();
         ingredient.setName(capitalizeFully(request.getName()));
         ingredientRepository.save(ingredient);
+        eventPublisher.publishEvent(new IngredientRenamedEvent(previousName, ingredient.getName()));
         return CommandResponse.builder().id(ingredient.getId()).build();
     }
 
@@ -109,6 +125,7 @@ public class IngredientService {
      * @param id
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_INGREDIENTS, CACHE_INGREDIENT_NAMES}, allEntries = true)
     public void deleteById(Long id) {
         final Ingredient ingredient = ingredientRepository.findById(id)
                 .orElseThrow(() -> {
@@ -116,5 +133,6 @@ public class IngredientService {
                     return new NoSuchElementFoundException(NOT_FOUND_INGREDIENT);
                 });
         ingredientRepository.delete(ingredient);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 }
@@ -0,0 +1,158 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.exception.NoSuchElementFoundException;
+import com.github.yildizmy.repository.ReactiveRecipeRepository;
+import com.github.yildizmy.repository.RecipeSearchQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static com.github.yildizmy.common.Constants.NOT_FOUND_RECIPE;
+
+/**
+ * Service used for fetching recipes by the reactive read API. Recipes are streamed in chunks: the ids of each
+ * chunk are read by a keyset query starting after the last recipe of the previous chunk, and the responses of
+ * the chunk are then selected by two queries (recipes with their category, and their ingredients) like
+ * RecipeService does for a page. A chunk is only read when the subscriber requests it, so the number of recipes
+ * in memory does not depend on the size of the result.
+ * <p>
+ * No query keeps its connection while another one waits for a connection of the same pool. A cursor open for
+ * the whole stream would, and the searches would deadlock once each of them held one of the connections.
+ */
+@Slf4j(topic = "ReactiveRecipeService")
+@Service
+public class ReactiveRecipeService {
+
+    private final ReactiveRecipeRepository reactiveRecipeRepository;
+    private final int chunkSize;
+
+    public ReactiveRecipeService(ReactiveRecipeRepository reactiveRecipeRepository,
+                                 @Value("${recipe.reactive.chunk-size:100}") int chunkSize) {
+        this.reactiveRecipeRepository = reactiveRecipeRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Fetches a recipe by the given id
+     *
+     * @param id
+     * @return A single recipe, or NoSuchElementFoundException if it does not exist
+     */
+    public Mono<RecipeResponse> findById(long id) {
+        return findResponses(List.of(id)).next()
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error(NOT_FOUND_RECIPE);
+                    return new NoSuchElementFoundException(NOT_FOUND_RECIPE);
+                }));
+    }
+
+    /**
+     * Streams all recipes in the order of their ids
+     *
+     * @return Recipe data
+     */
+    public Flux<RecipeResponse> findAll() {
+        return search(new RecipeSearchRequest());
+    }
+
+    /**
+     * Streams the recipes matching the given recipe and ingredient parameters in the requested order. The
+     * ingredients are queried as semi / anti joins. All matching recipes are streamed unless a page size is given.
+     *
+     * @param request
+     * @return Recipe data
+     */
+    public Flux<RecipeResponse> search(RecipeSearchRequest request) {
+        return Flux.defer(() -> {
+            final RecipeSearchQuery query = new RecipeSearchQuery(request, true);
+            final int limit = Objects.requireNonNullElse(request.getSize(), 0);
+            final int offset = limit * Objects.requireNonNullElse(request.getPage(), 0);
+            return searchChunk(query, null, offset, limit)
+                    .expand(chunk -> chunk.hasNext()
+                            ? searchChunk(query, chunk.getLastKeys(), 0, chunk.getNextRemaining())
+                            : Mono.empty())
+                    .filter(chunk -> !chunk.keys().isEmpty())
+                    // a single chunk is read ahead, and the chunks are emitted in the order of the search
+                    .concatMap(chunk -> findResponses(chunk.getIds()), 1);
+        });
+    }
+
+    /**
+     * Selects the sort keys of the next chunk of the search
+     *
+     * @param query
+     * @param after     sort keys of the last recipe of the previous chunk, or null for the first chunk
+     * @param offset
+     * @param remaining number of recipes left to read, or 0 to read all of them
+     * @return Chunk
+     */
+    private Mono<Chunk> searchChunk(RecipeSearchQuery query, List<Object> after, int offset, int remaining) {
+        final int size = remaining > 0 ? Math.min(remaining, chunkSize) : chunkSize;
+        return reactiveRecipeRepository.searchKeys(query, after, offset, size)
+                .collectList()
+                .map(keys -> new Chunk(keys, size, remaining));
+    }
+
+    /**
+     * Builds the responses of the given recipes
+     *
+     * @param ids
+     * @return Recipe responses in the order of the given ids
+     */
+    private Flux<RecipeResponse> findResponses(List<Long> ids) {
+        return Mono.zip(
+                        reactiveRecipeRepository.findResponsesByIdIn(ids)
+                                .collectMap(RecipeResponse::getId),
+                        reactiveRecipeRepository.findIngredientResponsesByRecipeIdIn(ids)
+                                .collectMultimap(RecipeIngredientResponse::getRecipeId))
+                .flatMapIterable(tuple -> {
+                    final List<RecipeResponse> recipes = new ArrayList<>(ids.size());
+                    for (Long id : ids) {
+                        final RecipeResponse recipe = tuple.getT1().get(id);
+                        // the recipe may have been deleted after its id was read
+                        if (recipe != null) {
+                            final Collection<RecipeIngredientResponse> ingredients = tuple.getT2().get(id);
+                            recipe.setIngredients(ingredients == null ? List.of() : new ArrayList<>(ingredients));
+                            recipes.add(recipe);
+                        }
+                    }
+                    return recipes;
+                });
+    }
+
+    /**
+     * Sort keys of a chunk of recipes, the last sort key of each recipe being its id
+     *
+     * @param keys
+     * @param size      maximum number of recipes of the chunk
+     * @param remaining number of recipes left to read including this chunk, or 0 to read all of them
+     */
+    private record Chunk(List<List<Object>> keys, int size, int remaining) {
+
+        boolean hasNext() {
+            return keys.size() == size && remaining != size;
+        }
+
+        int getNextRemaining() {
+            return remaining > 0 ? remaining - size : 0;
+        }
+
+        List<Object> getLastKeys() {
+            return keys.get(keys.size() - 1);
+        }
+
+        List<Long> getIds() {
+            return keys.stream().map(key -> ((Number) key.get(key.size() - 1)).longValue()).toList();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.github.yildizmy.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.yildizmy.common.ExportFormat;
+import com.github.yildizmy.common.filter.SearchRequest;
+import com.github.yildizmy.common.filter.SearchSpecification;
+import com.github.yildizmy.common.filter.SortDirection;
+import com.github.yildizmy.common.filter.SortRequest;
+import com.github.yildizmy.dto.response.CategoryResponse;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.Recipe;
+import com.github.yildizmy.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.yildizmy.common.Constants.EXPORTED_RECIPES;
+import static com.github.yildizmy.common.Constants.SORT_BY_ID;
+
+/**
+ * Service used for exporting recipes
+ */
+@Slf4j(topic = "RecipeExportService")
+@Service
+@RequiredArgsConstructor
+public class RecipeExportService {
+
+    private static final String[] CSV_HEADER = {"id", "title", "description", "prepTime", "cookTime", "servings",
+            "difficulty", "healthLabel", "category", "ingredients", "instructions"};
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final RecipeRepository recipeRepository;
+
+    /**
+     * Number of rows fetched per round-trip from the cursor and number of recipes written per chunk
+     */
+    @Value("${recipe.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Writes the recipes matching the given filter parameters to the output. The ids are read from a forward-only
+     * cursor and the recipes are loaded with their associations chunk by chunk. The persistence context is cleared
+     * after each chunk, so the memory usage does not depend on the number of exported recipes.
+     *
+     * @param request
+     * @param format
+     * @param output
+     * @throws IOException
+     */
+    @Transactional(readOnly = true)
+    public void export(SearchRequest request, ExportFormat format, OutputStream output) throws IOException {
+        if (request.getSorts().isEmpty()) {
+            // a stable order is used so that repeated exports can be compared
+            request.setSorts(List.of(new SortRequest(SORT_BY_ID, SortDirection.ASC)));
+        }
+        final SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        final RecipeWriter recipeWriter = format == ExportFormat.CSV ? new CsvRecipeWriter(writer) : new JsonRecipeWriter(writer, objectMapper);
+        long count = 0;
+
+        try (Stream<Long> ids = recipeRepository.streamIds(specification, chunkSize)) {
+            final Iterator<Long> iterator = ids.iterator();
+            final List<Long> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    writeChunk(chunk, recipeWriter);
+                    writer.flush();
+                    count += chunk.size();
+                    chunk.clear();
+                    // detach the written recipes, the cursor stays open
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.info(EXPORTED_RECIPES, count);
+    }
+
+    private void writeChunk(List<Long> ids, RecipeWriter recipeWriter) throws IOException {
+        // fetching the ingredient collection returns a row per ingredient, so duplicates are merged
+        final Map<Long, Recipe> recipes = recipeRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity(), (recipe, duplicate) -> recipe));
+        for (Long id : ids) {
+            final Recipe recipe = recipes.get(id);
+            recipeWriter.write(new RecipeResponse(
+                    recipe,
+                    Objects.isNull(recipe.getCategory()) ? null : new CategoryResponse(recipe.getCategory()),
+                    recipe.getRecipeIngredients().stream().map(RecipeIngredientResponse::new).toList()));
+        }
+    }
+
+    private interface RecipeWriter {
+
+        void write(RecipeResponse recipe) throws IOException;
+    }
+
+    /**
+     * Writes each recipe as a JSON document on its own line (NDJSON)
+     */
+    private static class JsonRecipeWriter implements RecipeWriter {
+
+        private final Writer writer;
+        private final ObjectWriter objectWriter;
+
+        JsonRecipeWriter(Writer writer, ObjectMapper objectMapper) {
+            this.writer = writer;
+            // the output is closed by the caller
+            this.objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(RecipeResponse recipe) throws IOException {
+            objectWriter.writeValue(writer, recipe);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Writes each recipe as a CSV row. Ingredients are written to a single column as "amount unit name" separated
+     * by semicolons.
+     */
+    private static class CsvRecipeWriter implements RecipeWriter {
+
+        private final Writer writer;
+
+        CsvRecipeWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writeRow(Arrays.asList(CSV_HEADER));
+        }
+
+        @Override
+        public void write(RecipeResponse recipe) throws IOException {
+            final String ingredients = recipe.getIngredients().stream()
+                    .map(CsvRecipeWriter::format)
+                    .collect(Collectors.joining("; "));
+            // the category is optional, and written as an empty cell when missing
+            final String category = Objects.isNull(recipe.getCategory()) ? null : recipe.getCategory().getName();
+            writeRow(Arrays.asList(recipe.getId(), recipe.getTitle(), recipe.getDescription(), recipe.getPrepTime(),
+                    recipe.getCookTime(), recipe.getServings(), recipe.getDifficulty(), recipe.getHealthLabel(),
+                    category, ingredients, recipe.getInstructions()));
+        }
+
+        /**
+         * Formats the ingredient as its amount, unit and name, leaving out the amount or unit it does not have
+         */
+        private static String format(RecipeIngredientResponse ingredient) {
+            final String amount = Objects.isNull(ingredient.getAmount()) ? null
+                    : ingredient.getAmount().stripTrailingZeros().toPlainString();
+            return Stream.of(amount, ingredient.getUnitName(), ingredient.getIngredientName())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining(" "));
+        }
+
+        private void writeRow(List<?> values) throws IOException {
+            writer.write(values.stream().map(CsvRecipeWriter::escape).collect(Collectors.joining(",")));
+            writer.write("\r\n");
+        }
+
+        /**
+         * Quotes the value if it contains a separator, quote or line break (RFC 4180)
+         */
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            final String text = value.toString();
+            if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+                return "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+    }
+}
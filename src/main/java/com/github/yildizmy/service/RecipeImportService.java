@@ -0,0 +1,299 @@
+package com.github.yildizmy.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.dto.mapper.RecipeRequestMapper;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.dto.request.RecipeRequest;
+import com.github.yildizmy.dto.response.RecipeImportResponse;
+import com.github.yildizmy.dto.response.RecipeImportResponse.Failure;
+import com.github.yildizmy.event.RecipesChangedEvent;
+import com.github.yildizmy.model.*;
+import com.github.yildizmy.repository.CategoryRepository;
+import com.github.yildizmy.repository.IngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
+import com.github.yildizmy.repository.UnitRepository;
+import com.github.yildizmy.validator.IngredientValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.yildizmy.common.Constants.*;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Service used for importing recipes in bulk
+ */
+@Slf4j(topic = "RecipeImportService")
+@Service
+@RequiredArgsConstructor
+public class RecipeImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final IngredientValidator ingredientValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final RecipeRepository recipeRepository;
+    private final CategoryRepository categoryRepository;
+    private final IngredientRepository ingredientRepository;
+    private final UnitRepository unitRepository;
+    private final RecipeRequestMapper recipeRequestMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Number of recipes committed per transaction when no batch size is requested
+     */
+    @Value("${recipe.import.batch-size:500}")
+    private int defaultBatchSize;
+
+    /**
+     * Maximum number of failures listed in the response, so that a large payload failing mostly is not kept in memory
+     */
+    @Value("${recipe.import.max-reported-failures:1000}")
+    private int maxReportedFailures;
+
+    /**
+     * Imports the recipes of the given JSON array or newline delimited JSON stream. The recipes are read one by one
+     * by using a streaming parser and saved in batches, each batch in its own transaction, so that neither the
+     * payload nor the imported recipes are kept in memory. A recipe failing validation or referencing a missing
+     * category, ingredient or unit is reported and skipped without affecting the rest of its batch. Only the first
+     * failures are listed (recipe.import.max-reported-failures), the others are only counted.
+     *
+     * @param input
+     * @param batchSize number of recipes committed per transaction, or null for the configured default
+     * @return Number of imported recipes and the failures
+     */
+    @CacheEvict(cacheNames = CACHE_INGREDIENT_NAMES, allEntries = true)
+    public RecipeImportResponse importRecipes(InputStream input, Integer batchSize) {
+        final int size = Objects.requireNonNullElse(batchSize, defaultBatchSize);
+        final List<Failure> failures = new ArrayList<>();
+        final List<Item> batch = new ArrayList<>(size);
+        long total = 0;
+        long imported = 0;
+
+        try (MappingIterator<RecipeRequest> iterator = objectMapper.readerFor(RecipeRequest.class).readValues(input)) {
+            while (iterator.hasNextValue()) {
+                // total is only incremented once the recipe is read, so that it is the index of a malformed one
+                final RecipeRequest request;
+                try {
+                    request = iterator.nextValue();
+                } catch (JsonMappingException e) {
+                    // the parser skips the rest of the invalid recipe and continues with the next one
+                    report(failures, new Failure(total++, NOT_PARSED_RECIPE + ": " + e.getOriginalMessage()));
+                    continue;
+                }
+                final long index = total++;
+                final String violation = validate(request);
+                if (violation != null) {
+                    report(failures, new Failure(index, violation));
+                    continue;
+                }
+                batch.add(new Item(index, request));
+                if (batch.size() == size) {
+                    imported += importBatch(batch, failures);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            // malformed payload, the recipes read so far are still imported
+            log.error(NOT_PARSED_RECIPE, e);
+            report(failures, new Failure(total++, NOT_PARSED_RECIPE + ": " + e.getMessage()));
+        }
+        if (!batch.isEmpty()) {
+            imported += importBatch(batch, failures);
+        }
+        log.info(IMPORTED_RECIPES, imported, total);
+        return RecipeImportResponse.builder()
+                .total(total)
+                .imported(imported)
+                .failed(total - imported)
+                .failures(failures)
+                .build();
+    }
+
+    /**
+     * Validates the recipe using the constraints of RecipeRequest and IngredientValidator
+     *
+     * @param request
+     * @return Validation message, or null if the recipe is valid
+     */
+    private String validate(RecipeRequest request) {
+        if (request.getRecipeIngredients() == null) {
+            request.setRecipeIngredients(new ArrayList<>());
+        }
+        final Set<ConstraintViolation<Object>> violations = new HashSet<>(validator.validate(request));
+        request.getRecipeIngredients().forEach(recipeIngredient -> violations.addAll(validator.validate(recipeIngredient)));
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        // new ingredients are given by name instead of id
+        if (request.getRecipeIngredients().stream().anyMatch(recipeIngredient -> recipeIngredient.getIngredientId() == null
+                || (recipeIngredient.getIngredientId() == 0 && isBlank(recipeIngredient.getIngredientName())))) {
+            return NOT_VALIDATED_ELEMENT;
+        }
+        if (!ingredientValidator.isValid(request, null)) {
+            return NOT_VALIDATED_INGREDIENT;
+        }
+        return null;
+    }
+
+    /**
+     * Saves the given batch of recipes in a single transaction. If the transaction fails, all recipes of the batch
+     * are reported as failed.
+     *
+     * @param batch
+     * @param failures
+     * @return Number of saved recipes
+     */
+    private int importBatch(List<Item> batch, List<Failure> failures) {
+        final List<Failure> batchFailures = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveBatch(batch, batchFailures));
+        } catch (RuntimeException e) {
+            log.error(NOT_SAVED_RECIPES, e);
+            batch.forEach(item -> report(failures, new Failure(item.index(), NOT_SAVED_RECIPES)));
+            return 0;
+        }
+        batchFailures.forEach(failure -> report(failures, failure));
+        return batch.size() - batchFailures.size();
+    }
+
+    /**
+     * Lists the given failure unless the maximum number of listed failures is reached. The failures that are
+     * not listed are still counted, as the failed recipes are those that are not imported.
+     *
+     * @param failures
+     * @param failure
+     */
+    private void report(List<Failure> failures, Failure failure) {
+        if (failures.size() < maxReportedFailures) {
+            failures.add(failure);
+        }
+    }
+
+    /**
+     * Resolves the categories, ingredients and units of the whole batch using a single query for each of them,
+     * and saves the recipes that could be resolved
+     *
+     * @param batch
+     * @param failures
+     */
+    private void saveBatch(List<Item> batch, List<Failure> failures) {
+        final List<RecipeIngredientRequest> recipeIngredients = batch.stream()
+                .flatMap(item -> item.request().getRecipeIngredients().stream())
+                .toList();
+        final Map<Long, Category> categories = findAllById(categoryRepository::findAllById, Category::getId,
+                batch.stream().map(item -> item.request().getCategoryId()));
+        final Map<Long, Ingredient> ingredients = findAllById(ingredientRepository::findAllById, Ingredient::getId,
+                recipeIngredients.stream().map(RecipeIngredientRequest::getIngredientId).filter(id -> id != 0));
+        final Map<Long, Unit> units = findAllById(unitRepository::findAllById, Unit::getId,
+                recipeIngredients.stream().map(RecipeIngredientRequest::getUnitId));
+        final Set<String> existingNames = findExistingNames(recipeIngredients);
+
+        final List<Ingredient> newIngredients = new ArrayList<>();
+        final List<Recipe> recipes = new ArrayList<>();
+        for (Item item : batch) {
+            final RecipeRequest request = item.request();
+            final Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                failures.add(new Failure(item.index(), NOT_FOUND_CATEGORY));
+                continue;
+            }
+            final String failure = findFailure(request, ingredients, units, existingNames);
+            if (failure != null) {
+                failures.add(new Failure(item.index(), failure));
+                continue;
+            }
+            final Recipe recipe = recipeRequestMapper.toEntity(request);
+            recipe.setId(null);
+            recipe.setCategory(category);
+            for (RecipeIngredientRequest recipeIngredient : request.getRecipeIngredients()) {
+                final Ingredient ingredient;
+                if (recipeIngredient.getIngredientId() != 0) {
+                    ingredient = ingredients.get(recipeIngredient.getIngredientId());
+                } else {
+                    ingredient = new Ingredient(null, recipeIngredient.getIngredientName());
+                    existingNames.add(recipeIngredient.getIngredientName().toLowerCase());
+                    newIngredients.add(ingredient);
+                }
+                final Unit unit = units.get(recipeIngredient.getUnitId());
+                recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, recipeIngredient.getAmount()));
+            }
+            recipes.add(recipe);
+        }
+        ingredientRepository.saveAll(newIngredients);
+        recipeRepository.saveAll(recipes);
+        eventPublisher.publishEvent(new RecipesChangedEvent(recipes.stream().map(Recipe::getId).toList()));
+    }
+
+    /**
+     * Checks if all the ingredients and units of the recipe are resolved and none of its new ingredients
+     * is already defined before
+     *
+     * @param request
+     * @param ingredients
+     * @param units
+     * @param existingNames
+     * @return Failure message, or null if the recipe can be saved
+     */
+    private String findFailure(RecipeRequest request, Map<Long, Ingredient> ingredients, Map<Long, Unit> units,
+                               Set<String> existingNames) {
+        for (RecipeIngredientRequest recipeIngredient : request.getRecipeIngredients()) {
+            if (recipeIngredient.getIngredientId() != 0 && !ingredients.containsKey(recipeIngredient.getIngredientId())) {
+                return NOT_FOUND_INGREDIENT;
+            }
+            if (recipeIngredient.getIngredientId() == 0 && existingNames.contains(recipeIngredient.getIngredientName().toLowerCase())) {
+                return String.format(ALREADY_EXISTS_INGREDIENT_NAME, recipeIngredient.getIngredientName());
+            }
+            if (!units.containsKey(recipeIngredient.getUnitId())) {
+                return NOT_FOUND_UNIT;
+            }
+        }
+        return null;
+    }
+
+    private Set<String> findExistingNames(List<RecipeIngredientRequest> recipeIngredients) {
+        final Set<String> names = recipeIngredients.stream()
+                .filter(recipeIngredient -> recipeIngredient.getIngredientId() == 0)
+                .map(recipeIngredient -> recipeIngredient.getIngredientName().toLowerCase())
+                .collect(Collectors.toSet());
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+        return ingredientRepository.findNamesByLowerNameIn(names).stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static <T> Map<Long, T> findAllById(Function<Set<Long>, List<T>> finder, Function<T, Long> idGetter,
+                                                Stream<Long> ids) {
+        final Set<Long> distinctIds = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(distinctIds).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+    }
+
+    /**
+     * Recipe of the imported payload with its position in the payload
+     */
+    private record Item(long index, RecipeRequest request) {
+    }
+}
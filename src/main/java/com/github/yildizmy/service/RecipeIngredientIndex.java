@@ -0,0 +1,235 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.event.CatalogChangedEvent;
+import com.github.yildizmy.event.IngredientRenamedEvent;
+import com.github.yildizmy.event.RecipesChangedEvent;
+import com.github.yildizmy.repository.RecipeIngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import static com.github.yildizmy.common.Constants.BUILT_INGREDIENT_INDEX;
+
+/**
+ * In-memory inverted index mapping each ingredient name to a compressed bitmap of the ids of the recipes
+ * using that ingredient. Recipes including and excluding several ingredients are resolved by intersecting
+ * and subtracting these bitmaps instead of joining the ingredients of every recipe in the database.
+ * <p>
+ * The index is built when the application is ready and updated after the transactions changing the
+ * ingredients of recipes are committed (see the events of the {@code com.github.yildizmy.event} package).
+ * As these events are only received by the instance committing the change, the index is disabled by default
+ * and only enabled for a single instance, otherwise the ingredients are searched by the database.
+ */
+@Slf4j(topic = "RecipeIngredientIndex")
+@Component
+public class RecipeIngredientIndex {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Roaring64Bitmap> recipesByIngredient = new HashMap<>();
+    private final Roaring64Bitmap recipes = new Roaring64Bitmap();
+    private final boolean enabled;
+    private volatile boolean built;
+
+    public RecipeIngredientIndex(RecipeRepository recipeRepository,
+                                 RecipeIngredientRepository recipeIngredientRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${recipe.search.ingredient-index.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        this.recipeRepository = recipeRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        // updates run after the changing transaction is committed, so they read the database in a new one
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Normalizes the given ingredient name so that the lookups are case-insensitive
+     *
+     * @param name
+     * @return Trimmed lower case name
+     */
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Finds the ids of the recipes using all the included ingredients and none of the excluded ones
+     *
+     * @param included ingredient names, all of them must be used by the recipe
+     * @param excluded ingredient names, none of them may be used by the recipe
+     * @return Bitmap of the matching recipe ids owned by the caller, or null if no ingredient is given
+     * or the index is disabled
+     */
+    public Roaring64Bitmap find(Collection<String> included, Collection<String> excluded) {
+        if (!enabled || included.isEmpty() && excluded.isEmpty()) {
+            return null;
+        }
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            // start from the smallest bitmap so that the intersections stay small
+            final List<Roaring64Bitmap> includedRecipes = included.stream()
+                    .map(name -> recipesByIngredient.getOrDefault(normalize(name), new Roaring64Bitmap()))
+                    .sorted(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality))
+                    .toList();
+            final Roaring64Bitmap result = includedRecipes.isEmpty() ? recipes.clone() : includedRecipes.get(0).clone();
+            for (int i = 1; i < includedRecipes.size() && !result.isEmpty(); i++) {
+                result.and(includedRecipes.get(i));
+            }
+            for (String name : excluded) {
+                final Roaring64Bitmap excludedRecipes = recipesByIngredient.get(normalize(name));
+                if (excludedRecipes != null && !result.isEmpty()) {
+                    result.andNot(excludedRecipes);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the index from the database when the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index after a deletion cascading to any number of recipes
+     *
+     * @param event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads the ingredients of the changed recipes, removing the recipes that do not exist anymore
+     *
+     * @param event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesChanged(RecipesChangedEvent event) {
+        if (event.recipeIds().isEmpty()) {
+            return;
+        }
+        final Roaring64Bitmap changed = new Roaring64Bitmap();
+        event.recipeIds().forEach(changed::addLong);
+        lock.writeLock().lock();
+        try {
+            // checked under the lock, so that a change committed while the index is built is applied after it
+            if (!built) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                recipesByIngredient.values().forEach(bitmap -> bitmap.andNot(changed));
+                recipesByIngredient.values().removeIf(Roaring64Bitmap::isEmpty);
+                recipes.andNot(changed);
+                recipeRepository.findIdsByIdIn(event.recipeIds()).forEach(recipes::addLong);
+                recipeIngredientRepository.findRecipeIdAndIngredientNameByRecipeIdIn(event.recipeIds())
+                        .forEach(this::add);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the recipes of the renamed ingredient to its new name
+     *
+     * @param event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientRenamed(IngredientRenamedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return;
+            }
+            final Roaring64Bitmap renamed = recipesByIngredient.remove(normalize(event.previousName()));
+            if (renamed != null) {
+                recipesByIngredient.merge(normalize(event.name()), renamed, (bitmap, other) -> {
+                    bitmap.or(other);
+                    return bitmap;
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the whole index by streaming the recipe ids and the ingredient names of all recipes.
+     * Searches wait until the index is rebuilt.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            recipesByIngredient.clear();
+            recipes.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Long> ids = recipeRepository.streamAllIds()) {
+                    ids.forEach(recipes::addLong);
+                }
+                try (Stream<Object[]> rows = recipeIngredientRepository.streamRecipeIdAndIngredientName()) {
+                    rows.forEach(this::add);
+                }
+            });
+            recipes.runOptimize();
+            recipesByIngredient.values().forEach(Roaring64Bitmap::runOptimize);
+            built = true;
+            log.info(BUILT_INGREDIENT_INDEX, recipesByIngredient.size(), recipes.getLongCardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the index if a search arrives before the application is ready
+     */
+    private void ensureBuilt() {
+        if (!built) {
+            lock.writeLock().lock();
+            try {
+                if (!built) {
+                    rebuild();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds the recipe of the given row to the bitmap of its ingredient
+     *
+     * @param row recipe id and ingredient name
+     */
+    private void add(Object[] row) {
+        recipesByIngredient.computeIfAbsent(normalize((String) row[1]), name -> new Roaring64Bitmap())
+                .addLong((Long) row[0]);
+    }
+}
@@ -2,6 +2,7 @@ package com.github.yildizmy.service;
 
 import com.github.yildizmy.dto.request.RecipeIngredientRequest;
 import com.github.yildizmy.dto.response.CommandResponse;
+import com.github.yildizmy.event.RecipesChangedEvent;
 import com.github.yildizmy.exception.ElementAlreadyExistsException;
 import com.github.yildizmy.exception.NoSuchElementFoundException;
 import com.github.yildizmy.model.Ingredient;
@@ -10,13 +11,20 @@ import com.github.yildizmy.model.RecipeIngredient;
 import com.github.yildizmy.model.Unit;
 import com.github.yildizmy.repository.IngredientRepository;
 import com.github.yildizmy.repository.RecipeIngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static com.github.yildizmy.common.Constants.ALREADY_EXISTS_INGREDIENT;
+import static com.github.yildizmy.common.Constants.CACHE_INGREDIENT_NAMES;
 import static com.github.yildizmy.common.Constants.NOT_FOUND_INGREDIENT;
+import static com.github.yildizmy.common.Constants.NOT_FOUND_RECIPE;
 
 /**
  * Service used for adding and removing recipeIngredient
@@ -26,8 +34,10 @@ import static com.github.yildizmy.common.Constants.NOT_FOUND_INGREDIENT;
 @RequiredArgsConstructor
 public class RecipeIngredientService {
 
+    private final RecipeRepository recipeRepository;
     private final RecipeIngredientRepository recipeIngredientRepository;
     private final IngredientRepository ingredientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Adds ingredient to the given recipe
@@ -36,6 +46,7 @@ public class RecipeIngredientService {
      * @return
      */
     @Transactional
+    @CacheEvict(cacheNames = CACHE_INGREDIENT_NAMES, allEntries = true, condition = "#p0.ingredientId == 0")
     public CommandResponse addIngredientToRecipe(RecipeIngredientRequest request) {
         final Ingredient ingredient;
         if (request.getIngredientId() != 0) {
@@ -53,12 +64,14 @@ public class RecipeIngredientService {
             }
             ingredient = ingredientRepository.save(new Ingredient(0L, request.getIngredientName()));
         }
-        // if needed, we can also check if recipe and unit values exists in db (we assumed recipe is already defined and unit is selected from the list)
-        final Recipe recipe = new Recipe(request.getRecipeId());
+        // the recipe row itself is not changed, but its response and ETag are, so its version is incremented on commit
+        // (if needed, we can also check if unit value exists in db (we assumed unit is selected from the list))
+        final Recipe recipe = findForVersionIncrement(request.getRecipeId());
         final Unit unit = new Unit(request.getUnitId());
         final RecipeIngredient recipeIngredient = new RecipeIngredient(recipe, ingredient, unit, request.getAmount());
 
         recipeIngredientRepository.save(recipeIngredient);
+        eventPublisher.publishEvent(new RecipesChangedEvent(List.of(request.getRecipeId())));
         return CommandResponse.builder().id(recipeIngredient.getRecipe().getId()).build();
     }
 
@@ -69,12 +82,29 @@ public class RecipeIngredientService {
      * @param ingredientId
      * @return
      */
+    @Transactional
     public void removeIngredientFromRecipe(Long recipeId, Long ingredientId) {
         final RecipeIngredient recipeIngredient = recipeIngredientRepository.findByRecipeIdAndIngredientId(recipeId, ingredientId)
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_INGREDIENT);
                     return new NoSuchElementFoundException(NOT_FOUND_INGREDIENT);
                 });
+        findForVersionIncrement(recipeId);
         recipeIngredientRepository.delete(recipeIngredient);
+        eventPublisher.publishEvent(new RecipesChangedEvent(List.of(recipeId)));
+    }
+
+    /**
+     * Fetches the recipe whose ingredients are changed, and increments its version when the transaction commits
+     *
+     * @param recipeId
+     * @return
+     */
+    private Recipe findForVersionIncrement(Long recipeId) {
+        return recipeRepository.findForVersionIncrementById(recipeId)
+                .orElseThrow(() -> {
+                    log.error(NOT_FOUND_RECIPE);
+                    return new NoSuchElementFoundException(NOT_FOUND_RECIPE);
+                });
     }
 }
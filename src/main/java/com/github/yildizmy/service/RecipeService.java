@@ -1,29 +1,42 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.RecipeField;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.common.filter.SearchSpecification;
 import com.github.yildizmy.dto.mapper.RecipeRequestMapper;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
 import com.github.yildizmy.dto.request.RecipeRequest;
 import com.github.yildizmy.dto.request.RecipeSearchRequest;
 import com.github.yildizmy.dto.response.CategoryResponse;
 import com.github.yildizmy.dto.response.CommandResponse;
 import com.github.yildizmy.dto.response.RecipeIngredientResponse;
 import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.event.RecipesChangedEvent;
 import com.github.yildizmy.exception.ElementAlreadyExistsException;
 import com.github.yildizmy.exception.NoSuchElementFoundException;
 import com.github.yildizmy.model.*;
 import com.github.yildizmy.repository.CategoryRepository;
 import com.github.yildizmy.repository.IngredientRepository;
 import com.github.yildizmy.repository.RecipeRepository;
+import com.github.yildizmy.repository.RecipeSearchQuery;
+import com.github.yildizmy.repository.RecipeVersion;
 import com.github.yildizmy.repository.UnitRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.github.yildizmy.common.Constants.*;
 import static org.apache.commons.text.WordUtils.capitalizeFully;
@@ -36,25 +49,51 @@ import static org.apache.commons.text.WordUtils.capitalizeFully;
 @RequiredArgsConstructor
 public class RecipeService {
 
+    /**
+     * Maximum number of recipes matching the ingredients that are given to the search query by their ids
+     */
+    private static final int MAX_SEARCH_ID_PARAMETERS = 1000;
+
     private final RecipeRepository recipeRepository;
     private final CategoryRepository categoryRepository;
     private final IngredientRepository ingredientRepository;
     private final UnitRepository unitRepository;
     private final RecipeRequestMapper recipeRequestMapper;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Fetches a recipe by the given id
+     * Fetches a recipe by the given id. The whole recipe is read from the second-level cache, and a recipe
+     * with some of its fields only is selected from the database without the other columns and associations.
      *
      * @param id
+     * @param fields selected fields of the response
      * @return
      */
     @Transactional(readOnly = true)
-    public RecipeResponse findById(Long id) {
-        return recipeRepository.findById(id)
-                .map(recipe -> new RecipeResponse(
+    public RecipeResponse findById(Long id, Set<RecipeField> fields) {
+        final Optional<RecipeResponse> response = fields.equals(RecipeField.ALL)
+                ? recipeRepository.findById(id).map(recipe -> new RecipeResponse(
                         recipe,
                         new CategoryResponse(recipe.getCategory()),
                         recipe.getRecipeIngredients().stream().map(RecipeIngredientResponse::new).toList()))
+                : Optional.ofNullable(findAllResponses(List.of(id), fields).get(id));
+        return response
+                .orElseThrow(() -> {
+                    log.error(NOT_FOUND_RECIPE);
+                    return new NoSuchElementFoundException(NOT_FOUND_RECIPE);
+                });
+    }
+
+    /**
+     * Fetches the versions the response of the given recipe is built from, which change whenever the response does
+     *
+     * @param id
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public RecipeVersion findVersionById(Long id) {
+        return recipeRepository.findVersionById(id)
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_RECIPE);
                     return new NoSuchElementFoundException(NOT_FOUND_RECIPE);
@@ -65,47 +104,105 @@ public class RecipeService {
      * Fetches all recipes based on the given recipe filter parameters
      *
      * @param request
+     * @param fields  selected fields of the responses
      * @return Paginated recipe data
      */
     @Transactional(readOnly = true)
-    public Page<RecipeResponse> findAll(SearchRequest request) {
+    public Slice<RecipeResponse> findAll(SearchRequest request, Set<RecipeField> fields) {
         final SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
-        final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
-        final Page<RecipeResponse> recipes = recipeRepository.findAll(specification, pageable)
-                .map(recipe -> new RecipeResponse(
-                        recipe,
-                        new CategoryResponse(recipe.getCategory()),
-                        recipe.getRecipeIngredients().stream().map(RecipeIngredientResponse::new).toList()));
-        if (recipes.isEmpty()) {
+        final Slice<Long> ids;
+        if (request.isCursor()) {
+            ids = recipeRepository.findAllIds(specification);
+        } else {
+            final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+            ids = recipeRepository.findAllIds(specification, pageable, specification.getCountMode());
+        }
+        if (ids.isEmpty()) {
             log.error(NOT_FOUND_RECORD);
             throw new NoSuchElementFoundException(NOT_FOUND_RECORD);
         }
-        return recipes;
+        final Map<Long, RecipeResponse> recipes = findAllResponses(ids.getContent(), fields);
+        return ids.map(recipes::get);
     }
 
     /**
-     * Search recipes based on the given recipe and ingredient parameters
+     * Search recipes based on the given recipe and ingredient parameters. The ingredients are resolved by
+     * RecipeIngredientIndex and only the recipes of the requested page are read from the database.
      *
      * @param request
-     * @return Recipe list
+     * @param fields  selected fields of the responses
+     * @return Paginated recipe data
      */
     @Transactional(readOnly = true)
-    public List<RecipeResponse> search(RecipeSearchRequest request) {
-        final List<RecipeResponse> recipes = recipeRepository.search(
-                        request.getIsVegetarian(),
-                        request.getServings(),
-                        request.getIngredientIn(),
-                        request.getIngredientEx(),
-                        request.getText()).stream()
-                .map(recipe -> new RecipeResponse(
-                        recipe,
-                        new CategoryResponse(recipe.getCategory()),
-                        recipe.getRecipeIngredients().stream().map(RecipeIngredientResponse::new).toList()))
-                .toList();
-        if (recipes.isEmpty()) {
+    public Slice<RecipeResponse> search(RecipeSearchRequest request, Set<RecipeField> fields) {
+        final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+        final Roaring64Bitmap matches = recipeIngredientIndex.find(request.getIngredientIn(), request.getIngredientEx());
+        // one more id is read to find out if there is a next page
+        final List<Long> ids = findIds(request, matches, (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        if (ids.isEmpty()) {
             log.error(NOT_FOUND_RECORD);
             throw new NoSuchElementFoundException(NOT_FOUND_RECORD);
         }
+        final List<Long> content = ids.subList(0, Math.min(ids.size(), pageable.getPageSize()));
+        final Map<Long, RecipeResponse> recipes = findAllResponses(content, fields);
+        return new SliceImpl<>(content.stream().map(recipes::get).filter(Objects::nonNull).toList(),
+                pageable, ids.size() > pageable.getPageSize());
+    }
+
+    /**
+     * Finds the ids of the given page of the recipes matching the given request. Without ingredients, the page
+     * is selected by the database. If only ingredients are given and the results are sorted by id, the page is
+     * read from the bitmap without querying the database. Otherwise the page is still selected by the database:
+     * a few matching recipes are given to it by their ids, and more of them by the ingredient semi joins, so that
+     * the ids matching only the recipe parameters are not all read.
+     *
+     * @param request
+     * @param matches ids of the recipes matching the ingredients, or null if no ingredient is given
+     * @param offset
+     * @param limit
+     * @return Recipe ids in the requested order
+     */
+    private List<Long> findIds(RecipeSearchRequest request, Roaring64Bitmap matches, int offset, int limit) {
+        final Stream<Long> ids;
+        if (matches == null) {
+            // the ingredients are given to the database if the index is disabled
+            ids = recipeRepository.searchIds(new RecipeSearchQuery(request, true), offset, limit);
+        } else if (matches.isEmpty()) {
+            return List.of();
+        } else if (!request.hasRecipeFilters() && request.isSortedById()) {
+            ids = StreamSupport.stream(Spliterators.spliteratorUnknownSize(matches.iterator(),
+                    Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                    .skip(offset)
+                    .limit(limit);
+        } else if (matches.getLongCardinality() <= MAX_SEARCH_ID_PARAMETERS) {
+            final List<Long> matchIds = Arrays.stream(matches.toArray()).boxed().toList();
+            ids = recipeRepository.searchIds(new RecipeSearchQuery(request, matchIds), offset, limit);
+        } else {
+            ids = recipeRepository.searchIds(new RecipeSearchQuery(request, true), offset, limit);
+        }
+        try (ids) {
+            return ids.toList();
+        }
+    }
+
+    /**
+     * Builds the responses of the given recipes by selecting only the columns they need, instead of
+     * hydrating the recipes with their category, ingredients and units as managed entities. The ingredients
+     * are only queried if they are selected.
+     *
+     * @param ids
+     * @param fields selected fields of the responses
+     * @return Recipe responses mapped by their ids
+     */
+    private Map<Long, RecipeResponse> findAllResponses(List<Long> ids, Set<RecipeField> fields) {
+        final Map<Long, RecipeResponse> recipes = recipeRepository.findResponsesByIdIn(ids, fields).stream()
+                .collect(Collectors.toMap(RecipeResponse::getId, Function.identity()));
+        if (fields.contains(RecipeField.INGREDIENTS)) {
+            final Map<Long, List<RecipeIngredientResponse>> ingredients = recipeRepository
+                    .findIngredientResponsesByRecipeIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(RecipeIngredientResponse::getRecipeId));
+            recipes.values().forEach(recipe -> recipe.setIngredients(ingredients.getOrDefault(recipe.getId(), List.of())));
+        }
         return recipes;
     }
 
@@ -116,8 +213,11 @@ public class RecipeService {
      * @return
      */
     @Transactional
+    // new ingredients invalidate the cached results of the ingredient name lookups
+    @CacheEvict(cacheNames = CACHE_INGREDIENT_NAMES, allEntries = true,
+            condition = "!#p0.recipeIngredients.?[ingredientId == 0].isEmpty()")
     public CommandResponse create(RecipeRequest request) {
-        final Category category = categoryRepository.findById(request.getCategoryId())
+        final Category category = categoryRepository.findCachedById(request.getCategoryId())
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_CATEGORY);
                     return new NoSuchElementFoundException(NOT_FOUND_CATEGORY);
@@ -125,34 +225,95 @@ public class RecipeService {
         final Recipe recipe = recipeRequestMapper.toEntity(request);
         recipe.setCategory(category);
 
-        request.getRecipeIngredients().stream()
-                .forEach(recipeIngredient -> {
-                    final Ingredient ingredient;
-                    if (recipeIngredient.getIngredientId() != 0) {
-                        ingredient = ingredientRepository.findById(recipeIngredient.getIngredientId())
-                                .orElseThrow(() -> {
-                                    log.error(NOT_FOUND_INGREDIENT);
-                                    return new NoSuchElementFoundException(NOT_FOUND_INGREDIENT);
-                                });
-                    } else {
-                        // check if the new ingredient is already defined before
-                        if (ingredientRepository.existsByNameIgnoreCase(recipeIngredient.getIngredientName())) {
-                            log.error(String.format(ALREADY_EXISTS_INGREDIENT, recipeIngredient.getIngredientId()));
-                            throw new ElementAlreadyExistsException(String.format(ALREADY_EXISTS_INGREDIENT, recipeIngredient.getIngredientId()));
-                        }
-                        ingredient = ingredientRepository.save(new Ingredient(0L, recipeIngredient.getIngredientName()));
-                    }
-                    final Unit unit = unitRepository.findById(recipeIngredient.getUnitId())
-                            .orElseThrow(() -> {
-                                log.error(NOT_FOUND_UNIT);
-                                return new NoSuchElementFoundException(NOT_FOUND_UNIT);
-                            });
-                    recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, recipeIngredient.getAmount()));
-                });
+        // all ingredients and units of the request are resolved in bulk instead of one by one
+        final List<RecipeIngredientRequest> recipeIngredients = request.getRecipeIngredients();
+        final Map<Long, Ingredient> ingredients = findIngredients(recipeIngredients);
+        final Map<String, Ingredient> newIngredients = createIngredients(recipeIngredients);
+        final Map<Long, Unit> units = findUnits(recipeIngredients);
+
+        recipeIngredients.forEach(recipeIngredient -> {
+            final Ingredient ingredient = recipeIngredient.getIngredientId() != 0
+                    ? ingredients.get(recipeIngredient.getIngredientId())
+                    : newIngredients.get(recipeIngredient.getIngredientName().toLowerCase());
+            final Unit unit = units.get(recipeIngredient.getUnitId());
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, recipeIngredient.getAmount()));
+        });
         recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipesChangedEvent(List.of(recipe.getId())));
         return CommandResponse.builder().id(recipe.getId()).build();
     }
 
+    /**
+     * Fetches the existing ingredients of the given recipe ingredients using a single query
+     *
+     * @param recipeIngredients
+     * @return Ingredients mapped by their ids
+     */
+    private Map<Long, Ingredient> findIngredients(List<RecipeIngredientRequest> recipeIngredients) {
+        final Set<Long> ids = recipeIngredients.stream()
+                .map(RecipeIngredientRequest::getIngredientId)
+                .filter(id -> id != 0)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        final Map<Long, Ingredient> ingredients = ingredientRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+        if (ingredients.size() != ids.size()) {
+            log.error(NOT_FOUND_INGREDIENT);
+            throw new NoSuchElementFoundException(NOT_FOUND_INGREDIENT);
+        }
+        return ingredients;
+    }
+
+    /**
+     * Fetches the units of the given recipe ingredients using a single query
+     *
+     * @param recipeIngredients
+     * @return Units mapped by their ids
+     */
+    private Map<Long, Unit> findUnits(List<RecipeIngredientRequest> recipeIngredients) {
+        final Set<Long> ids = recipeIngredients.stream()
+                .map(RecipeIngredientRequest::getUnitId)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        final Map<Long, Unit> units = unitRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Unit::getId, Function.identity()));
+        if (units.size() != ids.size()) {
+            log.error(NOT_FOUND_UNIT);
+            throw new NoSuchElementFoundException(NOT_FOUND_UNIT);
+        }
+        return units;
+    }
+
+    /**
+     * Creates the new ingredients of the given recipe ingredients after checking that none of them
+     * is already defined before, using a single query for the check
+     *
+     * @param recipeIngredients
+     * @return Created ingredients mapped by their lower case names
+     */
+    private Map<String, Ingredient> createIngredients(List<RecipeIngredientRequest> recipeIngredients) {
+        final Map<String, Ingredient> ingredients = recipeIngredients.stream()
+                .filter(recipeIngredient -> recipeIngredient.getIngredientId() == 0)
+                .collect(Collectors.toMap(recipeIngredient -> recipeIngredient.getIngredientName().toLowerCase(),
+                        recipeIngredient -> new Ingredient(null, recipeIngredient.getIngredientName()),
+                        (ingredient, duplicate) -> ingredient));
+        if (ingredients.isEmpty()) {
+            return ingredients;
+        }
+        // check if any of the new ingredients is already defined before
+        final List<String> existingNames = ingredientRepository.findNamesByLowerNameIn(ingredients.keySet());
+        if (!existingNames.isEmpty()) {
+            log.error(String.format(ALREADY_EXISTS_INGREDIENT_NAME, existingNames.get(0)));
+            throw new ElementAlreadyExistsException(String.format(ALREADY_EXISTS_INGREDIENT_NAME, existingNames.get(0)));
+        }
+        ingredientRepository.saveAll(ingredients.values());
+        return ingredients;
+    }
+
     /**
      * Updates recipe using the given request parameters
      *
@@ -168,7 +329,7 @@ public class RecipeService {
                     return new NoSuchElementFoundException(NOT_FOUND_RECIPE);
                 });
 
-        final Category category = categoryRepository.findById(request.getCategoryId())
+        final Category category = categoryRepository.findCachedById(request.getCategoryId())
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_CATEGORY);
                     return new NoSuchElementFoundException(NOT_FOUND_CATEGORY);
@@ -200,5 +361,6 @@ public class RecipeService {
                     return new NoSuchElementFoundException(NOT_FOUND_RECIPE);
                 });
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(new RecipesChangedEvent(List.of(id)));
     }
 }
@@ -1,19 +1,23 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.common.filter.SearchSpecification;
 import com.github.yildizmy.dto.mapper.UnitRequestMapper;
 import com.github.yildizmy.dto.request.UnitRequest;
 import com.github.yildizmy.dto.response.CommandResponse;
 import com.github.yildizmy.dto.response.UnitResponse;
+import com.github.yildizmy.event.CatalogChangedEvent;
 import com.github.yildizmy.exception.ElementAlreadyExistsException;
 import com.github.yildizmy.exception.NoSuchElementFoundException;
 import com.github.yildizmy.model.Unit;
 import com.github.yildizmy.repository.UnitRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +32,11 @@ import static org.apache.commons.text.WordUtils.capitalizeFully;
 @RequiredArgsConstructor
 public class UnitService {
 
+    private static final Projection<UnitResponse> PROJECTION = Projection.of(UnitResponse.class, "id", "name");
+
     private final UnitRepository unitRepository;
     private final UnitRequestMapper unitRequestMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Fetches a unit by the given id
@@ -38,7 +45,7 @@ public class UnitService {
      * @return
      */
     public UnitResponse findById(Long id) {
-        return unitRepository.findById(id)
+        return unitRepository.findCachedById(id)
                 .map(UnitResponse::new)
                 .orElseThrow(() -> {
                     log.error(NOT_FOUND_UNIT);
@@ -53,11 +60,15 @@ public class UnitService {
      * @return Paginated unit data
      */
     @Transactional(readOnly = true)
-    public Page<UnitResponse> findAll(SearchRequest request) {
+    public Slice<UnitResponse> findAll(SearchRequest request) {
         final SearchSpecification<Unit> specification = new SearchSpecification<>(request);
-        final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
-        final Page<UnitResponse> units = unitRepository.findAll(specification, pageable)
-                .map(UnitResponse::new);
+        final Slice<UnitResponse> units;
+        if (request.isCursor()) {
+            units = specification.toSlice(unitRepository.findAll(specification, PROJECTION, specification.getLimit()));
+        } else {
+            final Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+            units = unitRepository.findAll(specification, PROJECTION, pageable, specification.getCountMode());
+        }
         if (units.isEmpty()) {
             log.error(NOT_FOUND_RECORD);
             throw new NoSuchElementFoundException(NOT_FOUND_RECORD);
@@ -71,6 +82,7 @@ public class UnitService {
      * @param request
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_UNITS, CACHE_UNIT_NAMES}, allEntries = true)
     public CommandResponse create(UnitRequest request) {
         if (unitRepository.existsByNameIgnoreCase(request.getName())) {
             log.error(ALREADY_EXISTS_UNIT);
@@ -87,6 +99,7 @@ public class UnitService {
      * @param request
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_UNITS, CACHE_UNIT_NAMES}, allEntries = true)
     public CommandResponse update(UnitRequest request) {
         final Unit unit = unitRepository.findById(request.getId())
                 .orElseThrow(() -> {
@@ -109,6 +122,7 @@ public class UnitService {
      * @param id
      * @return
      */
+    @CacheEvict(cacheNames = {CACHE_UNITS, CACHE_UNIT_NAMES}, allEntries = true)
     public void deleteById(Long id) {
         final Unit unit = unitRepository.findById(id)
                 .orElseThrow(() -> {
@@ -116,5 +130,6 @@ public class UnitService {
                     return new NoSuchElementFoundException(NOT_FOUND_UNIT);
                 });
         unitRepository.delete(unit);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
     }
 }
@@ -3,6 +3,7 @@ package com.github.yildizmy.validator;
 import com.github.yildizmy.dto.request.RecipeRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 import com.github.yildizmy.dto.request.RecipeIngredientRequest;
 import com.github.yildizmy.util.StringUtils;
 
@@ -13,6 +14,7 @@ import javax.validation.ConstraintValidatorContext;
  * Validates the ingredients in the RecipeRequest. If the request contains duplicate ingredients returns error
  */
 @Slf4j(topic = "IngredientValidator")
+@Component
 @RequiredArgsConstructor
 public class IngredientValidator implements ConstraintValidator<ValidIngredient, RecipeRequest> {
 
@@ -0,0 +1,10 @@
+-- precomputed full text search document used by RecipeRepository.search (title > description > instructions)
+alter table recipe
+    add column if not exists search_vector tsvector
+        generated always as (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B') ||
+            setweight(to_tsvector('english', coalesce(instructions, '')), 'C')
+        ) stored;
+
+create index if not exists idx_recipe_search_vector on recipe using gin (search_vector);
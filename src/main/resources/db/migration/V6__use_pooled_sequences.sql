@@ -0,0 +1,28 @@
+-- identity columns disable Hibernate insert batching, so ids are taken from sequences instead.
+-- The increment matches the allocationSize of the entities (pooled optimizer): each nextval reserves
+-- the 50 ids up to the returned value, so the sequences start 50 above the current max id.
+create sequence if not exists category_seq increment by 50;
+create sequence if not exists ingredient_seq increment by 50;
+create sequence if not exists recipe_seq increment by 50;
+create sequence if not exists unit_seq increment by 50;
+
+select setval('category_seq', coalesce((select max(id) from category), 0) + 50, false);
+select setval('ingredient_seq', coalesce((select max(id) from ingredient), 0) + 50, false);
+select setval('recipe_seq', coalesce((select max(id) from recipe), 0) + 50, false);
+select setval('unit_seq', coalesce((select max(id) from unit), 0) + 50, false);
+
+alter table category alter column id drop identity if exists;
+alter table ingredient alter column id drop identity if exists;
+alter table recipe alter column id drop identity if exists;
+alter table unit alter column id drop identity if exists;
+
+-- rows inserted outside the application still get unique ids
+alter table category alter column id set default nextval('category_seq');
+alter table ingredient alter column id set default nextval('ingredient_seq');
+alter table recipe alter column id set default nextval('recipe_seq');
+alter table unit alter column id set default nextval('unit_seq');
+
+alter sequence category_seq owned by category.id;
+alter sequence ingredient_seq owned by ingredient.id;
+alter sequence recipe_seq owned by recipe.id;
+alter sequence unit_seq owned by unit.id;
@@ -0,0 +1,13 @@
+-- foreign keys are not indexed by PostgreSQL, but they are looked up by the cascading deletes of Hibernate
+-- and by the foreign key checks when a category, ingredient or unit is deleted
+create index if not exists idx_recipe_category_id on recipe (category_id);
+-- also covers the ingredient semi joins of the search (ingredient -> recipes) without reading the table
+create index if not exists idx_recipe_ingredient_ingredient_id on recipe_ingredient (ingredient_id, recipe_id);
+create index if not exists idx_recipe_ingredient_unit_id on recipe_ingredient (unit_id);
+
+-- selective filters of the recipe search
+create index if not exists idx_recipe_health_label on recipe (health_label);
+create index if not exists idx_recipe_servings on recipe (servings);
+
+-- case-insensitive ingredient lookups (existsByNameIgnoreCase, findNamesByLowerNameIn and the search)
+create index if not exists idx_ingredient_lower_name on ingredient (lower(name));
@@ -0,0 +1,5 @@
+-- optimistic locking versions of Hibernate, which are also the ETags of the read endpoints
+alter table recipe add column if not exists version bigint not null default 0;
+alter table category add column if not exists version bigint not null default 0;
+alter table unit add column if not exists version bigint not null default 0;
+alter table ingredient add column if not exists version bigint not null default 0;
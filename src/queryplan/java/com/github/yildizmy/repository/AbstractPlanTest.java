@@ -0,0 +1,223 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Base class of the plan regression tests running against a PostgreSQL database migrated by Flyway and seeded
+ * with 'queryplan.recipes' recipes. The database is an embedded PostgreSQL binary unless 'queryplan.url' is given
+ * (see docs/how_to_test.md). The statements sent by Hibernate are recorded by {@link StatementCollector}.
+ * <p>
+ * The recipe, recipe_ingredient and ingredient tables are large, so reading any of them sequentially is a
+ * regression. The category and unit tables only contain the reference data of the migrations.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.github.yildizmy.repository.AbstractPlanTest$StatementCollector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class AbstractPlanTest {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (recipe|recipe_ingredient|ingredient) ");
+    private static final int INGREDIENTS = 20_000;
+
+    // stopped by the shutdown hook of EmbeddedPostgres, as the context is shared by the test classes
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Name of the most frequent ingredient
+     */
+    protected String frequentIngredient;
+
+    /**
+     * Name of the least frequent ingredient used by a recipe
+     */
+    protected String rareIngredient;
+
+    /**
+     * Id of a recipe and of one of its ingredients
+     */
+    protected Long recipeId;
+
+    protected Long ingredientId;
+
+    protected Long unusedIngredientId;
+
+    protected Long unusedCategoryId;
+
+    protected Long unusedUnitId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        String url = System.getProperty("queryplan.url", "");
+        String username = System.getProperty("queryplan.username", "postgres");
+        String password = System.getProperty("queryplan.password", "postgres");
+        if (url.isBlank()) {
+            if (postgres == null) {
+                postgres = EmbeddedPostgres.builder().start();
+            }
+            url = postgres.getJdbcUrl("postgres", "postgres");
+            password = "";
+        }
+        registry.add("spring.datasource.url", url::toString);
+        registry.add("spring.datasource.username", username::toString);
+        registry.add("spring.datasource.password", password::toString);
+    }
+
+    /**
+     * Seeds the recipes unless the database already contains them, and refreshes the statistics used by the
+     * planner. The ingredients of the recipes are skewed towards the lowest ids, so that there are frequent and
+     * rare ingredients. Servings above 6 and health labels other than the default are rare. All recipes belong
+     * to the first category and use the first unit.
+     */
+    @BeforeAll
+    void seed() throws SQLException {
+        // a single connection, so that the random values are generated from the same seed
+        try (Connection connection = dataSource.getConnection()) {
+            final JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            final int recipes = Integer.getInteger("queryplan.recipes", 100_000);
+            final int count = Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT count(*) FROM recipe", Integer.class));
+            if (count < recipes) {
+                jdbcTemplate.execute("SELECT setseed(0.42)");
+                jdbcTemplate.update("INSERT INTO ingredient (name) SELECT 'Plan Ingredient ' || g "
+                        + "FROM generate_series(1, ?) g ON CONFLICT DO NOTHING", INGREDIENTS);
+                jdbcTemplate.update("INSERT INTO recipe (title, description, prep_time, cook_time, servings, instructions, "
+                        + "difficulty, health_label, category_id) "
+                        + "SELECT 'Recipe ' || g, 'Description ' || g, g % 120, g % 240, "
+                        + "CASE WHEN g % 500 = 0 THEN 7 + g / 500 % 6 ELSE 1 + g % 6 END, 'Step ' || md5(g::text), "
+                        + toArray(Difficulty.values()) + "[1 + g % " + Difficulty.values().length + "], "
+                        + "CASE WHEN g % 500 = 0 THEN " + toArray(HealthLabel.values())
+                        + "[1 + g / 500 % " + HealthLabel.values().length + "] ELSE '" + HealthLabel.DEFAULT.name() + "' END, "
+                        + "(SELECT min(id) FROM category) FROM generate_series(1, ?) g", recipes - count);
+                jdbcTemplate.update("INSERT INTO recipe_ingredient (recipe_id, ingredient_id, amount, unit_id) "
+                        + "SELECT r.id, i.ids[1 + floor(power(random(), 3) * array_length(i.ids, 1))::int], 100, u.id "
+                        + "FROM recipe r CROSS JOIN generate_series(1, 5) "
+                        + "CROSS JOIN (SELECT array_agg(id ORDER BY id) ids FROM ingredient) i "
+                        + "CROSS JOIN (SELECT min(id) id FROM unit) u "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM recipe_ingredient ri WHERE ri.recipe_id = r.id) "
+                        + "ON CONFLICT DO NOTHING");
+                jdbcTemplate.update("INSERT INTO ingredient (name) VALUES ('Plan Unused Ingredient') ON CONFLICT DO NOTHING");
+            }
+            jdbcTemplate.execute("ANALYZE");
+            frequentIngredient = jdbcTemplate.queryForObject("SELECT i.name FROM ingredient i "
+                    + "JOIN recipe_ingredient ri ON ri.ingredient_id = i.id "
+                    + "GROUP BY i.id ORDER BY count(*) DESC, i.id LIMIT 1", String.class);
+            rareIngredient = jdbcTemplate.queryForObject("SELECT i.name FROM ingredient i "
+                    + "JOIN recipe_ingredient ri ON ri.ingredient_id = i.id "
+                    + "GROUP BY i.id ORDER BY count(*), i.id LIMIT 1", String.class);
+            recipeId = jdbcTemplate.queryForObject("SELECT min(id) FROM recipe", Long.class);
+            ingredientId = jdbcTemplate.queryForObject("SELECT min(ingredient_id) FROM recipe_ingredient "
+                    + "WHERE recipe_id = ?", Long.class, recipeId);
+            unusedIngredientId = jdbcTemplate.queryForObject("SELECT max(id) FROM ingredient i "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM recipe_ingredient ri WHERE ri.ingredient_id = i.id)", Long.class);
+            unusedCategoryId = jdbcTemplate.queryForObject("SELECT max(id) FROM category c "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM recipe r WHERE r.category_id = c.id)", Long.class);
+            unusedUnitId = jdbcTemplate.queryForObject("SELECT max(id) FROM unit u "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM recipe_ingredient ri WHERE ri.unit_id = u.id)", Long.class);
+        }
+    }
+
+    /**
+     * Returns the plan of the given statement
+     *
+     * @param sql    statement with positional parameters
+     * @param values values of the parameters, the ones beyond the parameters of the statement are ignored
+     * @return Plan in text format
+     */
+    protected String explain(String sql, Object... values) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                final int parameters = statement.getParameterMetaData().getParameterCount();
+                if (parameters > values.length) {
+                    throw new IllegalArgumentException("Missing parameter values of " + sql);
+                }
+                for (int i = 0; i < parameters; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                final List<String> rows = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows.add(resultSet.getString(1));
+                    }
+                }
+                return String.join("\n", rows);
+            }
+        });
+    }
+
+    /**
+     * Runs the given repository call and returns the plans of the distinct statements it sent
+     *
+     * @param call   repository call, flushing the persistence context if it changes entities
+     * @param values values of the parameters of the statements
+     * @return Plans in text format separated by blank lines, in the order of the statements
+     */
+    protected String explainAll(Runnable call, Object... values) {
+        StatementCollector.STATEMENTS.clear();
+        call.run();
+        final List<String> statements = new ArrayList<>(new LinkedHashSet<>(StatementCollector.STATEMENTS));
+        assertFalse(statements.isEmpty(), "No statement was sent");
+        return statements.stream().map(sql -> explain(sql, values)).collect(Collectors.joining("\n\n"));
+    }
+
+    /**
+     * Asserts that none of the large tables is read sequentially
+     *
+     * @param plan
+     */
+    protected static void assertNoSeqScan(String plan) {
+        assertFalse(SEQ_SCAN.matcher(plan).find(), plan);
+    }
+
+    private static String toArray(Enum<?>[] values) {
+        return Arrays.stream(values).map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", ", "(ARRAY[", "])"));
+    }
+
+    /**
+     * Records the statements prepared by Hibernate without changing them
+     */
+    public static class StatementCollector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
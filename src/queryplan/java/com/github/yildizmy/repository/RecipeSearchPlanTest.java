@@ -0,0 +1,116 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.dto.request.RangeRequest;
+import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.model.HealthLabel;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.Query;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plan regression test for the queries composed by RecipeSearchQuery running against a seeded PostgreSQL database
+ */
+class RecipeSearchPlanTest extends AbstractPlanTest {
+
+    private static final int PAGE_LIMIT = 21;
+
+    @Test
+    void plan_should_scanPrimaryKey_when_NoParameterIsGiven() {
+        String plan = explainSearch(new RecipeSearchRequest());
+
+        assertTrue(plan.contains("Scan using pk_recipe on recipe"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void plan_should_useSearchVectorIndex_when_TextIsGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setText("c4ca4238a0b923820dcc509a6f75849b");
+
+        String plan = explainSearch(request);
+
+        assertTrue(plan.contains("idx_recipe_search_vector"), plan);
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void plan_should_useServingsIndex_when_ServingsAreRare() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setServings(RangeRequest.of(12));
+
+        String plan = explainSearch(request);
+
+        assertTrue(plan.contains("idx_recipe_servings"), plan);
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void plan_should_useHealthLabelIndex_when_HealthLabelIsRare() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setHealthLabels(Set.of(HealthLabel.EGG_FREE));
+
+        String plan = explainSearch(request);
+
+        assertTrue(plan.contains("idx_recipe_health_label"), plan);
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void plan_should_useSemiJoin_when_IngredientsAreIncluded() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIngredientIn(List.of(rareIngredient, frequentIngredient));
+        request.setServings(RangeRequest.of(4));
+
+        String plan = explainSearch(request);
+
+        assertTrue(plan.contains("Semi Join"), plan);
+        assertTrue(plan.contains("idx_ingredient_lower_name"), plan);
+        assertTrue(plan.contains("idx_recipe_ingredient_ingredient_id"), plan);
+        assertNoDistinctNorUnusedJoin(plan);
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void plan_should_useAntiJoin_when_IngredientsAreExcluded() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIngredientEx(List.of(frequentIngredient, rareIngredient));
+
+        String plan = explainSearch(request);
+
+        assertTrue(plan.contains("Anti Join"), plan);
+        assertNoDistinctNorUnusedJoin(plan);
+        assertNoSeqScan(plan);
+    }
+
+    /**
+     * Returns the plan of the first page of the query composed of the given request including its ingredients
+     *
+     * @param request
+     * @return Plan in text format
+     */
+    @SuppressWarnings("unchecked")
+    private String explainSearch(RecipeSearchRequest request) {
+        final RecipeSearchQuery searchQuery = new RecipeSearchQuery(request, true);
+        final Query query = entityManager.createNativeQuery("EXPLAIN " + searchQuery.getSql() + " LIMIT " + PAGE_LIMIT);
+        searchQuery.getParameters().forEach(query::setParameter);
+        return String.join("\n", (List<String>) query.getResultList());
+    }
+
+    /**
+     * Asserts that the recipes are not deduplicated and that no table is joined for nothing. A semi join can
+     * still be planned as a join with the unique recipe ids of the ingredient, which are grouped by ri.recipe_id.
+     *
+     * @param plan
+     */
+    private static void assertNoDistinctNorUnusedJoin(String plan) {
+        // a DISTINCT over the recipes is either hashed or sorted by all their columns
+        assertFalse(plan.contains("Group Key: r.") || plan.contains("Sort Key: r.id, r."), plan);
+        assertFalse(plan.contains(" on category"), plan);
+        assertFalse(plan.contains(" on unit"), plan);
+    }
+}
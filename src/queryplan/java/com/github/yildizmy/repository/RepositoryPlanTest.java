@@ -0,0 +1,184 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.*;
+import com.github.yildizmy.model.Recipe;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plan regression test for the statements sent by the repository methods running against a seeded PostgreSQL
+ * database. The plans of the search are tested by RecipeSearchPlanTest.
+ * <p>
+ * Methods reading whole tables by design are not tested: RecipeRepository#streamAllIds and
+ * RecipeIngredientRepository#streamRecipeIdAndIngredientName (RecipeIngredientIndex), and RecipeRepository#streamIds
+ * (export).
+ */
+class RepositoryPlanTest extends AbstractPlanTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Test
+    void recipeRepository_should_readRecipesByPrimaryKey_when_IdsAreGiven() {
+        List<Long> ids = List.of(recipeId, recipeId + 1);
+
+        assertNoSeqScan(explainAll(() -> recipeRepository.findById(recipeId), recipeId));
+        assertNoSeqScan(explainAll(() -> recipeRepository.findAllByIdIn(ids), ids.toArray()));
+        assertNoSeqScan(explainAll(() -> recipeRepository.findIdsByIdIn(ids), ids.toArray()));
+        assertNoSeqScan(explainAll(() -> recipeRepository.findResponsesByIdIn(ids, RecipeField.ALL), ids.toArray()));
+        assertNoSeqScan(explainAll(() -> recipeRepository.findIngredientResponsesByRecipeIdIn(ids), ids.toArray()));
+        assertNoSeqScan(explainAll(() -> recipeRepository.findVersionById(recipeId), recipeId));
+    }
+
+    @Test
+    void findResponsesByIdIn_should_notReadUnselectedColumns_when_FieldsAreSelected() {
+        List<Long> ids = List.of(recipeId, recipeId + 1);
+
+        String plans = explainAll(() -> recipeRepository.findResponsesByIdIn(ids, RecipeField.of(List.of("title"))),
+                ids.toArray());
+        String statements = String.join("\n", StatementCollector.STATEMENTS).toLowerCase(Locale.ROOT);
+
+        assertFalse(statements.contains("instructions"), statements);
+        assertFalse(statements.contains("category"), statements);
+        assertNoSeqScan(plans);
+    }
+
+    @Test
+    void findAllIds_should_useServingsIndex_when_FilteredByRareServings() {
+        SearchRequest request = new SearchRequest(List.of(new FilterRequest("servings", Operator.EQUAL,
+                FieldType.INTEGER, 12, null, null)), List.of(), 0, PAGE_SIZE);
+        Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+
+        // page and count statements, the filter value is inlined
+        String plans = explainAll(() -> recipeRepository.findAllIds(new SearchSpecification<>(request), pageable, CountMode.EXACT),
+                PAGE_SIZE);
+
+        assertTrue(plans.contains("idx_recipe_servings"), plans);
+        assertNoSeqScan(plans);
+    }
+
+    @Test
+    void findAllIds_should_useIngredientIndex_when_FilteredByIngredientName() {
+        SearchRequest request = new SearchRequest(List.of(new FilterRequest("recipeIngredients.ingredient.name",
+                Operator.EQUAL, FieldType.STRING, rareIngredient, null, null)),
+                List.of(new SortRequest("category.name", SortDirection.ASC)), 0, PAGE_SIZE);
+        Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+
+        // page and count statements, the ingredients are read by an EXISTS subquery
+        String plans = explainAll(() -> recipeRepository.findAllIds(new SearchSpecification<>(request), pageable, CountMode.EXACT),
+                rareIngredient, PAGE_SIZE);
+
+        assertTrue(plans.contains("idx_recipe_ingredient_ingredient_id"), plans);
+        assertNoSeqScan(plans);
+    }
+
+    @Test
+    void findAllIds_should_readEstimateInsteadOfCounting_when_CountIsApproximate() {
+        SearchRequest request = new SearchRequest(List.of(), List.of(), 1, PAGE_SIZE);
+        request.setCountMode(CountMode.APPROXIMATE);
+        SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+        Pageable pageable = SearchSpecification.getPageable(request.getPage(), request.getSize());
+        long count = recipeRepository.count();
+
+        // the page statement and the estimate from the statistics refreshed by seed()
+        String plans = explainAll(() -> recipeRepository.findAllIds(specification, pageable, specification.getCountMode()),
+                PAGE_SIZE + 1, PAGE_SIZE);
+        Page<Long> page = (Page<Long>) recipeRepository.findAllIds(specification, pageable, specification.getCountMode());
+
+        assertFalse(plans.contains("Aggregate"), plans);
+        assertNoSeqScan(plans);
+        assertEquals(count, page.getTotalElements(), count / 100.0);
+    }
+
+    @Test
+    void deleteById_should_readIngredientsByRecipe_when_RecipeIsDeleted() {
+        assertNoSeqScan(explainAll(() -> {
+            recipeRepository.deleteById(recipeId);
+            entityManager.flush();
+        }, recipeId, ingredientId));
+    }
+
+    @Test
+    void recipeIngredientRepository_should_usePrimaryKey_when_RecipeIsGiven() {
+        assertNoSeqScan(explainAll(() -> recipeIngredientRepository.findByRecipeIdAndIngredientId(recipeId, ingredientId),
+                recipeId, ingredientId));
+        assertNoSeqScan(explainAll(() -> recipeIngredientRepository.existsByRecipeIdAndIngredientId(recipeId, ingredientId),
+                recipeId, ingredientId, 1));
+        assertNoSeqScan(explainAll(() -> recipeIngredientRepository.findRecipeIdAndIngredientNameByRecipeIdIn(
+                List.of(recipeId, recipeId + 1)), recipeId, recipeId + 1));
+    }
+
+    @Test
+    void ingredientRepository_should_useLowerNameIndex_when_NameIsGiven() {
+        String name = rareIngredient.toUpperCase(Locale.ROOT);
+        List<String> names = List.of(rareIngredient.toLowerCase(Locale.ROOT), frequentIngredient.toLowerCase(Locale.ROOT));
+
+        String plans = explainAll(() -> ingredientRepository.existsByNameIgnoreCase(name), name);
+
+        assertTrue(plans.contains("idx_ingredient_lower_name"), plans);
+        assertNoSeqScan(plans);
+
+        plans = explainAll(() -> ingredientRepository.findNamesByLowerNameIn(names), names.toArray());
+
+        assertTrue(plans.contains("idx_ingredient_lower_name"), plans);
+        assertNoSeqScan(plans);
+        assertNoSeqScan(explainAll(() -> ingredientRepository.findCachedById(ingredientId), ingredientId));
+        assertNoSeqScan(explainAll(() -> ingredientRepository.findAllById(List.of(ingredientId, unusedIngredientId)),
+                ingredientId, unusedIngredientId));
+    }
+
+    @Test
+    void deleteById_should_useIngredientIndex_when_IngredientIsDeleted() {
+        String plans = explainAll(() -> {
+            ingredientRepository.deleteById(unusedIngredientId);
+            entityManager.flush();
+        }, unusedIngredientId, 0L);
+
+        assertTrue(plans.contains("idx_recipe_ingredient_ingredient_id"), plans);
+        assertNoSeqScan(plans);
+    }
+
+    @Test
+    void deleteById_should_useCategoryIndex_when_CategoryIsDeleted() {
+        String plans = explainAll(() -> {
+            categoryRepository.deleteById(unusedCategoryId);
+            entityManager.flush();
+        }, unusedCategoryId, 0L);
+
+        assertTrue(plans.contains("idx_recipe_category_id"), plans);
+        assertNoSeqScan(plans);
+    }
+
+    @Test
+    void deleteById_should_useUnitIndex_when_UnitIsDeleted() {
+        String plans = explainAll(() -> {
+            unitRepository.deleteById(unusedUnitId);
+            entityManager.flush();
+        }, unusedUnitId, 0L);
+
+        assertTrue(plans.contains("idx_recipe_ingredient_unit_id"), plans);
+        assertNoSeqScan(plans);
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.yildizmy.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit Test for ResponseFormat
+ */
+class ResponseFormatTest {
+
+    /**
+     * Method under test: {@link ResponseFormat#of(org.springframework.web.context.request.WebRequest)}
+     */
+    @Test
+    void of_should_returnMostPreferredFormat_when_SeveralAreAccepted() {
+        assertEquals(ResponseFormat.JSON, of(null));
+        assertEquals(ResponseFormat.JSON, of("*/*"));
+        assertEquals(ResponseFormat.JSON, of("application/*, application/cbor;q=0.5"));
+        assertEquals(ResponseFormat.CBOR, of("application/json;q=0.5, application/cbor"));
+        assertEquals(ResponseFormat.SMILE, of("text/html, application/x-jackson-smile"));
+        assertEquals(ResponseFormat.JSON, of("invalid"));
+    }
+
+    /**
+     * Method under test: {@link ResponseFormat#eTag(String)}
+     */
+    @Test
+    void eTag_should_returnWeakETagOfFormat_when_VersionIsGiven() {
+        assertEquals("W/\"1.2.json\"", ResponseFormat.JSON.eTag("1.2"));
+        assertEquals("W/\"1.2.cbor\"", ResponseFormat.CBOR.eTag("1.2"));
+    }
+
+    private static ResponseFormat of(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        return ResponseFormat.of(new ServletWebRequest(request));
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.yildizmy.common.filter;
+
+import com.github.yildizmy.exception.InvalidRequestException;
+import com.github.yildizmy.model.*;
+import com.github.yildizmy.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the nested filter and sort keys of SearchSpecification running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class AttributePathTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntityType<Recipe> recipe;
+
+    @BeforeEach
+    void setUp() {
+        recipe = entityManager.getEntityManager().getMetamodel().entity(Recipe.class);
+        Category soup = entityManager.persist(new Category(null, "Soup", 1));
+        Category dessert = entityManager.persist(new Category(null, "Dessert", 2));
+        Unit unit = entityManager.persist(new Unit(null, "Gram"));
+        Ingredient salt = entityManager.persist(new Ingredient(null, "Salt"));
+        Ingredient seaSalt = entityManager.persist(new Ingredient(null, "Sea Salt"));
+        Ingredient pepper = entityManager.persist(new Ingredient(null, "Pepper"));
+        Ingredient sugar = entityManager.persist(new Ingredient(null, "Sugar"));
+
+        persistRecipe("Tomato Soup", soup, unit, salt, seaSalt, pepper);
+        persistRecipe("Onion Soup", soup, unit, salt);
+        persistRecipe("Cake", dessert, unit, sugar, salt);
+        persistRecipe("Water", null, unit);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Method under test: {@link AttributePath#of(javax.persistence.metamodel.ManagedType, String)}
+     */
+    @Test
+    void of_should_returnEmpty_when_KeyIsNotPathToBasicAttribute() {
+        assertTrue(AttributePath.of(recipe, "category.name").isPresent());
+        assertTrue(AttributePath.of(recipe, "recipeIngredients.ingredient.name").orElseThrow().isCollection());
+        assertTrue(AttributePath.of(recipe, "recipeIngredients.recipeIngredientId.ingredientId").isPresent());
+        assertTrue(AttributePath.of(recipe, "category").isEmpty());
+        assertTrue(AttributePath.of(recipe, "category.unknown").isEmpty());
+        assertTrue(AttributePath.of(recipe, "title.length").isEmpty());
+        assertTrue(AttributePath.of(recipe, "recipeIngredients").isEmpty());
+        assertTrue(AttributePath.of(recipe, "category..name").isEmpty());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_joinAssociationOnce_when_SeveralKeysUseIt() {
+        SearchRequest request = new SearchRequest();
+        request.setFilters(List.of(
+                new FilterRequest("category.name", Operator.EQUAL, FieldType.STRING, "Soup", null, null),
+                new FilterRequest("category.ordinal", Operator.EQUAL, FieldType.INTEGER, "1", null, null)));
+        request.setSorts(List.of(new SortRequest("category.name", SortDirection.ASC)));
+        CriteriaBuilder cb = entityManager.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Recipe> query = cb.createQuery(Recipe.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.where(new SearchSpecification<Recipe>(request).toPredicate(root, query, cb));
+
+        assertEquals(1, root.getJoins().size());
+        assertEquals(List.of("Onion Soup", "Tomato Soup"),
+                entityManager.getEntityManager().createQuery(query).getResultList().stream().map(Recipe::getTitle).sorted().toList());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_notRepeatRecipes_when_SeveralElementsOfCollectionMatch() {
+        Page<Recipe> page = recipeRepository.findAll(new SearchSpecification<>(request(
+                new FilterRequest("recipeIngredients.ingredient.name", Operator.LIKE, FieldType.STRING, "salt", null, null))),
+                SearchSpecification.getPageable(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("Cake", "Onion Soup"), page.getContent().stream().map(Recipe::getTitle).toList());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_matchEachFilterSeparately_when_FiltersUseSameCollection() {
+        List<Recipe> recipes = recipeRepository.findAll(new SearchSpecification<>(request(
+                new FilterRequest("recipeIngredients.ingredient.name", Operator.EQUAL, FieldType.STRING, "Salt", null, null),
+                new FilterRequest("recipeIngredients.ingredient.name", Operator.IN, FieldType.STRING, null, null,
+                        List.of("Pepper", "Sugar")),
+                new FilterRequest("category.name", Operator.EQUAL, FieldType.STRING, "Soup", null, null))));
+
+        assertEquals(List.of("Tomato Soup"), recipes.stream().map(Recipe::getTitle).toList());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toSlice(List)}
+     */
+    @Test
+    void toSlice_should_visitEveryRowOnce_when_SortedByAssociation() {
+        List<String> visited = new ArrayList<>();
+        String after = "";
+        do {
+            // the order of null keys depends on the database, and H2 puts them first unlike PostgreSQL
+            SearchRequest request = request(
+                    new FilterRequest("category.ordinal", Operator.BETWEEN, FieldType.INTEGER, "1", "2", null));
+            request.setSorts(List.of(new SortRequest("category.name", SortDirection.DESC)));
+            request.setSize(1);
+            request.setAfter(after);
+            SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+            CursorSlice<Recipe> slice = specification.toSlice(recipeRepository.findAll(specification, specification.getLimit()));
+            slice.getContent().forEach(recipe -> visited.add(recipe.getTitle()));
+            after = slice.getNext();
+        } while (after != null);
+
+        assertEquals(3, visited.size());
+        assertEquals("Cake", visited.get(2));
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_throw_InvalidRequestException_when_SortKeyIsCollection() {
+        SearchRequest request = new SearchRequest();
+        request.setSorts(List.of(new SortRequest("recipeIngredients.amount", SortDirection.ASC)));
+
+        assertThrows(InvalidRequestException.class, () -> recipeRepository.findAll(new SearchSpecification<>(request)));
+    }
+
+    private void persistRecipe(String title, Category category, Unit unit, Ingredient... ingredients) {
+        Recipe recipe = new Recipe(null, title, "Description", 10, 20, 2,
+                "Instructions", Difficulty.EASY, HealthLabel.DEFAULT);
+        if (category != null) {
+            category.addRecipe(recipe);
+        }
+        for (Ingredient ingredient : ingredients) {
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, BigDecimal.ONE));
+        }
+        entityManager.persist(recipe);
+    }
+
+    private static SearchRequest request(FilterRequest... filters) {
+        SearchRequest request = new SearchRequest();
+        request.setFilters(List.of(filters));
+        request.setSorts(List.of(new SortRequest("title", SortDirection.ASC)));
+        return request;
+    }
+}
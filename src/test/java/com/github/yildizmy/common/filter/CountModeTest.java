@@ -0,0 +1,102 @@
+package com.github.yildizmy.common.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountModeTest {
+
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 3);
+
+    private static final LongSupplier NO_QUERY = () -> {
+        throw new AssertionError("Unexpected query");
+    };
+
+    /**
+     * Method under test: {@link CountMode#toSlice(List, Pageable, LongSupplier, LongSupplier)}
+     */
+    @Test
+    void toSlice_should_returnPageWithCount_when_CountModeIsExact() {
+        Slice<Integer> slice = CountMode.EXACT.toSlice(List.of(4, 5, 6), SECOND_PAGE, () -> 42L, NO_QUERY);
+
+        assertEquals(3, CountMode.EXACT.getLimit(SECOND_PAGE));
+        assertEquals(42L, ((Page<Integer>) slice).getTotalElements());
+    }
+
+    /**
+     * Method under test: {@link CountMode#toSlice(List, Pageable, LongSupplier, LongSupplier)}
+     */
+    @Test
+    void toSlice_should_returnSliceWithoutCount_when_CountModeIsSkip() {
+        Slice<Integer> slice = CountMode.SKIP.toSlice(List.of(4, 5, 6, 7), SECOND_PAGE, NO_QUERY, NO_QUERY);
+
+        assertEquals(4, CountMode.SKIP.getLimit(SECOND_PAGE));
+        assertFalse(slice instanceof Page);
+        assertEquals(List.of(4, 5, 6), slice.getContent());
+        assertTrue(slice.hasNext());
+        assertFalse(CountMode.SKIP.toSlice(List.of(4, 5, 6), SECOND_PAGE, NO_QUERY, NO_QUERY).hasNext());
+    }
+
+    /**
+     * Method under test: {@link CountMode#toSlice(List, Pageable, LongSupplier, LongSupplier)}
+     */
+    @Test
+    void toSlice_should_returnEstimatedTotal_when_CountModeIsApproximate() {
+        Page<Integer> page = (Page<Integer>) CountMode.APPROXIMATE.toSlice(List.of(4, 5, 6, 7), SECOND_PAGE, NO_QUERY, () -> 1000L);
+
+        assertEquals(List.of(4, 5, 6), page.getContent());
+        assertEquals(1000L, page.getTotalElements());
+        assertTrue(page.hasNext());
+    }
+
+    /**
+     * Method under test: {@link CountMode#toSlice(List, Pageable, LongSupplier, LongSupplier)}
+     */
+    @Test
+    void toSlice_should_notContradictRows_when_EstimateIsTooLowOrMissing() {
+        Page<Integer> page = (Page<Integer>) CountMode.APPROXIMATE.toSlice(List.of(4, 5, 6, 7), SECOND_PAGE, NO_QUERY, () -> 2L);
+
+        assertEquals(7L, page.getTotalElements());
+        assertTrue(page.hasNext());
+
+        page = (Page<Integer>) CountMode.APPROXIMATE.toSlice(List.of(4, 5, 6, 7), SECOND_PAGE, () -> 9L, () -> -1L);
+
+        assertEquals(9L, page.getTotalElements());
+    }
+
+    /**
+     * Method under test: {@link CountMode#toSlice(List, Pageable, LongSupplier, LongSupplier)}
+     */
+    @Test
+    void toSlice_should_returnExactTotal_when_ApproximatePageIsLast() {
+        Page<Integer> page = (Page<Integer>) CountMode.APPROXIMATE.toSlice(List.of(4, 5, 6), SECOND_PAGE, NO_QUERY, NO_QUERY);
+
+        assertEquals(6L, page.getTotalElements());
+        assertFalse(page.hasNext());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#getCountMode()}
+     */
+    @Test
+    void getCountMode_should_returnExact_when_ApproximateRequestHasFilters() {
+        SearchRequest request = new SearchRequest();
+
+        assertEquals(CountMode.EXACT, new SearchSpecification<>(request).getCountMode());
+
+        request.setCountMode(CountMode.APPROXIMATE);
+
+        assertEquals(CountMode.APPROXIMATE, new SearchSpecification<>(request).getCountMode());
+
+        request.setFilters(List.of(new FilterRequest("servings", Operator.EQUAL, FieldType.INTEGER, 4, null, null)));
+
+        assertEquals(CountMode.EXACT, new SearchSpecification<>(request).getCountMode());
+    }
+}
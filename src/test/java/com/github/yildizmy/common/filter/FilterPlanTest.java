@@ -0,0 +1,136 @@
+package com.github.yildizmy.common.filter;
+
+import com.github.yildizmy.exception.InvalidRequestException;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import com.github.yildizmy.model.Recipe;
+import com.github.yildizmy.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the filter plans of SearchSpecification running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class FilterPlanTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private EntityType<Recipe> recipe;
+
+    @BeforeEach
+    void setUp() {
+        recipe = entityManager.getMetamodel().entity(Recipe.class);
+        recipeRepository.save(new Recipe(null, "Tomato Soup", "Description", 10, 20, 2,
+                "Instructions", Difficulty.EASY, HealthLabel.VEGETARIAN));
+        recipeRepository.save(new Recipe(null, "Pasta", "Description", 15, 30, 4,
+                "Instructions", Difficulty.HARD, HealthLabel.DEFAULT));
+    }
+
+    /**
+     * Method under test: {@link FilterPlan#of(javax.persistence.metamodel.ManagedType, FilterRequest)}
+     */
+    @Test
+    void of_should_returnSamePlan_when_FiltersHaveSameShape() {
+        FilterPlan plan = FilterPlan.of(recipe, new FilterRequest("servings", Operator.EQUAL, FieldType.INTEGER, "2", null, null));
+
+        assertSame(plan, FilterPlan.of(recipe, new FilterRequest("servings", Operator.EQUAL, FieldType.INTEGER, "4", null, null)));
+        assertNotSame(plan, FilterPlan.of(recipe, new FilterRequest("servings", Operator.NOT_EQUAL, FieldType.INTEGER, "4", null, null)));
+    }
+
+    /**
+     * Method under test: {@link FilterPlan#of(javax.persistence.metamodel.ManagedType, FilterRequest)}
+     */
+    @Test
+    void of_should_throw_InvalidRequestException_when_KeyIsNotBasicAttribute() {
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest("calories", Operator.EQUAL, FieldType.INTEGER, "1", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest("category", Operator.EQUAL, FieldType.LONG, "1", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest(null, Operator.EQUAL, FieldType.LONG, "1", null, null)));
+    }
+
+    /**
+     * Method under test: {@link FilterPlan#of(javax.persistence.metamodel.ManagedType, FilterRequest)}
+     */
+    @Test
+    void of_should_throw_InvalidRequestException_when_TypeDoesNotMatchAttribute() {
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest("title", Operator.EQUAL, FieldType.INTEGER, "1", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest("servings", Operator.LIKE, FieldType.INTEGER, "1", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest("difficulty", Operator.BETWEEN, FieldType.STRING, "EASY", "HARD", null)));
+        assertThrows(InvalidRequestException.class,
+                () -> FilterPlan.of(recipe, new FilterRequest("servings", Operator.EQUAL, null, "1", null, null)));
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_throw_InvalidRequestException_when_ValueCannotBeConverted() {
+        assertThrows(InvalidRequestException.class,
+                () -> findTitles(new FilterRequest("servings", Operator.EQUAL, FieldType.INTEGER, "two", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> findTitles(new FilterRequest("servings", Operator.EQUAL, FieldType.DOUBLE, "2.5", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> findTitles(new FilterRequest("difficulty", Operator.EQUAL, FieldType.STRING, "TRIVIAL", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> findTitles(new FilterRequest("prepTime", Operator.BETWEEN, FieldType.INTEGER, "10", null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> findTitles(new FilterRequest("id", Operator.IN, FieldType.LONG, null, null, List.of())));
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_convertValuesToAttributeType_when_FieldTypeDiffers() {
+        assertEquals(List.of("Pasta"),
+                findTitles(new FilterRequest("difficulty", Operator.EQUAL, FieldType.STRING, "HARD", null, null)));
+        assertEquals(List.of("Pasta"),
+                findTitles(new FilterRequest("servings", Operator.EQUAL, FieldType.LONG, 4, null, null)));
+        assertEquals(List.of("Tomato Soup"),
+                findTitles(new FilterRequest("cookTime", Operator.BETWEEN, FieldType.DOUBLE, "10.0", "25", null)));
+        assertEquals(List.of("Pasta", "Tomato Soup"),
+                findTitles(new FilterRequest("healthLabel", Operator.IN, FieldType.STRING, null, null,
+                        List.of("DEFAULT", "VEGETARIAN"))));
+        assertEquals(List.of("Tomato Soup"),
+                findTitles(new FilterRequest("title", Operator.LIKE, FieldType.STRING, "soup", null, null)));
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_throw_InvalidRequestException_when_SortKeyIsNotBasicAttribute() {
+        SearchRequest request = new SearchRequest();
+        request.setSorts(List.of(new SortRequest("category", SortDirection.ASC)));
+
+        assertThrows(InvalidRequestException.class, () -> recipeRepository.findAll(new SearchSpecification<>(request)));
+    }
+
+    private List<String> findTitles(FilterRequest filter) {
+        SearchRequest request = new SearchRequest();
+        request.setFilters(List.of(filter));
+        request.setSorts(List.of(new SortRequest("title", SortDirection.ASC)));
+        return recipeRepository.findAll(new SearchSpecification<>(request)).stream().map(Recipe::getTitle).toList();
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.yildizmy.common.filter;
+
+import com.github.yildizmy.dto.response.CategoryResponse;
+import com.github.yildizmy.exception.InvalidRequestException;
+import com.github.yildizmy.model.Category;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import com.github.yildizmy.model.Recipe;
+import com.github.yildizmy.repository.CategoryRepository;
+import com.github.yildizmy.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the keyset pagination of SearchSpecification running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class SearchSpecificationTest {
+
+    private static final int RECIPE_COUNT = 30;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < RECIPE_COUNT; i++) {
+            recipeRepository.save(new Recipe(null, "Recipe " + i, "Description", 10, 20, 1 + i % 4,
+                    "Instructions", Difficulty.EASY, HealthLabel.DEFAULT));
+        }
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toSlice(List)}
+     */
+    @Test
+    void toSlice_should_visitEveryRowOnce_when_SortKeyHasDuplicates() {
+        List<Recipe> expected = new ArrayList<>(recipeRepository.findAll());
+        expected.sort(Comparator.comparing(Recipe::getServings).reversed().thenComparing(Recipe::getId));
+
+        List<Recipe> visited = new ArrayList<>();
+        String after = "";
+        do {
+            SearchRequest request = new SearchRequest();
+            request.setSorts(List.of(new SortRequest("servings", SortDirection.DESC)));
+            request.setSize(7);
+            request.setAfter(after);
+            SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+            CursorSlice<Recipe> slice = specification.toSlice(recipeRepository.findAll(specification, specification.getLimit()));
+            visited.addAll(slice.getContent());
+            after = slice.getNext();
+        } while (after != null);
+
+        assertEquals(expected.stream().map(Recipe::getId).toList(), visited.stream().map(Recipe::getId).toList());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toSlice(List)}
+     */
+    @Test
+    void toSlice_should_notRepeatRows_when_RowIsInsertedBeforeCursor() {
+        SearchRequest request = new SearchRequest();
+        request.setSize(10);
+        request.setAfter("");
+        SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+        CursorSlice<Recipe> first = specification.toSlice(recipeRepository.findAll(specification, specification.getLimit()));
+
+        // a row sorted into the first slice must not shift the rows of the next slice
+        recipeRepository.save(new Recipe(null, "Recipe", "Description", 10, 20, 1,
+                "Instructions", Difficulty.EASY, HealthLabel.DEFAULT));
+        request.setAfter(first.getNext());
+        specification = new SearchSpecification<>(request);
+        CursorSlice<Recipe> second = specification.toSlice(recipeRepository.findAll(specification, specification.getLimit()));
+
+        Recipe lastOfFirst = first.getContent().get(first.getNumberOfElements() - 1);
+        assertTrue(second.getContent().stream().allMatch(recipe -> recipe.getId() > lastOfFirst.getId()));
+        assertEquals(10, second.getNumberOfElements());
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toPredicate}
+     */
+    @Test
+    void toPredicate_should_throw_InvalidRequestException_when_CursorIsNotValid() {
+        SearchRequest request = new SearchRequest();
+        request.setAfter("not-a-cursor");
+        SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+
+        assertThrows(InvalidRequestException.class, () -> recipeRepository.findAll(specification, specification.getLimit()));
+    }
+
+    /**
+     * Method under test: {@link SearchSpecification#toSlice(List)}
+     */
+    @Test
+    void toSlice_should_visitEveryRowOnce_when_RowsAreProjections() {
+        for (int i = 0; i < RECIPE_COUNT; i++) {
+            categoryRepository.save(new Category(null, "Category " + i, i % 3));
+        }
+        Projection<CategoryResponse> projection = Projection.of(CategoryResponse.class, "id", "name", "ordinal");
+        List<CategoryResponse> expected = categoryRepository.findAll().stream()
+                .map(CategoryResponse::new)
+                .sorted(Comparator.comparing(CategoryResponse::getOrdinal).reversed().thenComparing(CategoryResponse::getId))
+                .toList();
+
+        List<CategoryResponse> visited = new ArrayList<>();
+        String after = "";
+        do {
+            SearchRequest request = new SearchRequest();
+            request.setSorts(List.of(new SortRequest("ordinal", SortDirection.DESC)));
+            request.setSize(7);
+            request.setAfter(after);
+            SearchSpecification<Category> specification = new SearchSpecification<>(request);
+            CursorSlice<CategoryResponse> slice = specification.toSlice(
+                    categoryRepository.findAll(specification, projection, specification.getLimit()));
+            visited.addAll(slice.getContent());
+            after = slice.getNext();
+        } while (after != null);
+
+        assertEquals(expected, visited);
+    }
+
+    /**
+     * Method under test: {@link com.github.yildizmy.repository.SearchRepository#findAll(org.springframework.data.jpa.domain.Specification, Projection, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void findAll_should_returnPageOfProjections_when_ProjectionIsGiven() {
+        SearchRequest request = new SearchRequest();
+        request.setSorts(List.of(new SortRequest("title", SortDirection.ASC)));
+        SearchSpecification<Recipe> specification = new SearchSpecification<>(request);
+
+        Page<Recipe> entities = recipeRepository.findAll(specification, SearchSpecification.getPageable(1, 7));
+        Page<RecipeKey> projections = recipeRepository.findAll(specification,
+                Projection.of(RecipeKey.class, "id", "title"), SearchSpecification.getPageable(1, 7));
+
+        assertEquals(RECIPE_COUNT, projections.getTotalElements());
+        assertEquals(entities.map(recipe -> new RecipeKey(recipe.getId(), recipe.getTitle())).getContent(),
+                projections.getContent());
+    }
+
+    public record RecipeKey(Long id, String title) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.yildizmy.common.metrics;
+
+import com.github.yildizmy.dto.mapper.CategoryRequestMapper;
+import com.github.yildizmy.dto.request.CategoryRequest;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.exception.ElementAlreadyExistsException;
+import com.github.yildizmy.exception.NoSuchElementFoundException;
+import com.github.yildizmy.model.Category;
+import com.github.yildizmy.repository.CategoryRepository;
+import com.github.yildizmy.repository.ReactiveRecipeRepository;
+import com.github.yildizmy.service.CategoryService;
+import com.github.yildizmy.service.ReactiveRecipeService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Test for ServiceMetricsAspect
+ */
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryRequestMapper categoryRequestMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReactiveRecipeRepository reactiveRecipeRepository;
+
+    private SimpleMeterRegistry registry;
+
+    private CategoryService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CategoryService(categoryRepository, categoryRequestMapper, eventPublisher));
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void time_should_recordSuccess_when_MethodReturns() {
+        when(categoryRepository.findCachedById(1L)).thenReturn(Optional.of(new Category(1L, "Dessert", 1)));
+
+        service.findById(1L);
+        service.findById(1L);
+
+        assertEquals(2, getTimer("findById", ServiceMetricsAspect.SUCCESS).count());
+    }
+
+    @Test
+    void time_should_recordExceptionName_when_MethodThrows() {
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Dessert");
+        when(categoryRepository.findCachedById(1L)).thenReturn(Optional.empty());
+        when(categoryRepository.existsByNameIgnoreCase("Dessert")).thenReturn(true);
+
+        assertThrows(NoSuchElementFoundException.class, () -> service.findById(1L));
+        assertThrows(ElementAlreadyExistsException.class, () -> service.create(request));
+
+        assertEquals(1, getTimer("findById", "NoSuchElementFoundException").count());
+        assertEquals(1, getTimer("create", "ElementAlreadyExistsException").count());
+    }
+
+    @Test
+    void time_should_recordErrorSignal_when_PublisherTerminates() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ReactiveRecipeService(reactiveRecipeRepository, 100));
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        ReactiveRecipeService reactiveService = factory.getProxy();
+        when(reactiveRecipeRepository.findResponsesByIdIn(List.of(1L))).thenReturn(Flux.empty());
+        when(reactiveRecipeRepository.findIngredientResponsesByRecipeIdIn(List.of(1L))).thenReturn(Flux.empty());
+
+        Mono<RecipeResponse> recipe = reactiveService.findById(1L);
+
+        // nothing is recorded until the publisher is subscribed to
+        assertTrue(registry.find(ServiceMetricsAspect.METRIC_NAME).timers().isEmpty());
+
+        StepVerifier.create(recipe).verifyError(NoSuchElementFoundException.class);
+
+        assertEquals(1, getTimer("ReactiveRecipeService", "findById", "NoSuchElementFoundException").count());
+        assertTrue(registry.find(ServiceMetricsAspect.METRIC_NAME).tag("outcome", ServiceMetricsAspect.SUCCESS)
+                .timers().isEmpty());
+    }
+
+    private Timer getTimer(String method, String outcome) {
+        return getTimer("CategoryService", method, outcome);
+    }
+
+    private Timer getTimer(String className, String method, String outcome) {
+        return registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("class", className, "method", method, "outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.yildizmy.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test for BoundedDataSource
+ */
+@ExtendWith(MockitoExtension.class)
+class BoundedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new BoundedDataSource(target, 1, Duration.ofMillis(10));
+    }
+
+    /**
+     * Method under test: {@link BoundedDataSource#getConnection()}
+     */
+    @Test
+    void getConnection_should_throwSQLTransientConnectionException_when_AllConnectionsAreInUse() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(target, times(1)).getConnection();
+
+        first.close();
+        dataSource.getConnection();
+
+        verify(connection).close();
+        verify(target, times(2)).getConnection();
+    }
+
+    /**
+     * Method under test: {@link BoundedDataSource#getConnection()}
+     */
+    @Test
+    void close_should_releaseConnectionOnce_when_ConnectionIsClosedTwice() throws SQLException {
+        dataSource = new BoundedDataSource(target, 2, Duration.ofMillis(10));
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.getAvailableConnections());
+        assertSame(connection, ((ConnectionProxy) first).getTargetConnection());
+    }
+
+    /**
+     * Method under test: {@link BoundedDataSource#getConnection()}
+     */
+    @Test
+    void getConnection_should_releasePermit_when_TargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("Pool is closed"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        assertEquals(1, dataSource.getAvailableConnections());
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.yildizmy.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test for RecipeFieldsModule
+ */
+class RecipeFieldsModuleTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new RecipeFieldsModule());
+
+    /**
+     * Method under test: {@link RecipeFieldsModule}
+     */
+    @Test
+    void serialize_should_leaveOutUnselectedFields_when_FieldsAreSelected() {
+        RecipeResponse recipe = new RecipeResponse();
+        recipe.setId(101L);
+        recipe.setTitle("Title");
+        recipe.setInstructions("Instructions");
+        recipe.setFields(RecipeField.of(List.of("title", "category")));
+
+        JsonNode json = objectMapper.valueToTree(recipe);
+        Set<String> names = new HashSet<>();
+        json.fieldNames().forEachRemaining(names::add);
+
+        assertEquals(Set.of("id", "title", "category"), names);
+        assertTrue(json.get("category").isNull());
+    }
+
+    /**
+     * Method under test: {@link RecipeFieldsModule}
+     */
+    @Test
+    void serialize_should_writeNullFields_when_AllFieldsAreSelected() {
+        RecipeResponse recipe = new RecipeResponse();
+        recipe.setId(101L);
+
+        JsonNode json = objectMapper.valueToTree(recipe);
+
+        assertEquals(RecipeField.ALL.size(), json.size());
+        assertTrue(json.get("instructions").isNull());
+        assertFalse(json.has("fields"));
+    }
+
+    /**
+     * Method under test: {@link RecipeField#of(java.util.Collection)}
+     */
+    @Test
+    void of_should_throw_InvalidRequestException_when_FieldIsUnknown() {
+        assertSame(RecipeField.ALL, RecipeField.of(null));
+        assertEquals(Set.of(RecipeField.ID, RecipeField.PREP_TIME), RecipeField.of(List.of(" prepTime")));
+        assertThrows(InvalidRequestException.class, () -> RecipeField.of(List.of("title", "version")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.yildizmy.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.dto.response.ApiResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test for SerializationConfig
+ */
+class SerializationConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withUserConfiguration(AppConfig.class, SerializationConfig.class);
+
+    /**
+     * Method under test: {@link SerializationConfig#cborHttpMessageConverter}
+     */
+    @Test
+    void cborHttpMessageConverter_should_useModulesAndFormatsOfApplication_when_ResponseIsWritten() {
+        contextRunner.run(context -> assertWritten(context.getBean(MappingJackson2CborHttpMessageConverter.class),
+                MediaType.APPLICATION_CBOR));
+    }
+
+    /**
+     * Method under test: {@link SerializationConfig#smileHttpMessageConverter}
+     */
+    @Test
+    void smileHttpMessageConverter_should_useModulesAndFormatsOfApplication_when_ResponseIsWritten() {
+        contextRunner.run(context -> assertWritten(context.getBean(MappingJackson2SmileHttpMessageConverter.class),
+                new MediaType("application", "x-jackson-smile")));
+    }
+
+    private static void assertWritten(AbstractJackson2HttpMessageConverter converter, MediaType mediaType) throws IOException {
+        RecipeResponse recipe = new RecipeResponse();
+        recipe.setId(101L);
+        recipe.setTitle("Title");
+        recipe.setFields(RecipeField.of(List.of("title")));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(new ApiResponse<>(1L, "Success", List.of(recipe, LocalDate.of(2024, 2, 29))), null, mediaType, output);
+        ObjectMapper objectMapper = converter.getObjectMapper();
+        JsonNode data = objectMapper.readTree(output.getBodyAsBytes()).get("data");
+
+        assertEquals(mediaType, output.getHeaders().getContentType());
+        assertEquals("Title", data.get(0).get("title").asText());
+        assertFalse(data.get(0).has("instructions"));
+        assertEquals("29.02.2024", data.get(1).asText());
+    }
+}
@@ -2,14 +2,20 @@ package com.github.yildizmy.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.yildizmy.model.Category;
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
+import com.github.yildizmy.config.HttpCacheConfig;
+import com.github.yildizmy.dto.mapper.CategoryRequestMapperImpl;
 import com.github.yildizmy.dto.request.CategoryRequest;
+import com.github.yildizmy.dto.response.CategoryResponse;
 import com.github.yildizmy.repository.CategoryRepository;
 import com.github.yildizmy.service.CategoryService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,6 +27,8 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -32,7 +40,8 @@ import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 
-@ContextConfiguration(classes = {CategoryController.class, CategoryService.class})
+@ContextConfiguration(classes = {CategoryController.class, CategoryService.class, CategoryRequestMapperImpl.class, HttpCacheConfig.class,
+        ConversionTestConfig.class})
 @ExtendWith(SpringExtension.class)
 class CategoryControllerTest {
 
@@ -45,8 +54,11 @@ class CategoryControllerTest {
     @MockBean
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private FilterRegistrationBean<OncePerRequestFilter> varyFilter;
+
     /**
-     * Method under test: {@link CategoryController#findById(long)}
+     * Method under test: {@link CategoryController#findById(long, WebRequest)}
      */
     @Test
     void test_findById() throws Exception {
@@ -58,19 +70,43 @@ class CategoryControllerTest {
         category.setOrdinal(1);
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(categoryRepository.findById(any())).thenReturn(Optional.of(category));
+        when(categoryRepository.findCachedById(any())).thenReturn(Optional.of(category));
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/categories/{id}", 123L);
         MockMvcBuilders.standaloneSetup(categoryController)
                 .build()
                 .perform(requestBuilder)
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"0.json\""))
+                .andExpect(MockMvcResultMatchers.header().string("Cache-Control", "max-age=60, must-revalidate, private"))
                 .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
                 .andExpect(MockMvcResultMatchers.content()
                         .string(
                                 "{\"timestamp\":1640995200000,\"message\":\"Success\",\"data\":{\"id\":123,\"name\":\"Category\",\"ordinal\":1}}"));
     }
 
+    /**
+     * Method under test: {@link CategoryController#findById(long, WebRequest)}
+     */
+    @Test
+    void test_findById_NotModified() throws Exception {
+        Category category = new Category(123L, "Category", 1);
+
+        when(clock.instant()).thenReturn(LocalDate.of(2022, 1, 1).atStartOfDay(ZoneId.of("UTC")).toInstant());
+        when(categoryRepository.findCachedById(any())).thenReturn(Optional.of(category));
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/categories/{id}", 123L)
+                .accept("application/x-jackson-smile")
+                .header("If-None-Match", "W/\"0.smile\"");
+        MockMvcBuilders.standaloneSetup(categoryController)
+                .addFilters(varyFilter.getFilter())
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"0.smile\""))
+                .andExpect(MockMvcResultMatchers.header().stringValues("Vary", "Accept", "Accept-Encoding"));
+    }
+
     /**
      * Method under test: {@link CategoryController#create(CategoryRequest)}
      */
@@ -119,10 +155,10 @@ class CategoryControllerTest {
 
         ArrayList<Category> categoryList = new ArrayList<>();
         categoryList.add(category);
-        PageImpl<Category> pageImpl = new PageImpl<>(categoryList);
+        PageImpl<CategoryResponse> pageImpl = new PageImpl<>(categoryList.stream().map(CategoryResponse::new).toList());
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(categoryRepository.findAll((Specification<Category>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(categoryRepository.findAll((Specification<Category>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(pageImpl);
 
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.setFilters(new ArrayList<>());
@@ -0,0 +1,25 @@
+package com.github.yildizmy.controller;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+
+/**
+ * Configuration of the controller tests, which converts the property values like Spring Boot does (e.g. the
+ * durations of HttpCacheConfig) as their contexts are not created by Spring Boot
+ */
+@Configuration
+public class ConversionTestConfig {
+
+    /**
+     * Creates the conversion service, which is used by the context to convert the values as it is named
+     * conversionService
+     *
+     * @return
+     */
+    @Bean
+    public ConversionService conversionService() {
+        return ApplicationConversionService.getSharedInstance();
+    }
+}
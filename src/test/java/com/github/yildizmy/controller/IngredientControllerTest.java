@@ -1,8 +1,13 @@
 package com.github.yildizmy.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
+import com.github.yildizmy.config.HttpCacheConfig;
+import com.github.yildizmy.dto.mapper.IngredientRequestMapperImpl;
 import com.github.yildizmy.dto.request.IngredientRequest;
+import com.github.yildizmy.dto.response.IngredientResponse;
 import com.github.yildizmy.model.Ingredient;
 import com.github.yildizmy.repository.IngredientRepository;
 import com.github.yildizmy.service.IngredientService;
@@ -21,6 +26,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -32,7 +38,8 @@ import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 
-@ContextConfiguration(classes = {IngredientController.class, IngredientService.class})
+@ContextConfiguration(classes = {IngredientController.class, IngredientService.class, IngredientRequestMapperImpl.class, HttpCacheConfig.class,
+        ConversionTestConfig.class})
 @ExtendWith(SpringExtension.class)
 class IngredientControllerTest {
 
@@ -46,7 +53,7 @@ class IngredientControllerTest {
     private IngredientRepository ingredientRepository;
 
     /**
-     * Method under test: {@link IngredientController#findById(long)}
+     * Method under test: {@link IngredientController#findById(long, WebRequest)}
      */
     @Test
     void test_findById() throws Exception {
@@ -57,7 +64,7 @@ class IngredientControllerTest {
         ingredient.setName("Ingredient");
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(ingredientRepository.findById(any())).thenReturn(Optional.of(ingredient));
+        when(ingredientRepository.findCachedById(any())).thenReturn(Optional.of(ingredient));
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/ingredients/{id}", 123L);
         MockMvcBuilders.standaloneSetup(ingredientController)
@@ -114,8 +121,8 @@ class IngredientControllerTest {
 
         ArrayList<Ingredient> ingredientList = new ArrayList<>();
         ingredientList.add(ingredient);
-        PageImpl<Ingredient> pageImpl = new PageImpl<>(ingredientList);
-        when(ingredientRepository.findAll((Specification<Ingredient>) any(), (Pageable) any())).thenReturn(pageImpl);
+        PageImpl<IngredientResponse> pageImpl = new PageImpl<>(ingredientList.stream().map(IngredientResponse::new).toList());
+        when(ingredientRepository.findAll((Specification<Ingredient>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(pageImpl);
 
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.setFilters(new ArrayList<>());
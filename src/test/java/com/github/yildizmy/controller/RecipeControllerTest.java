@@ -1,23 +1,37 @@
 package com.github.yildizmy.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.CountMode;
 import com.github.yildizmy.common.filter.SearchRequest;
+import com.github.yildizmy.config.RecipeFieldsModule;
+import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.request.RangeRequest;
 import com.github.yildizmy.dto.request.RecipeRequest;
 import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
 import com.github.yildizmy.model.*;
 import com.github.yildizmy.repository.CategoryRepository;
 import com.github.yildizmy.repository.IngredientRepository;
 import com.github.yildizmy.repository.RecipeRepository;
+import com.github.yildizmy.repository.RecipeVersion;
 import com.github.yildizmy.repository.UnitRepository;
+import com.github.yildizmy.service.RecipeExportService;
+import com.github.yildizmy.service.RecipeImportService;
+import com.github.yildizmy.service.RecipeIngredientIndex;
 import com.github.yildizmy.service.RecipeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.ResultActions;
@@ -25,6 +39,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.Clock;
@@ -33,11 +48,14 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 
-@ContextConfiguration(classes = {RecipeController.class, RecipeService.class})
+@ContextConfiguration(classes = {RecipeController.class, RecipeService.class, RecipeRequestMapperImpl.class})
 @ExtendWith(SpringExtension.class)
 class RecipeControllerTest {
 
@@ -53,6 +71,15 @@ class RecipeControllerTest {
     @Autowired
     private RecipeController recipeController;
 
+    @MockBean
+    private RecipeExportService recipeExportService;
+
+    @MockBean
+    private RecipeImportService recipeImportService;
+
+    @MockBean
+    private RecipeIngredientIndex recipeIngredientIndex;
+
     @MockBean
     private RecipeRepository recipeRepository;
 
@@ -60,7 +87,7 @@ class RecipeControllerTest {
     private UnitRepository unitRepository;
 
     /**
-     * Method under test: {@link RecipeController#findById(long)}
+     * Method under test: {@link RecipeController#findById(long, Set, WebRequest)}
      */
     @Test
     void test_findById() throws Exception {
@@ -86,12 +113,14 @@ class RecipeControllerTest {
         recipe.setTitle("Title");
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
+        when(recipeRepository.findVersionById(any())).thenReturn(Optional.of(new RecipeVersion(1L, 2L, 0L, 0L, 0L)));
         when(recipeRepository.findById(any())).thenReturn(Optional.of(recipe));
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/recipes/{id}", 123L);
         MockMvcBuilders.standaloneSetup(recipeController)
                 .build()
                 .perform(requestBuilder)
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"1.2.0.0.0.json\""))
                 .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
                 .andExpect(MockMvcResultMatchers.content().json("{\"timestamp\":1640995200000,\"message\":\"Success\",\"data\":{\"id\":123,\"title\":\"Title\"," +
                         "\"description\":\"Description\",\"prepTime\":1,\"cookTime\":1,\"servings\":1,\"instructions\":\"Instructions\",\"difficulty\":\"Easy\"," +
@@ -99,7 +128,79 @@ class RecipeControllerTest {
     }
 
     /**
-     * Method under test: {@link RecipeController#findById(long)}
+     * Method under test: {@link RecipeController#findById(long, Set, WebRequest)}
+     */
+    @Test
+    void test_findById_NotModified() throws Exception {
+        when(recipeRepository.findVersionById(any())).thenReturn(Optional.of(new RecipeVersion(1L, 2L, 0L, 0L, 0L)));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/recipes/{id}", 123L)
+                .header("If-None-Match", "W/\"1.2.0.0.0.json\"");
+        MockMvcBuilders.standaloneSetup(recipeController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(recipeRepository, never()).findById(any());
+    }
+
+    /**
+     * Method under test: {@link RecipeController#findById(long, Set, WebRequest)}
+     */
+    @Test
+    void test_findById_ModifiedForOtherFormat() throws Exception {
+        Recipe recipe = new Recipe(123L, "Title", "Description", 1, 1, 1, "Instructions",
+                Difficulty.EASY, HealthLabel.DEFAULT);
+        recipe.setCategory(new Category(123L, "Category", 1));
+        recipe.setRecipeIngredients(new ArrayList<>());
+
+        when(clock.instant()).thenReturn(LocalDate.of(2022, 1, 1).atStartOfDay(ZoneId.of("UTC")).toInstant());
+        when(recipeRepository.findVersionById(any())).thenReturn(Optional.of(new RecipeVersion(1L, 2L, 0L, 0L, 0L)));
+        when(recipeRepository.findById(any())).thenReturn(Optional.of(recipe));
+        // the ETag of the JSON response does not match the CBOR response of the same recipe
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/recipes/{id}", 123L)
+                .accept("application/cbor, application/json;q=0.5")
+                .header("If-None-Match", "W/\"1.2.0.0.0.json\"");
+        MockMvcBuilders.standaloneSetup(recipeController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"1.2.0.0.0.cbor\""))
+                .andExpect(MockMvcResultMatchers.content().contentType("application/cbor"));
+    }
+
+    /**
+     * Method under test: {@link RecipeController#findById(long, Set, WebRequest)}
+     */
+    @Test
+    void test_findById_WithFields() throws Exception {
+        LocalDateTime dateTime = LocalDate.of(2022, 1, 1).atStartOfDay();
+        Set<RecipeField> fields = RecipeField.of(List.of("title", "category"));
+
+        RecipeResponse recipeResponse = new RecipeResponse(123L, "Title", null, null, null, null, null,
+                Difficulty.EASY, HealthLabel.DEFAULT, 123L, "Category", 1);
+        recipeResponse.setFields(fields);
+
+        when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
+        when(recipeRepository.findVersionById(any())).thenReturn(Optional.of(new RecipeVersion(1L, 2L, 0L, 0L, 0L)));
+        when(recipeRepository.findResponsesByIdIn(List.of(123L), fields)).thenReturn(List.of(recipeResponse));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/recipes/{id}", 123L)
+                .param("fields", "title,category");
+        MockMvcBuilders.standaloneSetup(recipeController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                        .modulesToInstall(new RecipeFieldsModule()).build()))
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                // the mask of the id, title and category fields
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"1.2.0.0.0.515.json\""))
+                .andExpect(MockMvcResultMatchers.content().json("{\"timestamp\":1640995200000,\"message\":\"Success\"," +
+                        "\"data\":{\"id\":123,\"title\":\"Title\",\"category\":{\"id\":123,\"name\":\"Category\",\"ordinal\":1}}}", true));
+        verify(recipeRepository, never()).findById(any());
+        verify(recipeRepository, never()).findIngredientResponsesByRecipeIdIn(any());
+    }
+
+    /**
+     * Method under test: {@link RecipeController#findById(long, Set, WebRequest)}
      */
     @Test
     void test_findById_WithRecipeIngredients() throws Exception {
@@ -168,6 +269,7 @@ class RecipeControllerTest {
         recipe1.setTitle("Title");
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
+        when(recipeRepository.findVersionById(any())).thenReturn(Optional.of(new RecipeVersion(1L, 2L, 0L, 0L, 0L)));
         when(recipeRepository.findById(any())).thenReturn(Optional.of(recipe));
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/recipes/{id}", 123L);
         MockMvcBuilders.standaloneSetup(recipeController)
@@ -211,7 +313,7 @@ class RecipeControllerTest {
     }
 
     /**
-     * Method under test: {@link RecipeController#findAll(SearchRequest)}
+     * Method under test: {@link RecipeController#findAll(SearchRequest, Set)}
      */
     @Test
     void test_findAll() throws Exception {
@@ -236,12 +338,13 @@ class RecipeControllerTest {
         recipe.setServings(100);
         recipe.setTitle("Title");
 
-        ArrayList<Recipe> recipeList = new ArrayList<>();
-        recipeList.add(recipe);
-        PageImpl<Recipe> pageImpl = new PageImpl<>(recipeList);
+        RecipeResponse recipeResponse = new RecipeResponse(recipe.getId(), recipe.getTitle(), recipe.getDescription(),
+                recipe.getPrepTime(), recipe.getCookTime(), recipe.getServings(), recipe.getInstructions(),
+                recipe.getDifficulty(), recipe.getHealthLabel(), category.getId(), category.getName(), category.getOrdinal());
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(recipeRepository.findAll((Specification<Recipe>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.EXACT))).thenReturn(new PageImpl<>(List.of(123L)));
+        when(recipeRepository.findResponsesByIdIn(any(), any())).thenReturn(List.of(recipeResponse));
 
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.setFilters(new ArrayList<>());
@@ -266,7 +369,7 @@ class RecipeControllerTest {
     }
 
     /**
-     * Method under test: {@link RecipeController#findAll(SearchRequest)}
+     * Method under test: {@link RecipeController#findAll(SearchRequest, Set)}
      */
     @Test
     void test_findAll_WithRecipeIngredients() throws Exception {
@@ -334,12 +437,16 @@ class RecipeControllerTest {
         recipe1.setServings(100);
         recipe1.setTitle("Title");
 
-        ArrayList<Recipe> recipeList = new ArrayList<>();
-        recipeList.add(recipe1);
-        PageImpl<Recipe> pageImpl = new PageImpl<>(recipeList);
+        RecipeResponse recipeResponse = new RecipeResponse(recipe1.getId(), recipe1.getTitle(), recipe1.getDescription(),
+                recipe1.getPrepTime(), recipe1.getCookTime(), recipe1.getServings(), recipe1.getInstructions(),
+                recipe1.getDifficulty(), recipe1.getHealthLabel(), category.getId(), category.getName(), category.getOrdinal());
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(recipeRepository.findAll((Specification<Recipe>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.EXACT))).thenReturn(new PageImpl<>(List.of(123L)));
+        when(recipeRepository.findResponsesByIdIn(any(), any())).thenReturn(List.of(recipeResponse));
+        when(recipeRepository.findIngredientResponsesByRecipeIdIn(any()))
+                .thenReturn(List.of(new RecipeIngredientResponse(recipe1.getId(), ingredient.getId(), ingredient.getName(),
+                        recipeIngredient.getAmount(), unit.getName())));
 
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.setFilters(new ArrayList<>());
@@ -359,7 +466,38 @@ class RecipeControllerTest {
     }
 
     /**
-     * Method under test: {@link RecipeController#search(RecipeSearchRequest)}
+     * Method under test: {@link RecipeController#findAll(SearchRequest, Set)}
+     */
+    @Test
+    void test_findAll_WithoutCount() throws Exception {
+        LocalDateTime dateTime = LocalDate.of(2022, 1, 1).atStartOfDay();
+
+        RecipeResponse recipeResponse = new RecipeResponse(123L, "Title", "Description", 1, 1, 1, "Instructions",
+                Difficulty.EASY, HealthLabel.DEFAULT, 123L, "Category", 1);
+
+        when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.SKIP)))
+                .thenReturn(new SliceImpl<>(List.of(123L), PageRequest.of(0, 1), true));
+        when(recipeRepository.findResponsesByIdIn(any(), any())).thenReturn(List.of(recipeResponse));
+
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setSize(1);
+        searchRequest.setCountMode(CountMode.SKIP);
+        String content = (new ObjectMapper()).writeValueAsString(searchRequest);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content);
+        MockMvcBuilders.standaloneSetup(recipeController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.content[0].id").value(123))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.last").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    /**
+     * Method under test: {@link RecipeController#search(RecipeSearchRequest, Set)}
      */
     @Test
     void test_search() throws Exception {
@@ -384,18 +522,20 @@ class RecipeControllerTest {
         recipe.setServings(1);
         recipe.setTitle("Title");
 
-        ArrayList<Recipe> recipeList = new ArrayList<>();
-        recipeList.add(recipe);
+        RecipeResponse recipeResponse = new RecipeResponse(recipe.getId(), recipe.getTitle(), recipe.getDescription(),
+                recipe.getPrepTime(), recipe.getCookTime(), recipe.getServings(), recipe.getInstructions(),
+                recipe.getDifficulty(), recipe.getHealthLabel(), category.getId(), category.getName(), category.getOrdinal());
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(recipeRepository.search(any(), any(), any(), any(), any()))
-                .thenReturn(recipeList);
+        when(recipeIngredientIndex.find(any(), any())).thenReturn(Roaring64Bitmap.bitmapOf(123L));
+        when(recipeRepository.searchIds(any(), anyInt(), anyInt())).thenReturn(Stream.of(123L));
+        when(recipeRepository.findResponsesByIdIn(any(), any())).thenReturn(List.of(recipeResponse));
 
         RecipeSearchRequest recipeSearchRequest = new RecipeSearchRequest();
-        recipeSearchRequest.setIngredientEx("Ingredient Ex");
-        recipeSearchRequest.setIngredientIn("Ingredient In");
+        recipeSearchRequest.setIngredientEx(List.of("Ingredient Ex"));
+        recipeSearchRequest.setIngredientIn(List.of("Ingredient In"));
         recipeSearchRequest.setIsVegetarian(true);
-        recipeSearchRequest.setServings(1);
+        recipeSearchRequest.setServings(RangeRequest.of(1));
         recipeSearchRequest.setText("Text");
 
         String content = (new ObjectMapper()).writeValueAsString(recipeSearchRequest);
@@ -407,14 +547,15 @@ class RecipeControllerTest {
                 .perform(requestBuilder)
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
-                .andExpect(MockMvcResultMatchers.content()
-                        .string(
-                                "{\"timestamp\":1640995200000,\"message\":\"Success\",\"data\":[{\"id\":123,\"title\":\"Title\",\"description\":\"Description\",\"prepTime\":1,\"cookTime\":1,\"servings\":1,\"instructions\":\"?\",\"difficulty\":\"Easy"
-                                        + "\",\"healthLabel\":\"Default\",\"category\":{\"id\":123,\"name\":\"?\",\"ordinal\":1},\"ingredients\":[]}]}"));
+                .andExpect(MockMvcResultMatchers.content().json("{\"timestamp\":1640995200000,\"message\":\"Success\"," +
+                        "\"data\":{\"content\":[{\"id\":123,\"title\":\"Title\",\"description\":\"Description\",\"prepTime\":1," +
+                        "\"cookTime\":1,\"servings\":1,\"instructions\":\"?\",\"difficulty\":\"Easy\",\"healthLabel\":\"Default\"," +
+                        "\"category\":{\"id\":123,\"name\":\"?\",\"ordinal\":1},\"ingredients\":[]}],\"first\":true,\"last\":true," +
+                        "\"numberOfElements\":1,\"empty\":false}}", false));
     }
 
     /**
-     * Method under test: {@link RecipeController#search(RecipeSearchRequest)}
+     * Method under test: {@link RecipeController#search(RecipeSearchRequest, Set)}
      */
     @Test
     void test_search_WithRecipeIngredientData() throws Exception {
@@ -482,18 +623,22 @@ class RecipeControllerTest {
         recipe1.setServings(1);
         recipe1.setTitle("Title-1");
 
-        ArrayList<Recipe> recipeList = new ArrayList<>();
-        recipeList.add(recipe1);
+        RecipeResponse recipeResponse = new RecipeResponse(recipe1.getId(), recipe1.getTitle(), recipe1.getDescription(),
+                recipe1.getPrepTime(), recipe1.getCookTime(), recipe1.getServings(), recipe1.getInstructions(),
+                recipe1.getDifficulty(), recipe1.getHealthLabel(), category.getId(), category.getName(), category.getOrdinal());
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(recipeRepository.search(any(), any(), any(), any(), any()))
-                .thenReturn(recipeList);
+        when(recipeIngredientIndex.find(any(), any())).thenReturn(Roaring64Bitmap.bitmapOf(123L));
+        when(recipeRepository.searchIds(any(), anyInt(), anyInt())).thenReturn(Stream.of(123L));
+        when(recipeRepository.findResponsesByIdIn(any(), any())).thenReturn(List.of(recipeResponse));
+        when(recipeRepository.findIngredientResponsesByRecipeIdIn(any())).thenReturn(List.of(new RecipeIngredientResponse(
+                recipe1.getId(), ingredient.getId(), ingredient.getName(), recipeIngredient.getAmount(), unit.getName())));
 
         RecipeSearchRequest recipeSearchRequest = new RecipeSearchRequest();
-        recipeSearchRequest.setIngredientEx("Ingredient Ex");
-        recipeSearchRequest.setIngredientIn("Ingredient In");
+        recipeSearchRequest.setIngredientEx(List.of("Ingredient Ex"));
+        recipeSearchRequest.setIngredientIn(List.of("Ingredient In"));
         recipeSearchRequest.setIsVegetarian(true);
-        recipeSearchRequest.setServings(1);
+        recipeSearchRequest.setServings(RangeRequest.of(1));
         recipeSearchRequest.setText("Text");
 
         String content = (new ObjectMapper()).writeValueAsString(recipeSearchRequest);
@@ -505,11 +650,12 @@ class RecipeControllerTest {
                 .perform(requestBuilder)
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
-                .andExpect(MockMvcResultMatchers.content()
-                        .string(
-                                "{\"timestamp\":1640995200000,\"message\":\"Success\",\"data\":[{\"id\":123,\"title\":\"Title-1\",\"description\":\"Description-1\",\"prepTime\":1,\"cookTime\":1,\"servings\":1,\"instructions\":\"Instructions-1\",\"difficulty\":\"Easy"
-                                        + "\",\"healthLabel\":\"Default\",\"category\":{\"id\":123,\"name\":\"Category\",\"ordinal\":1},\"ingredients\":[{\"id\":123,"
-                                        + "\"ingredientName\":\"Ingredient\",\"amount\":42,\"unitName\":\"Unit\"}]}]}"));
+                .andExpect(MockMvcResultMatchers.content().json("{\"timestamp\":1640995200000,\"message\":\"Success\"," +
+                        "\"data\":{\"content\":[{\"id\":123,\"title\":\"Title-1\",\"description\":\"Description-1\",\"prepTime\":1," +
+                        "\"cookTime\":1,\"servings\":1,\"instructions\":\"Instructions-1\",\"difficulty\":\"Easy\",\"healthLabel\":\"Default\"," +
+                        "\"category\":{\"id\":123,\"name\":\"Category\",\"ordinal\":1},\"ingredients\":[{\"id\":123," +
+                        "\"ingredientName\":\"Ingredient\",\"amount\":42,\"unitName\":\"Unit\"}]}],\"first\":true,\"last\":true," +
+                        "\"numberOfElements\":1,\"empty\":false}}", false));
     }
 
     /**
@@ -547,7 +693,7 @@ class RecipeControllerTest {
         Optional<Category> ofResult = Optional.of(category1);
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(categoryRepository.findById(any())).thenReturn(ofResult);
+        when(categoryRepository.findCachedById(any())).thenReturn(ofResult);
 
         RecipeRequest recipeRequest = new RecipeRequest();
         recipeRequest.setCategoryId(123L);
@@ -693,7 +839,7 @@ class RecipeControllerTest {
         category2.setOrdinal(1);
         category2.setRecipes(new HashSet<>());
         Optional<Category> ofResult1 = Optional.of(category2);
-        when(categoryRepository.findById(any())).thenReturn(ofResult1);
+        when(categoryRepository.findCachedById(any())).thenReturn(ofResult1);
 
         RecipeRequest recipeRequest = new RecipeRequest();
         recipeRequest.setCategoryId(123L);
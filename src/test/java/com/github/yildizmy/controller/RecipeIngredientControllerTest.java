@@ -5,6 +5,7 @@ import com.github.yildizmy.dto.request.RecipeIngredientRequest;
 import com.github.yildizmy.model.*;
 import com.github.yildizmy.repository.IngredientRepository;
 import com.github.yildizmy.repository.RecipeIngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
 import com.github.yildizmy.service.RecipeIngredientService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,6 +47,9 @@ class RecipeIngredientControllerTest {
     @MockBean
     private RecipeIngredientRepository recipeIngredientRepository;
 
+    @MockBean
+    private RecipeRepository recipeRepository;
+
     /**
      * Method under test: {@link RecipeIngredientController#addIngredientToRecipe(RecipeIngredientRequest)} 
      */
@@ -96,6 +100,7 @@ class RecipeIngredientControllerTest {
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
         when(recipeIngredientRepository.existsByRecipeIdAndIngredientId((Long) any(), (Long) any())).thenReturn(false);
         when(recipeIngredientRepository.save(any())).thenReturn(recipeIngredient);
+        when(recipeRepository.findForVersionIncrementById(123L)).thenReturn(Optional.of(recipe));
 
         RecipeIngredientRequest recipeIngredientRequest = new RecipeIngredientRequest();
         recipeIngredientRequest.setAmount(BigDecimal.valueOf(42L));
@@ -234,6 +239,7 @@ class RecipeIngredientControllerTest {
         Optional<RecipeIngredient> ofResult = Optional.of(recipeIngredient);
         doNothing().when(recipeIngredientRepository).delete(any());
         when(recipeIngredientRepository.findByRecipeIdAndIngredientId((Long) any(), (Long) any())).thenReturn(ofResult);
+        when(recipeRepository.findForVersionIncrementById(123L)).thenReturn(Optional.of(recipe));
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .delete("/api/v1/recipeIngredients/recipes/{recipeId}/ingredients/{ingredientId}", 123L, 123L);
         MockMvcBuilders.standaloneSetup(recipeIngredientController)
@@ -1,8 +1,13 @@
 package com.github.yildizmy.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.config.HttpCacheConfig;
+import com.github.yildizmy.dto.mapper.UnitRequestMapperImpl;
 import com.github.yildizmy.dto.request.UnitRequest;
+import com.github.yildizmy.dto.response.UnitResponse;
 import com.github.yildizmy.model.Unit;
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.repository.UnitRepository;
 import com.github.yildizmy.service.UnitService;
@@ -21,6 +26,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -32,7 +38,8 @@ import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 
-@ContextConfiguration(classes = {UnitController.class, UnitService.class})
+@ContextConfiguration(classes = {UnitController.class, UnitService.class, UnitRequestMapperImpl.class, HttpCacheConfig.class,
+        ConversionTestConfig.class})
 @ExtendWith(SpringExtension.class)
 class UnitControllerTest {
 
@@ -46,7 +53,7 @@ class UnitControllerTest {
     private UnitRepository unitRepository;
 
     /**
-     * Method under test: {@link UnitController#findById(long)}
+     * Method under test: {@link UnitController#findById(long, WebRequest)}
      */
     @Test
     void test_findById() throws Exception {
@@ -59,7 +66,7 @@ class UnitControllerTest {
         Optional<Unit> ofResult = Optional.of(unit);
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(unitRepository.findById(any())).thenReturn(ofResult);
+        when(unitRepository.findCachedById(any())).thenReturn(ofResult);
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/v1/units/{id}", 123L);
         MockMvcBuilders.standaloneSetup(unitController)
@@ -118,10 +125,10 @@ class UnitControllerTest {
 
         ArrayList<Unit> unitList = new ArrayList<>();
         unitList.add(unit);
-        PageImpl<Unit> pageImpl = new PageImpl<>(unitList);
+        PageImpl<UnitResponse> pageImpl = new PageImpl<>(unitList.stream().map(UnitResponse::new).toList());
 
         when(clock.instant()).thenReturn(dateTime.atZone(ZoneId.of("UTC")).toInstant());
-        when(unitRepository.findAll((Specification<Unit>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(unitRepository.findAll((Specification<Unit>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(pageImpl);
 
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.setFilters(new ArrayList<>());
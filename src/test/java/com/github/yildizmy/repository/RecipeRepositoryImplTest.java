@@ -0,0 +1,88 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the projections of RecipeRepositoryImpl running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class RecipeRepositoryImplTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category(null, "Soup", 1));
+        Recipe soup = new Recipe(null, "Tomato Soup", "Description", 10, 20, 2,
+                "Instructions", Difficulty.EASY, HealthLabel.VEGETARIAN);
+        category.addRecipe(soup);
+        Recipe water = new Recipe(null, "Water", null, 1, 0, 1, "Pour", Difficulty.EASY, HealthLabel.DEFAULT);
+        ids = List.of(entityManager.persist(soup).getId(), entityManager.persist(water).getId());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Method under test: {@link RecipeRepositoryImpl#findResponsesByIdIn(java.util.Collection, Set)}
+     */
+    @Test
+    void findResponsesByIdIn_should_returnAllFields_when_AllFieldsAreSelected() {
+        List<RecipeResponse> recipes = find(RecipeField.ALL);
+
+        assertEquals("Tomato Soup", recipes.get(0).getTitle());
+        assertEquals("Instructions", recipes.get(0).getInstructions());
+        assertEquals(HealthLabel.VEGETARIAN.getLabel(), recipes.get(0).getHealthLabel());
+        assertEquals("Soup", recipes.get(0).getCategory().getName());
+        assertEquals(1, recipes.get(0).getCategory().getOrdinal());
+        assertEquals(List.of(), recipes.get(0).getIngredients());
+        assertNull(recipes.get(1).getCategory());
+        assertEquals(RecipeField.ALL, recipes.get(1).getFields());
+    }
+
+    /**
+     * Method under test: {@link RecipeRepositoryImpl#findResponsesByIdIn(java.util.Collection, Set)}
+     */
+    @Test
+    void findResponsesByIdIn_should_returnOnlySelectedFields_when_FieldsAreSelected() {
+        Set<RecipeField> fields = RecipeField.of(List.of("servings", "category", "difficulty"));
+
+        List<RecipeResponse> recipes = find(fields);
+
+        assertEquals(ids.get(0), recipes.get(0).getId());
+        assertEquals(2, recipes.get(0).getServings());
+        assertEquals(Difficulty.EASY.getLabel(), recipes.get(0).getDifficulty());
+        assertEquals("Soup", recipes.get(0).getCategory().getName());
+        assertNull(recipes.get(0).getTitle());
+        assertNull(recipes.get(0).getInstructions());
+        assertNull(recipes.get(0).getIngredients());
+        assertEquals(fields, recipes.get(0).getFields());
+    }
+
+    private List<RecipeResponse> find(Set<RecipeField> fields) {
+        return recipeRepository.findResponsesByIdIn(ids, fields).stream()
+                .sorted(Comparator.comparing(RecipeResponse::getId))
+                .toList();
+    }
+}
@@ -0,0 +1,262 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.common.filter.SortDirection;
+import com.github.yildizmy.common.filter.SortRequest;
+import com.github.yildizmy.dto.request.RangeRequest;
+import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.exception.InvalidRequestException;
+import com.github.yildizmy.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.Query;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for the recipe search query composed by RecipeSearchQuery running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class RecipeSearchQueryTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long soup;
+
+    private Long salad;
+
+    private Long stew;
+
+    private Long cake;
+
+    private Unit unit;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category(null, "Category", 1));
+        unit = entityManager.persist(new Unit(null, "Gram"));
+        Ingredient salt = entityManager.persist(new Ingredient(null, "Salt"));
+        Ingredient pepper = entityManager.persist(new Ingredient(null, "Pepper"));
+        Ingredient tomato = entityManager.persist(new Ingredient(null, "Tomato"));
+        soup = createRecipe(category, "Soup", 10, 30, 4, Difficulty.EASY, HealthLabel.VEGETARIAN, salt, pepper);
+        salad = createRecipe(category, "Salad", 15, 0, 2, Difficulty.EASY, HealthLabel.GLUTEN_FREE, salt, tomato);
+        stew = createRecipe(category, "Stew", 20, 120, 6, Difficulty.HARD, HealthLabel.DEFAULT, pepper);
+        cake = createRecipe(category, "Cake", 30, 45, 8, Difficulty.MODERATE, HealthLabel.VEGETARIAN);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Method under test: {@link RecipeSearchQuery#RecipeSearchQuery(RecipeSearchRequest, boolean)}
+     */
+    @Test
+    void sql_should_containOnlyGivenPredicates_when_ParametersAreMissing() {
+        assertEquals("SELECT r.id FROM recipe r ORDER BY r.id", new RecipeSearchQuery(new RecipeSearchRequest(), true).getSql());
+
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setServings(new RangeRequest(2, null));
+        request.setCookTime(RangeRequest.of(30));
+        request.setDifficulties(Set.of(Difficulty.EASY));
+        RecipeSearchQuery query = new RecipeSearchQuery(request, true);
+
+        assertEquals("SELECT r.id FROM recipe r WHERE r.servings >= :servingsMin AND r.cook_time = :cookTime "
+                + "AND r.difficulty = :difficulties ORDER BY r.id", query.getSql());
+        assertEquals(Map.of("servingsMin", 2, "cookTime", 30, "difficulties", "EASY"), query.getParameters());
+    }
+
+    /**
+     * Method under test: {@link RecipeRepository#searchIds(RecipeSearchQuery, int, int)}
+     */
+    @Test
+    void searchIds_should_returnMatchingRecipes_when_RangesAndSetsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setPrepTime(new RangeRequest(10, 20));
+        request.setServings(new RangeRequest(null, 6));
+        request.setDifficulties(Set.of(Difficulty.EASY, Difficulty.HARD));
+        request.setHealthLabels(Set.of(HealthLabel.VEGETARIAN, HealthLabel.DEFAULT));
+
+        assertEquals(List.of(soup, stew), searchIds(request, 0, 0));
+
+        request.setIsVegetarian(false);
+
+        assertEquals(List.of(stew), searchIds(request, 0, 0));
+    }
+
+    /**
+     * Method under test: {@link RecipeRepository#searchIds(RecipeSearchQuery, int, int)}
+     */
+    @Test
+    void searchIds_should_returnRequestedPageInRequestedOrder_when_SortsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setSorts(List.of(new SortRequest("difficulty", SortDirection.DESC), new SortRequest("cookTime", null)));
+
+        assertEquals(List.of(stew, cake, salad, soup), searchIds(request, 0, 0));
+        assertEquals(List.of(cake, salad), searchIds(request, 1, 2));
+    }
+
+    /**
+     * Method under test: {@link RecipeSearchQuery#RecipeSearchQuery(RecipeSearchRequest, boolean)}
+     */
+    @Test
+    void sql_should_containSemiAndAntiJoins_when_IngredientsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIngredientIn(List.of("Salt ", "salt", "Pepper"));
+        request.setIngredientEx(List.of("Tomato"));
+
+        assertEquals("SELECT r.id FROM recipe r ORDER BY r.id", new RecipeSearchQuery(request, false).getSql());
+
+        RecipeSearchQuery query = new RecipeSearchQuery(request, true);
+
+        assertEquals("SELECT r.id FROM recipe r WHERE "
+                + "EXISTS (SELECT 1 FROM recipe_ingredient ri JOIN ingredient i ON i.id = ri.ingredient_id "
+                + "WHERE ri.recipe_id = r.id AND lower(i.name) = :ingredientIn0) AND "
+                + "EXISTS (SELECT 1 FROM recipe_ingredient ri JOIN ingredient i ON i.id = ri.ingredient_id "
+                + "WHERE ri.recipe_id = r.id AND lower(i.name) = :ingredientIn1) AND "
+                + "NOT EXISTS (SELECT 1 FROM recipe_ingredient ri JOIN ingredient i ON i.id = ri.ingredient_id "
+                + "WHERE ri.recipe_id = r.id AND lower(i.name) IN (:ingredientEx)) ORDER BY r.id", query.getSql());
+        assertEquals(Map.of("ingredientIn0", "salt", "ingredientIn1", "pepper", "ingredientEx", List.of("tomato")),
+                query.getParameters());
+    }
+
+    /**
+     * Method under test: {@link RecipeRepository#searchIds(RecipeSearchQuery, int, int)}
+     */
+    @Test
+    void searchIds_should_returnMatchingRecipes_when_IngredientsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIngredientIn(List.of("SALT"));
+
+        assertEquals(List.of(soup, salad), searchIds(request, 0, 0));
+
+        request.setIngredientIn(List.of("salt", "pepper"));
+
+        assertEquals(List.of(soup), searchIds(request, 0, 0));
+
+        request.setIngredientIn(List.of());
+        request.setIngredientEx(List.of("tomato", "unknown"));
+        request.setPrepTime(new RangeRequest(null, 20));
+
+        assertEquals(List.of(soup, stew), searchIds(request, 0, 0));
+    }
+
+    /**
+     * Method under test: {@link RecipeSearchQuery#RecipeSearchQuery(RecipeSearchRequest, boolean)}
+     */
+    @Test
+    void sql_should_throwInvalidRequestException_when_SortKeyIsUnknown() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setSorts(List.of(new SortRequest("instructions", SortDirection.ASC)));
+
+        assertThrows(InvalidRequestException.class, () -> new RecipeSearchQuery(request, true));
+        // rank is only available for text searches
+        request.setSorts(List.of(new SortRequest("rank", SortDirection.DESC)));
+
+        assertThrows(InvalidRequestException.class, () -> new RecipeSearchQuery(request, true));
+    }
+
+    /**
+     * Method under test: {@link RecipeSearchQuery#getKeysetSql(List)}
+     */
+    @Test
+    void keysetSql_should_startAfterGivenSortKeys_when_SortsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setSorts(List.of(new SortRequest("cookTime", SortDirection.DESC)));
+        RecipeSearchQuery query = new RecipeSearchQuery(request, true);
+
+        assertEquals("SELECT r.cook_time AS key0, r.id AS key1 FROM recipe r "
+                + "WHERE (r.cook_time < :key0 OR (r.cook_time = :key0 AND r.id > :key1)) "
+                + "ORDER BY r.cook_time DESC NULLS FIRST, r.id", query.getKeysetSql(List.of(30, 7L)));
+        assertEquals(Map.of("key0", 30, "key1", 7L), query.getKeysetParameters(List.of(30, 7L)));
+        assertEquals("SELECT r.cook_time AS key0, r.id AS key1 FROM recipe r "
+                + "WHERE (r.cook_time IS NOT NULL OR (r.cook_time IS NULL AND r.id > :key1)) "
+                + "ORDER BY r.cook_time DESC NULLS FIRST, r.id", query.getKeysetSql(Arrays.asList(null, 7L)));
+    }
+
+    /**
+     * Method under test: {@link RecipeSearchQuery#getKeysetSql(List)}
+     */
+    @Test
+    void keysetSql_should_readAllRecipesInOrderByChunks_when_SortKeysAreNull() {
+        Recipe pie = new Recipe(null, "Pie", "Description", 20, null, 4, "Instructions",
+                Difficulty.EASY, HealthLabel.DEFAULT);
+        Long pieId = entityManager.persistAndFlush(pie).getId();
+        RecipeSearchRequest request = new RecipeSearchRequest();
+
+        for (SortDirection direction : SortDirection.values()) {
+            request.setSorts(List.of(new SortRequest("difficulty", SortDirection.ASC),
+                    new SortRequest("cookTime", direction)));
+            RecipeSearchQuery query = new RecipeSearchQuery(request, true);
+            List<Long> ids = new ArrayList<>();
+            List<Object> after = null;
+            List<Object[]> chunk;
+            do {
+                chunk = searchKeys(query, after, 2);
+                chunk.forEach(keys -> ids.add(((Number) keys[2]).longValue()));
+                after = chunk.isEmpty() ? after : Arrays.asList(chunk.get(chunk.size() - 1));
+            } while (chunk.size() == 2);
+
+            assertEquals(direction == SortDirection.ASC
+                    ? List.of(salad, soup, pieId, cake, stew)
+                    : List.of(pieId, soup, salad, cake, stew), ids);
+        }
+    }
+
+    /**
+     * Method under test: {@link RecipeSearchQuery#RecipeSearchQuery(RecipeSearchRequest, java.util.Collection)}
+     */
+    @Test
+    void searchIds_should_returnPageOfGivenRecipes_when_RecipeIdsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIngredientIn(List.of("salt"));
+        request.setSorts(List.of(new SortRequest("cookTime", SortDirection.DESC)));
+        RecipeSearchQuery query = new RecipeSearchQuery(request, List.of(soup, salad, stew));
+
+        assertEquals("SELECT r.id FROM recipe r WHERE r.id IN (:ids) ORDER BY r.cook_time DESC, r.id", query.getSql());
+        try (Stream<Long> ids = recipeRepository.searchIds(query, 1, 2)) {
+            assertEquals(List.of(soup, salad), ids.toList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> searchKeys(RecipeSearchQuery searchQuery, List<Object> after, int limit) {
+        Query query = entityManager.getEntityManager().createNativeQuery(searchQuery.getKeysetSql(after))
+                .setMaxResults(limit);
+        searchQuery.getKeysetParameters(after).forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private List<Long> searchIds(RecipeSearchRequest request, int offset, int limit) {
+        try (Stream<Long> ids = recipeRepository.searchIds(new RecipeSearchQuery(request, true), offset, limit)) {
+            return ids.toList();
+        }
+    }
+
+    private Long createRecipe(Category category, String title, int prepTime, int cookTime, int servings,
+                              Difficulty difficulty, HealthLabel healthLabel, Ingredient... ingredients) {
+        Recipe recipe = new Recipe(null, title, "Description", prepTime, cookTime, servings,
+                "Instructions", difficulty, healthLabel);
+        category.addRecipe(recipe);
+        for (Ingredient ingredient : ingredients) {
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, BigDecimal.TEN));
+        }
+        return entityManager.persist(recipe).getId();
+    }
+}
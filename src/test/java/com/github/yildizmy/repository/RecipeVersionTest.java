@@ -0,0 +1,143 @@
+package com.github.yildizmy.repository;
+
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.model.*;
+import com.github.yildizmy.service.RecipeIngredientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the versions used as the ETag of the recipe responses running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(RecipeIngredientService.class)
+class RecipeVersionTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private RecipeIngredientService recipeIngredientService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long recipeId;
+
+    private Long categoryId;
+
+    private Long ingredientId;
+
+    private Long unitId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category(null, "Category", 1));
+        Unit unit = entityManager.persist(new Unit(null, "Gram"));
+        Ingredient salt = entityManager.persist(new Ingredient(null, "Salt"));
+        Ingredient pepper = entityManager.persist(new Ingredient(null, "Pepper"));
+        Recipe recipe = new Recipe(null, "Soup", "Description", 10, 30, 4,
+                "Instructions", Difficulty.EASY, HealthLabel.VEGETARIAN);
+        category.addRecipe(recipe);
+        recipe.addRecipeIngredient(new RecipeIngredient(recipe, salt, unit, BigDecimal.TEN));
+        recipe.addRecipeIngredient(new RecipeIngredient(recipe, pepper, unit, BigDecimal.ONE));
+        recipeId = entityManager.persist(recipe).getId();
+        categoryId = category.getId();
+        ingredientId = salt.getId();
+        unitId = unit.getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Method under test: {@link RecipeRepository#findVersionById(Long)}
+     */
+    @Test
+    void findVersionById_should_returnVersionsOfResponse_when_RecipeExists() {
+        assertEquals(new RecipeVersion(0L, 0L, 2L, 0L, 0L), recipeRepository.findVersionById(recipeId).orElseThrow());
+        assertEquals(Optional.empty(), recipeRepository.findVersionById(0L));
+    }
+
+    /**
+     * Method under test: {@link RecipeRepository#findVersionById(Long)}
+     */
+    @Test
+    void findVersionById_should_change_when_RecipeOrReferencedEntityIsUpdated() {
+        assertVersionChanges(entityManager -> entityManager.find(Recipe.class, recipeId).setTitle("Stew"));
+        assertVersionChanges(entityManager -> entityManager.find(Category.class, categoryId).setName("Soups"));
+        assertVersionChanges(entityManager -> entityManager.find(Ingredient.class, ingredientId).setName("Sea Salt"));
+        assertVersionChanges(entityManager -> entityManager.find(Unit.class, unitId).setName("Kilogram"));
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientService#addIngredientToRecipe(RecipeIngredientRequest)}
+     */
+    @Test
+    void findVersionById_should_change_when_IngredientIsRemovedAndAddedAndCommitted() {
+        // the version is only incremented on commit, so the data and each change are committed
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            RecipeVersion before = recipeRepository.findVersionById(recipeId).orElseThrow();
+
+            recipeIngredientService.removeIngredientFromRecipe(recipeId, ingredientId);
+            RecipeVersion removed = recipeRepository.findVersionById(recipeId).orElseThrow();
+
+            assertEquals(new RecipeVersion(before.recipe() + 1, 0L, 1L, 0L, 0L), removed);
+
+            RecipeIngredientRequest request = new RecipeIngredientRequest();
+            request.setRecipeId(recipeId);
+            request.setIngredientId(ingredientId);
+            request.setUnitId(unitId);
+            request.setAmount(BigDecimal.TEN);
+            recipeIngredientService.addIngredientToRecipe(request);
+
+            assertEquals(new RecipeVersion(removed.recipe() + 1, 0L, 2L, 0L, 0L),
+                    recipeRepository.findVersionById(recipeId).orElseThrow());
+        } finally {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // cascades to the recipe and its ingredients
+                categoryRepository.deleteAll();
+                ingredientRepository.deleteAll();
+                unitRepository.deleteAll();
+            });
+        }
+    }
+
+    private void assertVersionChanges(Consumer<EntityManager> change) {
+        final RecipeVersion before = recipeRepository.findVersionById(recipeId).orElseThrow();
+        change.accept(entityManager.getEntityManager());
+        entityManager.flush();
+        entityManager.clear();
+        assertNotEquals(before.toString(), recipeRepository.findVersionById(recipeId).orElseThrow().toString());
+    }
+}
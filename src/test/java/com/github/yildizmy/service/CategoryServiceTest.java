@@ -1,5 +1,8 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.CursorSlice;
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.dto.mapper.CategoryRequestMapper;
 import com.github.yildizmy.dto.mapper.CategoryRequestMapperImpl;
@@ -15,8 +18,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
@@ -24,8 +29,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.apache.commons.text.WordUtils.capitalizeFully;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +45,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     public CategoryRequestMapper categoryRequestMapper = new CategoryRequestMapperImpl();
 
@@ -52,13 +59,13 @@ class CategoryServiceTest {
      */
     @Test
     void findById_should_throw_NoSuchElementFoundException_when_CategoryIsNotFound() {
-        when(categoryRepository.findById(101L)).thenReturn(Optional.empty());
+        when(categoryRepository.findCachedById(101L)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> {
             service.findById(101L);
         });
 
-        verify(categoryRepository).findById(101L);
+        verify(categoryRepository).findCachedById(101L);
     }
 
     /**
@@ -69,14 +76,14 @@ class CategoryServiceTest {
     void findById_should_return_CategoryResponse_when_CategoryIsFound(Long id, String name, Integer ordinal) {
         Category category = new Category(id, name, ordinal);
 
-        when(categoryRepository.findById(id)).thenReturn(Optional.of(category));
+        when(categoryRepository.findCachedById(id)).thenReturn(Optional.of(category));
 
         CategoryResponse result = service.findById(id);
 
         assertEquals(id, result.getId());
         assertEquals(name, result.getName());
         assertEquals(ordinal, result.getOrdinal());
-        verify(categoryRepository).findById(id);
+        verify(categoryRepository).findCachedById(id);
     }
 
     /**
@@ -86,12 +93,12 @@ class CategoryServiceTest {
     void findAll_should_throw_NoSuchElementFoundException_when_NoCategoryIsFound() {
         SearchRequest request = new SearchRequest();
 
-        when(categoryRepository.findAll((Specification<Category>) any(), (Pageable) any()))
+        when(categoryRepository.findAll((Specification<Category>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(new PageImpl<>(new ArrayList<>()));
 
         assertThrows(NoSuchElementFoundException.class, () -> service.findAll(request));
 
-        verify(categoryRepository).findAll((Specification<Category>) any(), (Pageable) any());
+        verify(categoryRepository).findAll((Specification<Category>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
     }
 
     /**
@@ -103,9 +110,9 @@ class CategoryServiceTest {
         Category category = new Category(id, name, ordinal);
         ArrayList<Category> categoryList = new ArrayList<>();
         categoryList.add(category);
-        PageImpl<Category> pageImpl = new PageImpl<>(categoryList);
+        PageImpl<CategoryResponse> pageImpl = new PageImpl<>(categoryList.stream().map(CategoryResponse::new).toList());
 
-        when(categoryRepository.findAll((Specification<Category>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(categoryRepository.findAll((Specification<Category>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(pageImpl);
 
         List<CategoryResponse> result = service.findAll(new SearchRequest()).toList();
 
@@ -113,7 +120,28 @@ class CategoryServiceTest {
         assertEquals(id, result.get(0).getId());
         assertEquals(name, result.get(0).getName());
         assertEquals(ordinal, result.get(0).getOrdinal());
-        verify(categoryRepository).findAll((Specification<Category>) any(), (Pageable) any());
+        verify(categoryRepository).findAll((Specification<Category>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
+    }
+
+    /**
+     * Method under test: {@link CategoryService#findAll(SearchRequest)}
+     */
+    @Test
+    void findAll_should_return_CursorSlice_when_AfterIsGiven() {
+        SearchRequest request = new SearchRequest();
+        request.setSize(2);
+        request.setAfter("");
+        List<CategoryResponse> categoryList = List.of(new CategoryResponse(101L, "Appetizer", 1),
+                new CategoryResponse(102L, "Dessert", 2), new CategoryResponse(103L, "Main Course", 3));
+
+        when(categoryRepository.findAll((Specification<Category>) any(), any(Projection.class), eq(3))).thenReturn(categoryList);
+
+        Slice<CategoryResponse> result = service.findAll(request);
+
+        assertEquals(List.of(101L, 102L), result.map(CategoryResponse::getId).toList());
+        assertTrue(result.hasNext());
+        assertNotNull(((CursorSlice<CategoryResponse>) result).getNext());
+        verify(categoryRepository, never()).findAll((Specification<Category>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
     }
 
     /**
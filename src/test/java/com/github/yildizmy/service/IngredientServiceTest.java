@@ -1,5 +1,7 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.dto.mapper.IngredientRequestMapper;
 import com.github.yildizmy.dto.mapper.IngredientRequestMapperImpl;
@@ -15,6 +17,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -41,6 +44,9 @@ class IngredientServiceTest {
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     public IngredientRequestMapper ingredientRequestMapper = new IngredientRequestMapperImpl();
 
@@ -52,13 +58,13 @@ class IngredientServiceTest {
      */
     @Test
     void findById_should_throw_NoSuchElementFoundException_when_IngredientIsNotFound() {
-        when(ingredientRepository.findById(101L)).thenReturn(Optional.empty());
+        when(ingredientRepository.findCachedById(101L)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> {
             service.findById(101L);
         });
 
-        verify(ingredientRepository).findById(101L);
+        verify(ingredientRepository).findCachedById(101L);
     }
 
     /**
@@ -69,13 +75,13 @@ class IngredientServiceTest {
     void findById_should_return_IngredientResponse_when_IngredientIsFound(Long id, String name) {
         Ingredient ingredient = new Ingredient(id, name);
 
-        when(ingredientRepository.findById(id)).thenReturn(Optional.of(ingredient));
+        when(ingredientRepository.findCachedById(id)).thenReturn(Optional.of(ingredient));
 
         IngredientResponse result = service.findById(id);
 
         assertEquals(id, result.getId());
         assertEquals(name, result.getName());
-        verify(ingredientRepository).findById(id);
+        verify(ingredientRepository).findCachedById(id);
     }
 
     /**
@@ -85,12 +91,12 @@ class IngredientServiceTest {
     void findAll_should_throw_NoSuchElementFoundException_when_NoIngredientIsFound() {
         SearchRequest request = new SearchRequest();
 
-        when(ingredientRepository.findAll((Specification<Ingredient>) any(), (Pageable) any()))
+        when(ingredientRepository.findAll((Specification<Ingredient>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(new PageImpl<>(new ArrayList<>()));
 
         assertThrows(NoSuchElementFoundException.class, () -> service.findAll(request));
 
-        verify(ingredientRepository).findAll((Specification<Ingredient>) any(), (Pageable) any());
+        verify(ingredientRepository).findAll((Specification<Ingredient>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
     }
 
     /**
@@ -102,16 +108,16 @@ class IngredientServiceTest {
         Ingredient ingredient = new Ingredient(id, name);
         ArrayList<Ingredient> ingredientList = new ArrayList<>();
         ingredientList.add(ingredient);
-        PageImpl<Ingredient> pageImpl = new PageImpl<>(ingredientList);
+        PageImpl<IngredientResponse> pageImpl = new PageImpl<>(ingredientList.stream().map(IngredientResponse::new).toList());
 
-        when(ingredientRepository.findAll((Specification<Ingredient>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(ingredientRepository.findAll((Specification<Ingredient>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(pageImpl);
 
         List<IngredientResponse> result = service.findAll(new SearchRequest()).toList();
 
         assertEquals(1, result.size());
         assertEquals(id, result.get(0).getId());
         assertEquals(name, result.get(0).getName());
-        verify(ingredientRepository).findAll((Specification<Ingredient>) any(), (Pageable) any());
+        verify(ingredientRepository).findAll((Specification<Ingredient>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
     }
 
     /**
@@ -0,0 +1,166 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.common.filter.SortRequest;
+import com.github.yildizmy.dto.request.RecipeSearchRequest;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.exception.InvalidRequestException;
+import com.github.yildizmy.exception.NoSuchElementFoundException;
+import com.github.yildizmy.model.Difficulty;
+import com.github.yildizmy.model.HealthLabel;
+import com.github.yildizmy.repository.ReactiveRecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test for ReactiveRecipeService methods
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveRecipeServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private ReactiveRecipeRepository reactiveRecipeRepository;
+
+    private ReactiveRecipeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveRecipeService(reactiveRecipeRepository, CHUNK_SIZE);
+    }
+
+    /**
+     * Method under test: {@link ReactiveRecipeService#findById(long)}
+     */
+    @Test
+    void findById_should_returnRecipeWithIngredients_when_RecipeExists() {
+        stubResponses(List.of(1L));
+        when(reactiveRecipeRepository.findIngredientResponsesByRecipeIdIn(List.of(1L)))
+                .thenReturn(Flux.just(new RecipeIngredientResponse(1L, 10L, "Salt", BigDecimal.ONE, "Gram")));
+
+        StepVerifier.create(service.findById(1L))
+                .assertNext(recipe -> {
+                    assertEquals(1L, recipe.getId());
+                    assertEquals("Salt", recipe.getIngredients().get(0).getIngredientName());
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Method under test: {@link ReactiveRecipeService#findById(long)}
+     */
+    @Test
+    void findById_should_emitNoSuchElementFoundException_when_RecipeDoesNotExist() {
+        when(reactiveRecipeRepository.findResponsesByIdIn(List.of(1L))).thenReturn(Flux.empty());
+        when(reactiveRecipeRepository.findIngredientResponsesByRecipeIdIn(List.of(1L))).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.findById(1L))
+                .verifyError(NoSuchElementFoundException.class);
+    }
+
+    /**
+     * Method under test: {@link ReactiveRecipeService#search(RecipeSearchRequest)}
+     */
+    @Test
+    void search_should_emitRecipesByChunksInOrderOfIds_when_RecipesMatch() {
+        when(reactiveRecipeRepository.searchKeys(any(), isNull(), eq(0), eq(CHUNK_SIZE)))
+                .thenReturn(keys(3L, 1L));
+        when(reactiveRecipeRepository.searchKeys(any(), eq(List.of(1L)), eq(0), eq(CHUNK_SIZE)))
+                .thenReturn(keys(2L, 5L));
+        when(reactiveRecipeRepository.searchKeys(any(), eq(List.of(5L)), eq(0), eq(CHUNK_SIZE)))
+                .thenReturn(keys(4L));
+        // the recipe 5 is deleted after its id is read
+        stubResponses(List.of(3L, 1L), List.of(2L, 5L), List.of(4L));
+        when(reactiveRecipeRepository.findIngredientResponsesByRecipeIdIn(anyCollection())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.search(new RecipeSearchRequest()).map(RecipeResponse::getId))
+                .expectNext(3L, 1L, 2L, 4L)
+                .verifyComplete();
+        verify(reactiveRecipeRepository, times(3)).findResponsesByIdIn(anyCollection());
+    }
+
+    /**
+     * Method under test: {@link ReactiveRecipeService#search(RecipeSearchRequest)}
+     */
+    @Test
+    void search_should_readRequestedPage_when_SizeIsGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setPage(2);
+        request.setSize(5);
+        when(reactiveRecipeRepository.searchKeys(any(), isNull(), eq(10), eq(CHUNK_SIZE)))
+                .thenReturn(keys(11L, 12L));
+        when(reactiveRecipeRepository.searchKeys(any(), eq(List.of(12L)), eq(0), eq(CHUNK_SIZE)))
+                .thenReturn(keys(13L, 14L));
+        when(reactiveRecipeRepository.searchKeys(any(), eq(List.of(14L)), eq(0), eq(1)))
+                .thenReturn(keys(15L));
+        stubResponses(List.of(11L, 12L), List.of(13L, 14L), List.of(15L));
+        when(reactiveRecipeRepository.findIngredientResponsesByRecipeIdIn(anyCollection())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.search(request).map(RecipeResponse::getId))
+                .expectNext(11L, 12L, 13L, 14L, 15L)
+                .verifyComplete();
+        verify(reactiveRecipeRepository, times(3)).searchKeys(any(), any(), anyInt(), anyInt());
+    }
+
+    /**
+     * Method under test: {@link ReactiveRecipeService#search(RecipeSearchRequest)}
+     */
+    @Test
+    void search_should_completeWithoutLoadingResponses_when_NoRecipeMatches() {
+        when(reactiveRecipeRepository.searchKeys(any(), isNull(), eq(0), eq(CHUNK_SIZE))).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.search(new RecipeSearchRequest())).verifyComplete();
+        verify(reactiveRecipeRepository, never()).findResponsesByIdIn(anyCollection());
+    }
+
+    /**
+     * Method under test: {@link ReactiveRecipeService#search(RecipeSearchRequest)}
+     */
+    @Test
+    void search_should_emitInvalidRequestException_when_SortKeyIsUnknown() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setSorts(List.of(new SortRequest("instructions", null)));
+
+        StepVerifier.create(service.search(request))
+                .verifyError(InvalidRequestException.class);
+        verifyNoInteractions(reactiveRecipeRepository);
+    }
+
+    /**
+     * Returns the sort keys of recipes sorted by their ids only
+     *
+     * @param ids
+     * @return Sort keys of each recipe
+     */
+    private static Flux<List<Object>> keys(Long... ids) {
+        return Flux.fromArray(ids).map(List::of);
+    }
+
+    /**
+     * Stubs the responses of the recipes with the given ids, the ones missing from a chunk do not exist
+     *
+     * @param chunks ids of the recipes returned for each chunk
+     */
+    @SafeVarargs
+    private void stubResponses(List<Long>... chunks) {
+        for (List<Long> chunk : chunks) {
+            when(reactiveRecipeRepository.findResponsesByIdIn(chunk))
+                    .thenReturn(Flux.fromIterable(chunk).filter(id -> id != 5L).map(id -> new RecipeResponse(id,
+                            "Recipe " + id, "Description", 10, 20, 2, "Instructions", Difficulty.EASY,
+                            HealthLabel.DEFAULT, 1L, "Category", 1)));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.yildizmy.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.yildizmy.common.ExportFormat;
+import com.github.yildizmy.common.filter.*;
+import com.github.yildizmy.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test for RecipeExportService running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "recipe.export.chunk-size=10"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(RecipeExportService.class)
+class RecipeExportServiceTest {
+
+    private static final int RECIPE_COUNT = 25;
+    private static final int INGREDIENT_COUNT = 3;
+
+    @Autowired
+    private RecipeExportService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category(null, "Category", 1));
+        Unit unit = entityManager.persist(new Unit(null, "Gram"));
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            ingredients.add(entityManager.persist(new Ingredient(null, "Ingredient " + i)));
+        }
+        for (int i = 0; i < RECIPE_COUNT; i++) {
+            Recipe recipe = new Recipe(null, "Recipe " + i, "Description, \"quoted\"", 10, 20, 1 + i % 4,
+                    "Instructions", Difficulty.EASY, HealthLabel.DEFAULT);
+            category.addRecipe(recipe);
+            for (Ingredient ingredient : ingredients) {
+                recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, BigDecimal.TEN));
+            }
+            entityManager.persist(recipe);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Method under test: {@link RecipeExportService#export(SearchRequest, ExportFormat, java.io.OutputStream)}
+     */
+    @Test
+    void export_should_writeEveryRecipeOnce_when_FormatIsNdjson() throws IOException {
+        String[] lines = export(new SearchRequest(), ExportFormat.NDJSON).split("\n");
+
+        assertEquals(RECIPE_COUNT, lines.length);
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode recipe = objectMapper.readTree(line);
+            // ordered by id when no sort is requested
+            assertEquals(true, recipe.get("id").asLong() > previousId);
+            assertEquals(INGREDIENT_COUNT, recipe.get("ingredients").size());
+            previousId = recipe.get("id").asLong();
+        }
+        // id cursor and a graph query per chunk of 10 recipes
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Method under test: {@link RecipeExportService#export(SearchRequest, ExportFormat, java.io.OutputStream)}
+     */
+    @Test
+    void export_should_applyFilters_when_FormatIsCsv() throws IOException {
+        SearchRequest request = new SearchRequest();
+        request.setFilters(List.of(FilterRequest.builder()
+                .key("servings").operator(Operator.EQUAL).fieldType(FieldType.INTEGER).value(1).build()));
+
+        String[] lines = export(request, ExportFormat.CSV).split("\r\n");
+
+        assertEquals("id,title,description,prepTime,cookTime,servings,difficulty,healthLabel,category,ingredients,instructions", lines[0]);
+        assertEquals(1 + 7, lines.length);
+        assertEquals(true, lines[1].contains(",\"Description, \"\"quoted\"\"\",10,20,1,Easy,"));
+        assertEquals(true, lines[1].contains("10 Gram Ingredient 0; 10 Gram Ingredient 1; 10 Gram Ingredient 2"));
+    }
+
+    /**
+     * Method under test: {@link RecipeExportService#export(SearchRequest, ExportFormat, java.io.OutputStream)}
+     */
+    @Test
+    void export_should_writeEmptyCells_when_CategoryAndUnitAreMissing() throws IOException {
+        Ingredient egg = entityManager.persist(new Ingredient(null, "Egg"));
+        Recipe recipe = new Recipe(null, "Boiled Egg", null, 1, 10, 1, "Boil", Difficulty.EASY, HealthLabel.DEFAULT);
+        recipe.addRecipeIngredient(new RecipeIngredient(recipe, egg, null, BigDecimal.valueOf(2)));
+        Long id = entityManager.persist(recipe).getId();
+        entityManager.flush();
+        entityManager.clear();
+        SearchRequest request = new SearchRequest();
+        request.setFilters(List.of(FilterRequest.builder()
+                .key("title").operator(Operator.EQUAL).fieldType(FieldType.STRING).value("Boiled Egg").build()));
+
+        String[] lines = export(request, ExportFormat.CSV).split("\r\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(id + ",Boiled Egg,,1,10,1,Easy,Default,,2 Egg,Boil", lines[1]);
+    }
+
+    private String export(SearchRequest request, ExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.export(request, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
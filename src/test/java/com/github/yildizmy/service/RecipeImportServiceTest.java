@@ -0,0 +1,177 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.response.RecipeImportResponse;
+import com.github.yildizmy.dto.response.RecipeImportResponse.Failure;
+import com.github.yildizmy.model.Category;
+import com.github.yildizmy.model.Ingredient;
+import com.github.yildizmy.model.Unit;
+import com.github.yildizmy.repository.CategoryRepository;
+import com.github.yildizmy.repository.IngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
+import com.github.yildizmy.repository.UnitRepository;
+import com.github.yildizmy.util.StringUtils;
+import com.github.yildizmy.validator.IngredientValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for RecipeImportService running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "recipe.import.max-reported-failures=5"
+})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({RecipeImportService.class, RecipeRequestMapperImpl.class, IngredientValidator.class, StringUtils.class})
+// each batch is committed by the service, so the test does not run in a transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecipeImportServiceTest {
+
+    @Autowired
+    private RecipeImportService service;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    private Category category;
+
+    private Unit unit;
+
+    private Ingredient ingredient;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Category", 1));
+        unit = unitRepository.save(new Unit(null, "Gram"));
+        ingredient = ingredientRepository.save(new Ingredient(null, "Salt"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        unitRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    /**
+     * Method under test: {@link RecipeImportService#importRecipes}
+     */
+    @Test
+    void importRecipes_should_saveAllRecipes_when_PayloadIsJsonArray() {
+        String payload = IntStream.range(0, 5)
+                .mapToObj(i -> recipe("Recipe " + i, category.getId(), ingredient(ingredient.getId(), null)))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        RecipeImportResponse result = service.importRecipes(toStream(payload), 2);
+
+        assertEquals(5, result.getTotal());
+        assertEquals(5, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(5, recipeRepository.count());
+    }
+
+    /**
+     * Method under test: {@link RecipeImportService#importRecipes}
+     */
+    @Test
+    void importRecipes_should_reportFailedRecipes_when_PayloadIsNdjson() {
+        String payload = String.join("\n",
+                recipe("Valid Recipe", category.getId(), ingredient(0L, "Pepper")),
+                recipe("", category.getId()),
+                recipe("Missing Category", 999L),
+                recipe("Existing Ingredient", category.getId(), ingredient(0L, "salt")),
+                "{\"title\": \"Invalid Difficulty\", \"difficulty\": \"UNKNOWN\"}",
+                recipe("Another Valid Recipe", category.getId(), ingredient(ingredient.getId(), null)));
+
+        RecipeImportResponse result = service.importRecipes(toStream(payload), 10);
+
+        assertEquals(6, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.getFailures().stream().map(Failure::getIndex).sorted().toList());
+        assertEquals("Requested ingredient already exists (IngredientName: salt)", result.getFailures().stream()
+                .filter(failure -> failure.getIndex() == 3).findFirst().orElseThrow().getMessage());
+        assertEquals(2, recipeRepository.count());
+        assertEquals(2, ingredientRepository.count());
+    }
+
+    /**
+     * Method under test: {@link RecipeImportService#importRecipes}
+     */
+    @Test
+    void importRecipes_should_keepImportedBatches_when_PayloadIsMalformed() {
+        String payload = "[" + recipe("First Recipe", category.getId()) + "," + recipe("Second Recipe", category.getId()) + ", {";
+
+        RecipeImportResponse result = service.importRecipes(toStream(payload), 1);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailures().size());
+        // the malformed recipe is the third one
+        assertEquals(2, result.getFailures().get(0).getIndex());
+        assertEquals(2, recipeRepository.count());
+    }
+
+    /**
+     * Method under test: {@link RecipeImportService#importRecipes}
+     */
+    @Test
+    void importRecipes_should_countUnlistedFailures_when_MaxReportedFailuresIsReached() {
+        String payload = IntStream.range(0, 8)
+                .mapToObj(i -> recipe("", category.getId()))
+                .collect(Collectors.joining("\n"));
+
+        RecipeImportResponse result = service.importRecipes(toStream(payload), 10);
+
+        assertEquals(8, result.getTotal());
+        assertEquals(8, result.getFailed());
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), result.getFailures().stream().map(Failure::getIndex).toList());
+    }
+
+    private static String recipe(String title, Long categoryId, String... ingredients) {
+        return "{\"title\": \"" + title + "\", \"categoryId\": " + categoryId + ", \"servings\": 4, "
+                + "\"instructions\": \"Instructions\", \"difficulty\": \"EASY\", \"healthLabel\": \"DEFAULT\", "
+                + "\"recipeIngredients\": [" + String.join(",", ingredients) + "]}";
+    }
+
+    private String ingredient(Long ingredientId, String ingredientName) {
+        return "{\"ingredientId\": " + ingredientId + ", \"ingredientName\": "
+                + (ingredientName == null ? "null" : "\"" + ingredientName + "\"")
+                + ", \"unitId\": " + unit.getId() + ", \"amount\": 10}";
+    }
+
+    private static ByteArrayInputStream toStream(String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.event.IngredientRenamedEvent;
+import com.github.yildizmy.event.RecipesChangedEvent;
+import com.github.yildizmy.model.*;
+import com.github.yildizmy.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test for RecipeIngredientIndex running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "recipe.search.ingredient-index.enabled=true"
+})
+@Import(RecipeIngredientIndex.class)
+// the index reads the database in its own transactions, so the test data has to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecipeIngredientIndexTest {
+
+    @Autowired
+    private RecipeIngredientIndex index;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    private Category category;
+
+    private Unit unit;
+
+    private Ingredient pepper;
+
+    private Recipe soup;
+
+    private Recipe salad;
+
+    private Recipe pasta;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            category = entityManager.persist(new Category(null, "Category", 1));
+            unit = entityManager.persist(new Unit(null, "Gram"));
+            Ingredient salt = entityManager.persist(new Ingredient(null, "Salt"));
+            pepper = entityManager.persist(new Ingredient(null, "Pepper"));
+            Ingredient tomato = entityManager.persist(new Ingredient(null, "Tomato"));
+            soup = createRecipe("Soup", salt, pepper);
+            salad = createRecipe("Salad", salt, tomato);
+            pasta = createRecipe("Pasta", pepper);
+        });
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        unitRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientIndex#find}
+     */
+    @Test
+    void find_should_intersectAndSubtractIngredients_when_IngredientsAreGiven() {
+        assertEquals(Set.of(soup.getId(), salad.getId()), toSet(index.find(List.of("salt"), List.of())));
+        assertEquals(Set.of(soup.getId()), toSet(index.find(List.of(" SALT ", "Pepper"), List.of())));
+        assertEquals(Set.of(pasta.getId()), toSet(index.find(List.of(), List.of("salt"))));
+        assertEquals(Set.of(soup.getId()), toSet(index.find(List.of("salt"), List.of("tomato"))));
+        assertEquals(Set.of(), toSet(index.find(List.of("salt", "unknown"), List.of())));
+        assertNull(index.find(List.of(), List.of()));
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientIndex#onRecipesChanged(RecipesChangedEvent)}
+     */
+    @Test
+    void onRecipesChanged_should_reloadRecipes_when_IngredientIsRemovedAndRecipeIsDeleted() {
+        recipeIngredientRepository.delete(recipeIngredientRepository
+                .findByRecipeIdAndIngredientId(soup.getId(), pepper.getId()).orElseThrow());
+        recipeRepository.deleteById(salad.getId());
+
+        index.onRecipesChanged(new RecipesChangedEvent(List.of(soup.getId(), salad.getId())));
+
+        assertEquals(Set.of(pasta.getId()), toSet(index.find(List.of("pepper"), List.of())));
+        assertEquals(Set.of(soup.getId()), toSet(index.find(List.of("salt"), List.of())));
+        assertEquals(Set.of(soup.getId()), toSet(index.find(List.of(), List.of("pepper"))));
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientIndex#onIngredientRenamed(IngredientRenamedEvent)}
+     */
+    @Test
+    void onIngredientRenamed_should_moveRecipes_when_IngredientIsRenamed() {
+        index.onIngredientRenamed(new IngredientRenamedEvent("Salt", "Sea Salt"));
+
+        assertEquals(Set.of(soup.getId(), salad.getId()), toSet(index.find(List.of("sea salt"), List.of())));
+        assertEquals(Set.of(), toSet(index.find(List.of("salt"), List.of())));
+    }
+
+    private Recipe createRecipe(String title, Ingredient... ingredients) {
+        Recipe recipe = new Recipe(null, title, "Description", 10, 20, 4,
+                "Instructions", Difficulty.EASY, HealthLabel.DEFAULT);
+        recipe.setCategory(category);
+        for (Ingredient ingredient : ingredients) {
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, BigDecimal.TEN));
+        }
+        return entityManager.persist(recipe);
+    }
+
+    private static Set<Long> toSet(Roaring64Bitmap bitmap) {
+        Set<Long> ids = new HashSet<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
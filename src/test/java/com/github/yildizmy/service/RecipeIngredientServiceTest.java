@@ -9,6 +9,7 @@ import com.github.yildizmy.model.Ingredient;
 import com.github.yildizmy.model.Recipe;
 import com.github.yildizmy.repository.IngredientRepository;
 import com.github.yildizmy.repository.RecipeIngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -16,6 +17,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -34,12 +36,18 @@ class RecipeIngredientServiceTest {
     @InjectMocks
     private RecipeIngredientService service;
 
+    @Mock
+    private RecipeRepository recipeRepository;
+
     @Mock
     private RecipeIngredientRepository recipeIngredientRepository;
 
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Captor
     private ArgumentCaptor<RecipeIngredient> recipeIngredientCaptor;
 
@@ -99,6 +107,7 @@ class RecipeIngredientServiceTest {
         request.setIngredientName(ingredient.getName());
 
         when(ingredientRepository.existsByNameIgnoreCase(ingredient.getName())).thenReturn(false);
+        when(recipeRepository.findForVersionIncrementById(101L)).thenReturn(Optional.of(new Recipe(101L)));
 
         service.addIngredientToRecipe(request);
 
@@ -118,6 +127,7 @@ class RecipeIngredientServiceTest {
         request.setUnitId(1L);
 
         when(recipeIngredientRepository.existsByRecipeIdAndIngredientId(101L, 201L)).thenReturn(false);
+        when(recipeRepository.findForVersionIncrementById(101L)).thenReturn(Optional.of(new Recipe(101L)));
 
         service.addIngredientToRecipe(request);
         verify(recipeIngredientRepository).save(recipeIngredientCaptor.capture());
@@ -132,6 +142,23 @@ class RecipeIngredientServiceTest {
         verify(ingredientRepository, never()).save(any());
     }
 
+    /**
+     * Method under test: {@link RecipeIngredientService#addIngredientToRecipe(RecipeIngredientRequest)}
+     */
+    @Test
+    void addIngredientToRecipe_should_throw_NoSuchElementFoundException_when_RecipeNotFound() {
+        RecipeIngredientRequest request = new RecipeIngredientRequest();
+        request.setRecipeId(101L);
+        request.setIngredientId(201L);
+
+        when(recipeIngredientRepository.existsByRecipeIdAndIngredientId(101L, 201L)).thenReturn(false);
+        when(recipeRepository.findForVersionIncrementById(101L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementFoundException.class, () -> service.addIngredientToRecipe(request));
+
+        verify(recipeIngredientRepository, never()).save(any());
+    }
+
     /**
      * Method under test: {@link RecipeIngredientService#removeIngredientFromRecipe(Long recipeId, Long ingredientId)}
      */
@@ -142,6 +169,7 @@ class RecipeIngredientServiceTest {
         assertThrows(NoSuchElementFoundException.class, () -> service.removeIngredientFromRecipe(101L, 201L));
 
         verify(recipeIngredientRepository, never()).delete(any());
+        verify(recipeRepository, never()).findForVersionIncrementById(any());
     }
 
     /**
@@ -161,6 +189,7 @@ class RecipeIngredientServiceTest {
 
         when(recipeIngredientRepository.findByRecipeIdAndIngredientId(recipe.getId(), ingredient.getId()))
                 .thenReturn(Optional.of(recipeIngredient));
+        when(recipeRepository.findForVersionIncrementById(recipe.getId())).thenReturn(Optional.of(recipe));
 
         service.removeIngredientFromRecipe(recipe.getId(), ingredient.getId());
         verify(recipeIngredientRepository).delete(recipeIngredientCaptor.capture());
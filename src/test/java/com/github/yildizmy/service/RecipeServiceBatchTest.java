@@ -0,0 +1,170 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.dto.request.RecipeRequest;
+import com.github.yildizmy.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test for the JDBC batching of the inserts executed by RecipeService running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({RecipeService.class, RecipeIngredientIndex.class, RecipeRequestMapperImpl.class, RecipeServiceBatchTest.BatchRecorderConfig.class})
+class RecipeServiceBatchTest {
+
+    private static final int INGREDIENT_COUNT = 30;
+    private static final List<Batch> BATCHES = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private RecipeService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Category category;
+
+    private Unit unit;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(new Category(null, "Category", 1));
+        unit = entityManager.persist(new Unit(null, "Gram"));
+        entityManager.flush();
+        BATCHES.clear();
+    }
+
+    /**
+     * Method under test: {@link RecipeService#create(RecipeRequest)}
+     */
+    @Test
+    void create_should_sendInsertsAsBatches_when_RecipeHasManyIngredients() {
+        List<RecipeIngredientRequest> recipeIngredients = new ArrayList<>();
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            RecipeIngredientRequest recipeIngredient = new RecipeIngredientRequest();
+            recipeIngredient.setIngredientId(0L);
+            recipeIngredient.setIngredientName("Ingredient " + i);
+            recipeIngredient.setUnitId(unit.getId());
+            recipeIngredient.setAmount(BigDecimal.TEN);
+            recipeIngredients.add(recipeIngredient);
+        }
+        RecipeRequest request = new RecipeRequest();
+        request.setTitle("Title");
+        request.setInstructions("Instructions");
+        request.setDifficulty(Difficulty.EASY);
+        request.setHealthLabel(HealthLabel.DEFAULT);
+        request.setCategoryId(category.getId());
+        request.setRecipeIngredients(recipeIngredients);
+
+        service.create(request);
+        entityManager.flush();
+
+        assertEquals(List.of(INGREDIENT_COUNT), getBatchSizes("insert into ingredient "));
+        assertEquals(List.of(1), getBatchSizes("insert into recipe "));
+        assertEquals(List.of(INGREDIENT_COUNT), getBatchSizes("insert into recipe_ingredient "));
+    }
+
+    private List<Integer> getBatchSizes(String sqlPrefix) {
+        return BATCHES.stream()
+                .filter(batch -> batch.sql().toLowerCase().startsWith(sqlPrefix))
+                .map(Batch::size)
+                .toList();
+    }
+
+    private record Batch(String sql, int size) {
+    }
+
+    /**
+     * Wraps the data source in order to record the size of each JDBC batch executed by Hibernate
+     */
+    @TestConfiguration
+    static class BatchRecorderConfig {
+
+        @Bean
+        static BeanPostProcessor batchRecordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new BatchRecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static class BatchRecordingDataSource extends DelegatingDataSource {
+
+        BatchRecordingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        final Object result = invoke(connection, method, args);
+                        if ("prepareStatement".equals(method.getName())) {
+                            return wrap((PreparedStatement) result, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            final AtomicInteger size = new AtomicInteger();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if ("addBatch".equals(method.getName())) {
+                            size.incrementAndGet();
+                        } else if ("executeBatch".equals(method.getName())) {
+                            BATCHES.add(new Batch(sql, size.getAndSet(0)));
+                        } else if ("executeUpdate".equals(method.getName())) {
+                            BATCHES.add(new Batch(sql, 1));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.CursorSlice;
+import com.github.yildizmy.common.filter.SearchRequest;
+import com.github.yildizmy.common.filter.SortDirection;
+import com.github.yildizmy.common.filter.SortRequest;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.dto.request.RecipeRequest;
+import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement count test for RecipeService methods running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({RecipeService.class, RecipeIngredientIndex.class, RecipeRequestMapperImpl.class})
+class RecipeServiceStatementCountTest {
+
+    private static final int RECIPE_COUNT = 60;
+    private static final int INGREDIENT_COUNT = 8;
+
+    @Autowired
+    private RecipeService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    private Unit unit;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(new Category(null, "Category", 1));
+        unit = entityManager.persist(new Unit(null, "Gram"));
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            ingredients.add(entityManager.persist(new Ingredient(null, "Ingredient " + i)));
+        }
+        for (int i = 0; i < RECIPE_COUNT; i++) {
+            Recipe recipe = new Recipe(null, "Recipe " + i, "Description", 10, 20, 4,
+                    "Instructions", Difficulty.EASY, HealthLabel.DEFAULT);
+            category.addRecipe(recipe);
+            for (Ingredient ingredient : ingredients) {
+                recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredient, unit, BigDecimal.TEN));
+            }
+            entityManager.persist(recipe);
+        }
+        entityManager.flush();
+        // start from an empty persistence context so that every association has to be loaded from the database
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void findAll_should_executeConstantNumberOfStatements_when_PageSizeGrows(int size) {
+        SearchRequest request = new SearchRequest();
+        request.setPage(0);
+        request.setSize(size);
+
+        List<RecipeResponse> result = service.findAll(request, RecipeField.ALL).toList();
+
+        assertEquals(size, result.size());
+        assertTrue(result.stream().allMatch(recipe -> recipe.getIngredients().size() == INGREDIENT_COUNT));
+        // id page, count, recipe projection and ingredient projection queries
+        assertEquals(4, statistics.getPrepareStatementCount());
+        // projections are not managed, so nothing is hydrated into the persistence context
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"title", "title,category"})
+    void findAll_should_notQueryIngredients_when_IngredientsAreNotSelected(String fields) {
+        SearchRequest request = new SearchRequest();
+        request.setPage(0);
+        request.setSize(10);
+
+        List<RecipeResponse> result = service.findAll(request, RecipeField.of(List.of(fields.split(",")))).toList();
+
+        assertEquals(10, result.size());
+        assertTrue(result.stream().allMatch(recipe -> recipe.getIngredients() == null && recipe.getInstructions() == null));
+        // id page, count and recipe projection queries
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"title", "category.name"})
+    void findAll_should_notLoadRecipes_when_CursorSlicesAreFetched(String sortKey) {
+        Set<Long> visited = new HashSet<>();
+        String after = "";
+        do {
+            SearchRequest request = new SearchRequest();
+            request.setSorts(List.of(new SortRequest(sortKey, SortDirection.DESC)));
+            request.setSize(25);
+            request.setAfter(after);
+            statistics.clear();
+
+            CursorSlice<RecipeResponse> slice = (CursorSlice<RecipeResponse>) service.findAll(request, RecipeField.ALL);
+
+            slice.forEach(recipe -> assertTrue(visited.add(recipe.getId())));
+            // id and sort key, recipe projection and ingredient projection queries
+            assertEquals(3, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            after = slice.getNext();
+        } while (after != null);
+
+        assertEquals(RECIPE_COUNT, visited.size());
+    }
+
+    /**
+     * Method under test: {@link RecipeService#create(RecipeRequest)}
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 30})
+    void create_should_executeConstantNumberOfQueries_when_IngredientsExist(int count) {
+        List<RecipeIngredientRequest> recipeIngredients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Ingredient ingredient = entityManager.persist(new Ingredient(null, "Existing Ingredient " + i));
+            recipeIngredients.add(createRecipeIngredientRequest(ingredient.getId(), null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        service.create(createRecipeRequest(recipeIngredients));
+        entityManager.flush();
+
+        // category, ingredient and unit queries
+        assertEquals(3, statistics.getQueryExecutionCount());
+        assertEquals(1 + count, statistics.getEntityInsertCount());
+    }
+
+    /**
+     * Method under test: {@link RecipeService#create(RecipeRequest)}
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 30})
+    void create_should_executeConstantNumberOfQueries_when_IngredientsAreNew(int count) {
+        List<RecipeIngredientRequest> recipeIngredients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            recipeIngredients.add(createRecipeIngredientRequest(0L, "New Ingredient " + i));
+        }
+
+        service.create(createRecipeRequest(recipeIngredients));
+        entityManager.flush();
+
+        // category, ingredient name and unit queries
+        assertEquals(3, statistics.getQueryExecutionCount());
+        assertEquals(1 + count * 2L, statistics.getEntityInsertCount());
+    }
+
+    private RecipeRequest createRecipeRequest(List<RecipeIngredientRequest> recipeIngredients) {
+        RecipeRequest request = new RecipeRequest();
+        request.setTitle("Title");
+        request.setDescription("Description");
+        request.setPrepTime(10);
+        request.setCookTime(20);
+        request.setServings(4);
+        request.setInstructions("Instructions");
+        request.setDifficulty(Difficulty.EASY);
+        request.setHealthLabel(HealthLabel.DEFAULT);
+        request.setCategoryId(category.getId());
+        request.setRecipeIngredients(recipeIngredients);
+        return request;
+    }
+
+    private RecipeIngredientRequest createRecipeIngredientRequest(Long ingredientId, String ingredientName) {
+        RecipeIngredientRequest request = new RecipeIngredientRequest();
+        request.setIngredientId(ingredientId);
+        request.setIngredientName(ingredientName);
+        request.setUnitId(unit.getId());
+        request.setAmount(BigDecimal.TEN);
+        return request;
+    }
+}
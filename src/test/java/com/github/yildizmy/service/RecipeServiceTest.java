@@ -1,12 +1,16 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.CountMode;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.dto.mapper.RecipeRequestMapper;
 import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.request.RangeRequest;
 import com.github.yildizmy.dto.request.RecipeIngredientRequest;
 import com.github.yildizmy.dto.request.RecipeRequest;
 import com.github.yildizmy.dto.request.RecipeSearchRequest;
 import com.github.yildizmy.dto.response.CommandResponse;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
 import com.github.yildizmy.dto.response.RecipeResponse;
 import com.github.yildizmy.exception.ElementAlreadyExistsException;
 import com.github.yildizmy.exception.NoSuchElementFoundException;
@@ -21,19 +25,24 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.apache.commons.text.WordUtils.capitalizeFully;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 /**
@@ -57,6 +66,12 @@ class RecipeServiceTest {
     @Mock
     private UnitRepository unitRepository;
 
+    @Mock
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     public RecipeRequestMapper recipeRequestMapper = new RecipeRequestMapperImpl();
 
@@ -64,21 +79,21 @@ class RecipeServiceTest {
     private ArgumentCaptor<Recipe> recipeCaptor;
 
     /**
-     * Method under test: {@link RecipeService#findById(Long)}
+     * Method under test: {@link RecipeService#findById(Long, Set)}
      */
     @Test
     void findById_should_throw_NoSuchElementFoundException_when_RecipeIsNotFound() {
         when(recipeRepository.findById(101L)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> {
-            service.findById(101L);
+            service.findById(101L, RecipeField.ALL);
         });
 
         verify(recipeRepository).findById(101L);
     }
 
     /**
-     * Method under test: {@link RecipeService#findById(Long)}
+     * Method under test: {@link RecipeService#findById(Long, Set)}
      */
     @ParameterizedTest
     @CsvFileSource(resources = "/data/recipes.csv")
@@ -100,7 +115,7 @@ class RecipeServiceTest {
 
         when(recipeRepository.findById(id)).thenReturn(Optional.of(recipe));
 
-        RecipeResponse result = service.findById(id);
+        RecipeResponse result = service.findById(id, RecipeField.ALL);
 
         assertEquals(id, result.getId());
         assertEquals(title, result.getTitle());
@@ -113,47 +128,38 @@ class RecipeServiceTest {
     }
 
     /**
-     * Method under test: {@link RecipeService#findAll(SearchRequest)}
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
      */
     @Test
     void findAll_should_throw_NoSuchElementFoundException_when_NoRecipeIsFound() {
         SearchRequest request = new SearchRequest();
 
-        when(recipeRepository.findAll((Specification<Recipe>) any(), (Pageable) any()))
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.EXACT)))
                 .thenReturn(new PageImpl<>(new ArrayList<>()));
 
-        assertThrows(NoSuchElementFoundException.class, () -> service.findAll(request));
+        assertThrows(NoSuchElementFoundException.class, () -> service.findAll(request, RecipeField.ALL));
 
-        verify(recipeRepository).findAll((Specification<Recipe>) any(), (Pageable) any());
+        verify(recipeRepository).findAllIds(any(), any(), eq(CountMode.EXACT));
+        verify(recipeRepository, never()).findResponsesByIdIn(any(), any());
     }
 
     /**
-     * Method under test: {@link RecipeService#findAll(SearchRequest)}
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
      */
     @ParameterizedTest
     @CsvFileSource(resources = "/data/recipes.csv")
     void findAll_should_return_RecipeResponseList_when_RecipeIsFound(Long id, String title, String description, Integer prepTime,
                                                                      Integer cookTime, Integer servings, String instructions,
                                                                      String difficulty, String healthLabel) {
-        Category category = new Category(201L, "Category", 1);
-        Recipe recipe = new Recipe();
-        recipe.setId(id);
-        recipe.setTitle(title);
-        recipe.setDescription(description);
-        recipe.setPrepTime(prepTime);
-        recipe.setCookTime(cookTime);
-        recipe.setServings(servings);
-        recipe.setInstructions(instructions);
-        recipe.setDifficulty(Difficulty.valueOf(difficulty));
-        recipe.setHealthLabel(HealthLabel.valueOf(healthLabel));
-        recipe.setCategory(category);
+        RecipeResponse recipe = new RecipeResponse(id, title, description, prepTime, cookTime, servings, instructions,
+                Difficulty.valueOf(difficulty), HealthLabel.valueOf(healthLabel), 201L, "Category", 1);
+        RecipeIngredientResponse ingredient = new RecipeIngredientResponse(id, 301L, "Ingredient", BigDecimal.TEN, "Gram");
 
-        List<Recipe> recipeList = Collections.singletonList(recipe);
-        PageImpl<Recipe> pageImpl = new PageImpl<>(recipeList);
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.EXACT))).thenReturn(new PageImpl<>(List.of(id)));
+        when(recipeRepository.findResponsesByIdIn(List.of(id), RecipeField.ALL)).thenReturn(List.of(recipe));
+        when(recipeRepository.findIngredientResponsesByRecipeIdIn(List.of(id))).thenReturn(List.of(ingredient));
 
-        when(recipeRepository.findAll((Specification<Recipe>) any(), (Pageable) any())).thenReturn(pageImpl);
-
-        List<RecipeResponse> result = service.findAll(new SearchRequest()).toList();
+        List<RecipeResponse> result = service.findAll(new SearchRequest(), RecipeField.ALL).toList();
 
         assertEquals(1, result.size());
         assertEquals(id, result.get(0).getId());
@@ -163,28 +169,98 @@ class RecipeServiceTest {
         assertEquals(cookTime, result.get(0).getCookTime());
         assertEquals(servings, result.get(0).getServings());
         assertEquals(instructions, result.get(0).getInstructions());
-        verify(recipeRepository).findAll((Specification<Recipe>) any(), (Pageable) any());
+        assertEquals("Category", result.get(0).getCategory().getName());
+        assertEquals(List.of(ingredient), result.get(0).getIngredients());
+        verify(recipeRepository).findAllIds(any(), any(), eq(CountMode.EXACT));
+        verify(recipeRepository).findResponsesByIdIn(List.of(id), RecipeField.ALL);
+        verify(recipeRepository, never()).findAllByIdIn(any());
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
+     */
+    @Test
+    void findAll_should_keepPageOrder_when_RecipesAreLoadedInDifferentOrder() {
+        List<RecipeResponse> recipeList = new ArrayList<>();
+        List<RecipeIngredientResponse> ingredientList = new ArrayList<>();
+        for (long id = 101L; id <= 103L; id++) {
+            recipeList.add(new RecipeResponse(id, "Title " + id, "Description", 10, 20, 2,
+                    "Instructions", Difficulty.EASY, HealthLabel.DEFAULT, 201L, "Category", 1));
+            ingredientList.add(new RecipeIngredientResponse(id, 301L, "Ingredient", BigDecimal.ONE, "Gram"));
+            ingredientList.add(new RecipeIngredientResponse(id, 302L, "Ingredient", BigDecimal.TEN, "Gram"));
+        }
+        List<Long> ids = List.of(103L, 101L, 102L);
+
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.EXACT))).thenReturn(new PageImpl<>(ids));
+        when(recipeRepository.findResponsesByIdIn(ids, RecipeField.ALL)).thenReturn(recipeList);
+        when(recipeRepository.findIngredientResponsesByRecipeIdIn(ids)).thenReturn(ingredientList);
+
+        List<RecipeResponse> result = service.findAll(new SearchRequest(), RecipeField.ALL).toList();
+
+        assertEquals(ids, result.stream().map(RecipeResponse::getId).toList());
+        assertTrue(result.stream().allMatch(recipe -> recipe.getIngredients().size() == 2
+                && recipe.getIngredients().stream().allMatch(i -> i.getRecipeId().equals(recipe.getId()))));
+        verify(recipeRepository).findResponsesByIdIn(ids, RecipeField.ALL);
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findAll(SearchRequest, Set)}
+     */
+    @Test
+    void findAll_should_notQueryIngredients_when_IngredientsAreNotSelected() {
+        Set<RecipeField> fields = RecipeField.of(List.of("title", "category"));
+        RecipeResponse recipe = new RecipeResponse();
+        recipe.setId(101L);
+        recipe.setTitle("Title");
+        recipe.setFields(fields);
+
+        when(recipeRepository.findAllIds(any(), any(), eq(CountMode.EXACT))).thenReturn(new PageImpl<>(List.of(101L)));
+        when(recipeRepository.findResponsesByIdIn(List.of(101L), fields)).thenReturn(List.of(recipe));
+
+        List<RecipeResponse> result = service.findAll(new SearchRequest(), fields).toList();
+
+        assertEquals(List.of(recipe), result);
+        verify(recipeRepository, never()).findIngredientResponsesByRecipeIdIn(any());
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findById(Long, Set)}
+     */
+    @Test
+    void findById_should_selectFieldsInsteadOfLoadingRecipe_when_FieldsAreSelected() {
+        Set<RecipeField> fields = RecipeField.of(List.of("title", "ingredients"));
+        RecipeResponse recipe = new RecipeResponse();
+        recipe.setId(101L);
+        recipe.setFields(fields);
+        RecipeIngredientResponse ingredient = new RecipeIngredientResponse(101L, 301L, "Ingredient", BigDecimal.TEN, "Gram");
+
+        when(recipeRepository.findResponsesByIdIn(List.of(101L), fields)).thenReturn(List.of(recipe));
+        when(recipeRepository.findIngredientResponsesByRecipeIdIn(List.of(101L))).thenReturn(List.of(ingredient));
+
+        RecipeResponse result = service.findById(101L, fields);
+
+        assertEquals(List.of(ingredient), result.getIngredients());
+        verify(recipeRepository, never()).findById(any());
     }
 
     /**
-     * Method under test: {@link RecipeService#search(RecipeSearchRequest)}
+     * Method under test: {@link RecipeService#search(RecipeSearchRequest, Set)}
      */
     @Test
     void search_should_throw_NoSuchElementFoundException_when_NoRecipeIsFound() {
-        List<Recipe> recipes = new ArrayList<>();
         RecipeSearchRequest request = new RecipeSearchRequest();
 
-        when(recipeRepository.search(any(), any(), any(), any(), any())).thenReturn(recipes);
+        when(recipeRepository.searchIds(any(), anyInt(), anyInt())).thenReturn(Stream.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> {
-            service.search(request);
+            service.search(request, RecipeField.ALL);
         });
 
-        verify(recipeRepository).search(any(), any(), any(), any(), any());
+        verify(recipeRepository).searchIds(any(), anyInt(), anyInt());
     }
 
     /**
-     * Method under test: {@link RecipeService#search(RecipeSearchRequest)}
+     * Method under test: {@link RecipeService#search(RecipeSearchRequest, Set)}
      */
     @ParameterizedTest
     @CsvFileSource(resources = "/data/recipes.csv")
@@ -195,38 +271,82 @@ class RecipeServiceTest {
         String ingredientIn = "potatoes";
         String ingredientEx = "salmon";
         String text = "oven";
-        Category category = new Category(201L, "Category", 1);
-        Recipe recipe = new Recipe();
-        recipe.setId(id);
-        recipe.setTitle(title);
-        recipe.setDescription(description);
-        recipe.setPrepTime(prepTime);
-        recipe.setCookTime(cookTime);
-        recipe.setServings(servings);
-        recipe.setInstructions(instructions);
-        recipe.setDifficulty(Difficulty.valueOf(difficulty));
-        recipe.setHealthLabel(HealthLabel.valueOf(healthLabel));
-        recipe.setCategory(category);
-        List<Recipe> recipes = Collections.singletonList(recipe);
+        RecipeResponse recipe = new RecipeResponse(id, title, description, prepTime, cookTime, servings, instructions,
+                Difficulty.valueOf(difficulty), HealthLabel.valueOf(healthLabel), 201L, "Category", 1);
 
         RecipeSearchRequest request = new RecipeSearchRequest();
         request.setIsVegetarian(isVegetarian);
-        request.setServings(servings);
-        request.setIngredientIn(ingredientIn);
-        request.setIngredientEx(ingredientEx);
+        request.setServings(RangeRequest.of(servings));
+        request.setIngredientIn(List.of(ingredientIn));
+        request.setIngredientEx(List.of(ingredientEx));
         request.setText(text);
-        when(recipeRepository.search(isVegetarian, servings, ingredientIn, ingredientEx, text)).thenReturn(recipes);
+        when(recipeIngredientIndex.find(List.of(ingredientIn), List.of(ingredientEx)))
+                .thenReturn(Roaring64Bitmap.bitmapOf(id));
+        // the few recipes resolved by the index are given to the database, which selects the page
+        when(recipeRepository.searchIds(argThat(query -> !query.getSql().contains("EXISTS")
+                && List.of(id).equals(query.getParameters().get("ids"))), eq(0), eq(101)))
+                .thenReturn(Stream.of(id));
+        when(recipeRepository.findResponsesByIdIn(List.of(id), RecipeField.ALL)).thenReturn(List.of(recipe));
+
+        Slice<RecipeResponse> result = service.search(request, RecipeField.ALL);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertFalse(result.hasNext());
+        assertEquals(id, result.getContent().get(0).getId());
+        assertEquals(title, result.getContent().get(0).getTitle());
+        assertEquals(description, result.getContent().get(0).getDescription());
+        assertEquals(prepTime, result.getContent().get(0).getPrepTime());
+        assertEquals(cookTime, result.getContent().get(0).getCookTime());
+        assertEquals(servings, result.getContent().get(0).getServings());
+        assertEquals(instructions, result.getContent().get(0).getInstructions());
+        verify(recipeRepository).searchIds(any(), anyInt(), anyInt());
+    }
 
-        List<RecipeResponse> result = service.search(request);
+    /**
+     * Method under test: {@link RecipeService#search(RecipeSearchRequest, Set)}
+     */
+    @Test
+    void search_should_readPageFromIndex_when_OnlyIngredientsAreGiven() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIngredientIn(List.of("potatoes", " "));
+        request.setPage(1);
+        request.setSize(2);
+        when(recipeIngredientIndex.find(List.of("potatoes"), List.of()))
+                .thenReturn(Roaring64Bitmap.bitmapOf(11L, 12L, 13L, 14L, 15L));
+        when(recipeRepository.findResponsesByIdIn(List.of(13L, 14L), RecipeField.ALL)).thenReturn(List.of(
+                new RecipeResponse(14L, "Title", null, 1, 1, 1, null, Difficulty.EASY, HealthLabel.DEFAULT, null, null, null),
+                new RecipeResponse(13L, "Title", null, 1, 1, 1, null, Difficulty.EASY, HealthLabel.DEFAULT, null, null, null)));
+
+        Slice<RecipeResponse> result = service.search(request, RecipeField.ALL);
+
+        assertEquals(List.of(13L, 14L), result.map(RecipeResponse::getId).toList());
+        assertTrue(result.hasNext());
+        verify(recipeRepository, never()).searchIds(any(), anyInt(), anyInt());
+    }
 
-        assertEquals(id, result.get(0).getId());
-        assertEquals(title, result.get(0).getTitle());
-        assertEquals(description, result.get(0).getDescription());
-        assertEquals(prepTime, result.get(0).getPrepTime());
-        assertEquals(cookTime, result.get(0).getCookTime());
-        assertEquals(servings, result.get(0).getServings());
-        assertEquals(instructions, result.get(0).getInstructions());
-        verify(recipeRepository).search(any(), any(), any(), any(), any());
+    /**
+     * Method under test: {@link RecipeService#search(RecipeSearchRequest, Set)}
+     */
+    @Test
+    void search_should_joinIngredientsInDatabase_when_ManyRecipesMatchIngredients() {
+        RecipeSearchRequest request = new RecipeSearchRequest();
+        request.setIsVegetarian(true);
+        request.setIngredientIn(List.of("potatoes"));
+        request.setSize(2);
+        Roaring64Bitmap matches = new Roaring64Bitmap();
+        matches.addRange(1L, 2002L);
+        when(recipeIngredientIndex.find(List.of("potatoes"), List.of())).thenReturn(matches);
+        when(recipeRepository.searchIds(argThat(query -> query.getSql().contains("EXISTS")
+                && !query.getParameters().containsKey("ids")), eq(0), eq(3)))
+                .thenReturn(Stream.of(5L, 7L, 9L));
+        when(recipeRepository.findResponsesByIdIn(List.of(5L, 7L), RecipeField.ALL)).thenReturn(List.of(
+                new RecipeResponse(5L, "Title", null, 1, 1, 1, null, Difficulty.EASY, HealthLabel.VEGETARIAN, null, null, null),
+                new RecipeResponse(7L, "Title", null, 1, 1, 1, null, Difficulty.EASY, HealthLabel.VEGETARIAN, null, null, null)));
+
+        Slice<RecipeResponse> result = service.search(request, RecipeField.ALL);
+
+        assertEquals(List.of(5L, 7L), result.map(RecipeResponse::getId).toList());
+        assertTrue(result.hasNext());
     }
 
     /**
@@ -237,14 +357,14 @@ class RecipeServiceTest {
         RecipeRequest request = new RecipeRequest();
         request.setCategoryId(201L);
 
-        when(categoryRepository.findById(201L)).thenReturn(Optional.empty());
+        when(categoryRepository.findCachedById(201L)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> service.create(request));
 
-        verify(ingredientRepository, never()).findById(any());
-        verify(ingredientRepository, never()).existsByNameIgnoreCase(any());
-        verify(ingredientRepository, never()).save(any());
-        verify(unitRepository, never()).findById(any());
+        verify(ingredientRepository, never()).findAllById(any());
+        verify(ingredientRepository, never()).findNamesByLowerNameIn(any());
+        verify(ingredientRepository, never()).saveAll(any());
+        verify(unitRepository, never()).findAllById(any());
         verify(recipeRepository, never()).save(any());
     }
 
@@ -275,14 +395,14 @@ class RecipeServiceTest {
         request.setCategoryId(category.getId());
         request.setRecipeIngredients(recipeIngredients);
 
-        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(ingredientRepository.findById(ingredient.getId())).thenReturn(Optional.empty());
+        when(categoryRepository.findCachedById(category.getId())).thenReturn(Optional.of(category));
+        when(ingredientRepository.findAllById(Set.of(ingredient.getId()))).thenReturn(Collections.emptyList());
 
         assertThrows(NoSuchElementFoundException.class, () -> service.create(request));
 
-        verify(ingredientRepository, never()).existsByNameIgnoreCase(any());
-        verify(ingredientRepository, never()).save(any());
-        verify(unitRepository, never()).findById(any());
+        verify(ingredientRepository, never()).findNamesByLowerNameIn(any());
+        verify(ingredientRepository, never()).saveAll(any());
+        verify(unitRepository, never()).findAllById(any());
         verify(recipeRepository, never()).save(any());
     }
 
@@ -313,13 +433,14 @@ class RecipeServiceTest {
         request.setCategoryId(category.getId());
         request.setRecipeIngredients(recipeIngredients);
 
-        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(ingredientRepository.existsByNameIgnoreCase("Ingredient")).thenReturn(true);
+        when(categoryRepository.findCachedById(category.getId())).thenReturn(Optional.of(category));
+        when(ingredientRepository.findNamesByLowerNameIn(Set.of("ingredient"))).thenReturn(List.of("Ingredient"));
 
-        assertThrows(ElementAlreadyExistsException.class, () -> service.create(request));
+        ElementAlreadyExistsException exception = assertThrows(ElementAlreadyExistsException.class, () -> service.create(request));
 
-        verify(ingredientRepository, never()).save(any());
-        verify(unitRepository, never()).findById(any());
+        assertEquals("Requested ingredient already exists (IngredientName: Ingredient)", exception.getMessage());
+        verify(ingredientRepository, never()).saveAll(any());
+        verify(unitRepository, never()).findAllById(any());
         verify(recipeRepository, never()).save(any());
     }
 
@@ -354,9 +475,9 @@ class RecipeServiceTest {
         request.setCategoryId(category.getId());
         request.setRecipeIngredients(recipeIngredients);
 
-        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(ingredientRepository.existsByNameIgnoreCase("Ingredient")).thenReturn(false);
-        when(unitRepository.findById(unit.getId())).thenReturn(Optional.empty());
+        when(categoryRepository.findCachedById(category.getId())).thenReturn(Optional.of(category));
+        when(ingredientRepository.findNamesByLowerNameIn(Set.of("ingredient"))).thenReturn(Collections.emptyList());
+        when(unitRepository.findAllById(Set.of(unit.getId()))).thenReturn(Collections.emptyList());
 
         assertThrows(NoSuchElementFoundException.class, () -> service.create(request));
 
@@ -395,11 +516,9 @@ class RecipeServiceTest {
         request.setRecipeIngredients(recipeIngredients);
 
 
-        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(ingredientRepository.findById(ingredient.getId())).thenReturn(Optional.of(ingredient));
-        when(unitRepository.findById(unit.getId())).thenReturn(Optional.of(unit));
-
-        verify(ingredientRepository, never()).existsByNameIgnoreCase(any());
+        when(categoryRepository.findCachedById(category.getId())).thenReturn(Optional.of(category));
+        when(ingredientRepository.findAllById(Set.of(ingredient.getId()))).thenReturn(List.of(ingredient));
+        when(unitRepository.findAllById(Set.of(unit.getId()))).thenReturn(List.of(unit));
 
         CommandResponse result = service.create(request);
         verify(recipeRepository).save(recipeCaptor.capture());
@@ -413,7 +532,8 @@ class RecipeServiceTest {
         assertEquals(servings, capturedRecipe.getServings());
         assertEquals(instructions, capturedRecipe.getInstructions());
         verify(recipeRepository).save(capturedRecipe);
-        verify(ingredientRepository, never()).save(any());
+        verify(ingredientRepository, never()).findNamesByLowerNameIn(any());
+        verify(ingredientRepository, never()).saveAll(any());
     }
 
     /**
@@ -425,7 +545,7 @@ class RecipeServiceTest {
         RecipeRequest request = new RecipeRequest();
 
         when(recipeRepository.findById(request.getId())).thenReturn(Optional.of(recipe));
-        when(categoryRepository.findById(request.getCategoryId())).thenReturn(Optional.empty());
+        when(categoryRepository.findCachedById(request.getCategoryId())).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> service.update(request));
 
@@ -443,7 +563,7 @@ class RecipeServiceTest {
 
         assertThrows(NoSuchElementFoundException.class, () -> service.update(request));
 
-        verify(categoryRepository, never()).findById(any());
+        verify(categoryRepository, never()).findCachedById(any());
         verify(recipeRepository, never()).save(any());
     }
 
@@ -470,7 +590,7 @@ class RecipeServiceTest {
         request.setCategoryId(category.getId());
 
         when(recipeRepository.findById(request.getId())).thenReturn(Optional.of(recipe));
-        when(categoryRepository.findById(request.getCategoryId())).thenReturn(Optional.of(category));
+        when(categoryRepository.findCachedById(request.getCategoryId())).thenReturn(Optional.of(category));
 
         service.update(request);
         verify(recipeRepository).save(recipeCaptor.capture());
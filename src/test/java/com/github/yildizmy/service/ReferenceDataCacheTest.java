@@ -0,0 +1,114 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.config.CacheConfig;
+import com.github.yildizmy.dto.mapper.CategoryRequestMapperImpl;
+import com.github.yildizmy.dto.request.CategoryRequest;
+import com.github.yildizmy.model.Category;
+import com.github.yildizmy.repository.CategoryRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the reference data cache running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CacheConfig.class, CategoryService.class, CategoryRequestMapperImpl.class})
+// the cache is only populated after commit, so each repository call runs in its own transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private CategoryService service;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Dessert", 1));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+    }
+
+    /**
+     * Method under test: {@link CategoryRepository#findCachedById(Long)}
+     */
+    @Test
+    void findCachedById_should_queryDatabaseOnce_when_CalledRepeatedly() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Dessert", categoryRepository.findCachedById(category.getId()).orElseThrow().getName());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Method under test: {@link CategoryRepository#findCachedById(Long)}
+     */
+    @Test
+    void findCachedById_should_notCacheMissingElement() {
+        assertTrue(categoryRepository.findCachedById(999L).isEmpty());
+        assertTrue(categoryRepository.findCachedById(999L).isEmpty());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Method under test: {@link CategoryRepository#existsByNameIgnoreCase(String)}
+     */
+    @Test
+    void existsByNameIgnoreCase_should_shareCacheEntry_when_CaseDiffers() {
+        assertTrue(categoryRepository.existsByNameIgnoreCase("Dessert"));
+        assertTrue(categoryRepository.existsByNameIgnoreCase("dESSERT"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Method under test: {@link CategoryService#update(CategoryRequest)}
+     */
+    @Test
+    void update_should_evictCachedCategories() {
+        categoryRepository.findCachedById(category.getId());
+        assertFalse(categoryRepository.existsByNameIgnoreCase("Appetizer"));
+
+        service.update(new CategoryRequest(category.getId(), "Appetizer", 1));
+
+        assertEquals("Appetizer", categoryRepository.findCachedById(category.getId()).orElseThrow().getName());
+        assertTrue(categoryRepository.existsByNameIgnoreCase("appetizer"));
+    }
+}
@@ -0,0 +1,236 @@
+package com.github.yildizmy.service;
+
+import com.github.yildizmy.common.RecipeField;
+import com.github.yildizmy.common.filter.SearchRequest;
+import com.github.yildizmy.config.HibernateCacheConfig;
+import com.github.yildizmy.dto.mapper.CategoryRequestMapperImpl;
+import com.github.yildizmy.dto.mapper.IngredientRequestMapperImpl;
+import com.github.yildizmy.dto.mapper.RecipeRequestMapperImpl;
+import com.github.yildizmy.dto.request.CategoryRequest;
+import com.github.yildizmy.dto.request.RecipeIngredientRequest;
+import com.github.yildizmy.dto.response.RecipeIngredientResponse;
+import com.github.yildizmy.dto.response.RecipeResponse;
+import com.github.yildizmy.model.*;
+import com.github.yildizmy.repository.CategoryRepository;
+import com.github.yildizmy.repository.IngredientRepository;
+import com.github.yildizmy.repository.RecipeRepository;
+import com.github.yildizmy.repository.RecipeVersion;
+import com.github.yildizmy.repository.UnitRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for the second-level cache of Hibernate running against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({HibernateCacheConfig.class, RecipeService.class, RecipeIngredientIndex.class, RecipeRequestMapperImpl.class,
+        RecipeIngredientService.class, CategoryService.class, CategoryRequestMapperImpl.class,
+        IngredientService.class, IngredientRequestMapperImpl.class})
+// the cache is only populated after commit, so each service call runs in its own transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeIngredientService recipeIngredientService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    private Unit unit;
+
+    private Ingredient salt;
+
+    private Ingredient pepper;
+
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        recipeId = new TransactionTemplate(transactionManager).execute(status -> {
+            category = categoryRepository.save(new Category(null, "Soup", 1));
+            unit = unitRepository.save(new Unit(null, "Gram"));
+            salt = ingredientRepository.save(new Ingredient(null, "Salt"));
+            pepper = ingredientRepository.save(new Ingredient(null, "Pepper"));
+            Recipe recipe = new Recipe(null, "Tomato Soup", "Description", 10, 30, 4,
+                    "Instructions", Difficulty.EASY, HealthLabel.VEGETARIAN);
+            category.addRecipe(recipe);
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, salt, unit, BigDecimal.TEN));
+            return recipeRepository.save(recipe).getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // cascades to the recipes and their ingredients
+        categoryRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        unitRepository.deleteAll();
+    }
+
+    /**
+     * Method under test: {@link RecipeService#findById(Long, java.util.Set)}
+     */
+    @Test
+    void findById_should_readOnlyRecipe_when_ReferenceDataIsCached() {
+        recipeService.findById(recipeId, RecipeField.ALL);
+        statistics.clear();
+
+        RecipeResponse response = recipeService.findById(recipeId, RecipeField.ALL);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Soup", response.getCategory().getName());
+        assertEquals(List.of("Salt"), getIngredientNames(response));
+        assertEquals("Gram", response.getIngredients().get(0).getUnitName());
+    }
+
+    /**
+     * Method under test: {@link CategoryService#update(CategoryRequest)}
+     */
+    @Test
+    void findById_should_returnUpdatedCategory_when_CachedCategoryIsUpdated() {
+        recipeService.findById(recipeId, RecipeField.ALL);
+
+        categoryService.update(new CategoryRequest(category.getId(), "Stew", 1));
+
+        assertEquals("Stew", recipeService.findById(recipeId, RecipeField.ALL).getCategory().getName());
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientService#addIngredientToRecipe(RecipeIngredientRequest)}
+     */
+    @Test
+    void findById_should_returnChangedIngredients_when_CachedIngredientsAreChanged() {
+        recipeService.findById(recipeId, RecipeField.ALL);
+        RecipeIngredientRequest request = new RecipeIngredientRequest();
+        request.setRecipeId(recipeId);
+        request.setIngredientId(pepper.getId());
+        request.setUnitId(unit.getId());
+        request.setAmount(BigDecimal.ONE);
+
+        recipeIngredientService.addIngredientToRecipe(request);
+
+        assertEquals(List.of("Pepper", "Salt"), getIngredientNames(recipeService.findById(recipeId, RecipeField.ALL)));
+
+        ingredientService.deleteById(pepper.getId());
+
+        assertEquals(List.of("Salt"), getIngredientNames(recipeService.findById(recipeId, RecipeField.ALL)));
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientService#addIngredientToRecipe(RecipeIngredientRequest)}
+     */
+    @Test
+    void addIngredientToRecipe_should_incrementVersionAndKeepCacheOfOtherRecipes_when_IngredientIsAdded() {
+        Long otherRecipeId = new TransactionTemplate(transactionManager).execute(status -> {
+            Recipe recipe = new Recipe(null, "Pepper Soup", "Description", 10, 30, 4,
+                    "Instructions", Difficulty.EASY, HealthLabel.VEGETARIAN);
+            categoryRepository.findById(category.getId()).orElseThrow().addRecipe(recipe);
+            recipe.addRecipeIngredient(new RecipeIngredient(recipe, ingredientRepository.getReferenceById(pepper.getId()),
+                    unitRepository.getReferenceById(unit.getId()), BigDecimal.ONE));
+            return recipeRepository.save(recipe).getId();
+        });
+        recipeService.findById(otherRecipeId, RecipeField.ALL);
+        long version = recipeRepository.findVersionById(recipeId).orElseThrow().recipe();
+        RecipeIngredientRequest request = new RecipeIngredientRequest();
+        request.setRecipeId(recipeId);
+        request.setIngredientId(pepper.getId());
+        request.setUnitId(unit.getId());
+        request.setAmount(BigDecimal.ONE);
+
+        recipeIngredientService.addIngredientToRecipe(request);
+        statistics.clear();
+
+        assertTrue(entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .containsCollection(Recipe.class.getName() + ".recipeIngredients", otherRecipeId));
+        assertEquals(List.of("Pepper"), getIngredientNames(recipeService.findById(otherRecipeId, RecipeField.ALL)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(version + 1, recipeRepository.findVersionById(recipeId).orElseThrow().recipe());
+    }
+
+    /**
+     * Method under test: {@link RecipeIngredientService#removeIngredientFromRecipe(Long, Long)}
+     */
+    @Test
+    void removeIngredientFromRecipe_should_incrementVersion_when_IngredientIsRemoved() {
+        RecipeVersion before = recipeRepository.findVersionById(recipeId).orElseThrow();
+
+        recipeIngredientService.removeIngredientFromRecipe(recipeId, salt.getId());
+
+        assertEquals(new RecipeVersion(before.recipe() + 1, before.category(), 0L, 0L, 0L),
+                recipeRepository.findVersionById(recipeId).orElseThrow());
+    }
+
+    /**
+     * Method under test: {@link CategoryService#findAll(SearchRequest)}
+     */
+    @Test
+    void findAll_should_readQueryCache_until_CategoriesAreChanged() {
+        SearchRequest request = new SearchRequest(List.of(), List.of(), 0, 10);
+        categoryService.findAll(request);
+        categoryService.findAll(request);
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        categoryService.update(new CategoryRequest(category.getId(), "Stew", 1));
+
+        assertEquals("Stew", categoryService.findAll(request).getContent().get(0).getName());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    private static List<String> getIngredientNames(RecipeResponse response) {
+        return response.getIngredients().stream().map(RecipeIngredientResponse::getIngredientName).sorted().toList();
+    }
+}
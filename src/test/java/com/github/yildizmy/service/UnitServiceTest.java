@@ -1,5 +1,7 @@
 package com.github.yildizmy.service;
 
+import com.github.yildizmy.common.filter.CountMode;
+import com.github.yildizmy.common.filter.Projection;
 import com.github.yildizmy.common.filter.SearchRequest;
 import com.github.yildizmy.dto.mapper.UnitRequestMapper;
 import com.github.yildizmy.dto.mapper.UnitRequestMapperImpl;
@@ -15,6 +17,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -41,6 +44,9 @@ class UnitServiceTest {
     @Mock
     private UnitRepository unitRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     public UnitRequestMapper unitRequestMapper = new UnitRequestMapperImpl();
 
@@ -52,13 +58,13 @@ class UnitServiceTest {
      */
     @Test
     void findById_should_throw_NoSuchElementFoundException_when_UnitIsNotFound() {
-        when(unitRepository.findById(101L)).thenReturn(Optional.empty());
+        when(unitRepository.findCachedById(101L)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementFoundException.class, () -> {
             service.findById(101L);
         });
 
-        verify(unitRepository).findById(101L);
+        verify(unitRepository).findCachedById(101L);
     }
 
     /**
@@ -69,13 +75,13 @@ class UnitServiceTest {
     void findById_should_return_UnitResponse_when_UnitIsFound(Long id, String name, Integer ordinal) {
         Unit unit = new Unit(id, name);
 
-        when(unitRepository.findById(id)).thenReturn(Optional.of(unit));
+        when(unitRepository.findCachedById(id)).thenReturn(Optional.of(unit));
 
         UnitResponse result = service.findById(id);
 
         assertEquals(id, result.getId());
         assertEquals(name, result.getName());
-        verify(unitRepository).findById(id);
+        verify(unitRepository).findCachedById(id);
     }
 
     /**
@@ -85,12 +91,12 @@ class UnitServiceTest {
     void findAll_should_throw_NoSuchElementFoundException_when_NoUnitIsFound() {
         SearchRequest request = new SearchRequest();
 
-        when(unitRepository.findAll((Specification<Unit>) any(), (Pageable) any()))
+        when(unitRepository.findAll((Specification<Unit>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(new PageImpl<>(new ArrayList<>()));
 
         assertThrows(NoSuchElementFoundException.class, () -> service.findAll(request));
 
-        verify(unitRepository).findAll((Specification<Unit>) any(), (Pageable) any());
+        verify(unitRepository).findAll((Specification<Unit>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
     }
 
     /**
@@ -102,16 +108,16 @@ class UnitServiceTest {
         Unit unit = new Unit(id, name);
         ArrayList<Unit> unitList = new ArrayList<>();
         unitList.add(unit);
-        PageImpl<Unit> pageImpl = new PageImpl<>(unitList);
+        PageImpl<UnitResponse> pageImpl = new PageImpl<>(unitList.stream().map(UnitResponse::new).toList());
 
-        when(unitRepository.findAll((Specification<Unit>) any(), (Pageable) any())).thenReturn(pageImpl);
+        when(unitRepository.findAll((Specification<Unit>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(pageImpl);
 
         List<UnitResponse> result = service.findAll(new SearchRequest()).toList();
 
         assertEquals(1, result.size());
         assertEquals(id, result.get(0).getId());
         assertEquals(name, result.get(0).getName());
-        verify(unitRepository).findAll((Specification<Unit>) any(), (Pageable) any());
+        verify(unitRepository).findAll((Specification<Unit>) any(), any(Projection.class), any(Pageable.class), eq(CountMode.EXACT));
     }
 
     /**